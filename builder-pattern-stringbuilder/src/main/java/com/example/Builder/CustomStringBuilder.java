@@ -1,7 +1,9 @@
 
 package com.example.Builder;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * A mutable implementation of a string — a custom version of
@@ -27,35 +29,71 @@ import java.util.Arrays;
  * }
  * </pre>
  *
+ * <p>
+ * <strong>Compact strings:</strong> a builder created in compact mode stores one byte per
+ * character for as long as every character appended fits in Latin-1 ({@code \u0000} to
+ * {@code \u00FF}), halving the memory for ASCII-heavy content, and {@link #toString()} hands
+ * those bytes straight to the Latin-1 {@code String}. The first wider character inflates the
+ * content to a {@code char[]} for good, as {@link StringBuilder} does with its coder. Compact
+ * mode is chosen per builder with {@link #CustomStringBuilder(int, boolean)}; the other
+ * constructors use it when {@code -Dbuilder.compactStrings=true} is set.
+ * </p>
+ *
  * @author Kartik Sethi
  * @see java.lang.StringBuilder
  */
 public final class CustomStringBuilder implements Cloneable {
 
     private transient static final int INITIAL_THRESHOLD = 16;
+    private transient static final boolean COMPACT_STRINGS = Boolean.getBoolean("builder.compactStrings");
     private transient int size;
     private transient int capacity;
+    /**
+     * The content while it is all Latin-1 in compact mode; {@code null} otherwise.
+     */
+    private transient byte[] latin1;
+    /**
+     * The content once it is stored as UTF-16; {@code null} while {@link #latin1} is in use.
+     */
     private transient char[] value;
 
     public CustomStringBuilder() {
-        this.value = new char[INITIAL_THRESHOLD];
-        this.capacity = INITIAL_THRESHOLD;
+        this(INITIAL_THRESHOLD, COMPACT_STRINGS);
     }
 
     public CustomStringBuilder(String s) {
-        this.value = new char[INITIAL_THRESHOLD];
-        this.capacity = INITIAL_THRESHOLD;
+        this(INITIAL_THRESHOLD, COMPACT_STRINGS);
         append(s);
     }
 
     public CustomStringBuilder(int capacity) {
+        this(capacity, COMPACT_STRINGS);
+    }
+
+    /**
+     * @param capacity the number of characters to make room for up front
+     * @param compact  whether to store Latin-1 content one byte per character until a wider
+     *                 character is appended
+     */
+    public CustomStringBuilder(int capacity, boolean compact) {
         this.capacity = INITIAL_THRESHOLD;
         ensureCapacity(capacity);
-        this.value = new char[this.capacity];
+        if (compact) {
+            this.latin1 = new byte[this.capacity];
+        } else {
+            this.value = new char[this.capacity];
+        }
     }
 
     public CustomStringBuilder append(char ch) {
         ensureCapacity(size + 1);
+        if (latin1 != null) {
+            if (ch <= 0xFF) {
+                latin1[size++] = (byte) ch;
+                return this;
+            }
+            inflate();
+        }
         value[size++] = ch;
         return this;
     }
@@ -63,14 +101,164 @@ public final class CustomStringBuilder implements Cloneable {
     public CustomStringBuilder append(String s) {
         int len = s.length();
         ensureCapacity(size + len);
-        for (int i = 0; i < len; i++) {
-            value[size++] = s.charAt(i);
+        int i = latin1 != null ? appendLatin1(s, 0, len) : 0;
+        if (i < len) {
+            s.getChars(i, len, value, size);
+            size += len - i;
         }
         return this;
     }
 
+    /**
+     * Appends {@code len} characters of {@code str} starting at {@code offset}.
+     *
+     * @throws IndexOutOfBoundsException if the range is outside {@code str}
+     */
+    public CustomStringBuilder append(char[] str, int offset, int len) {
+        Objects.checkFromIndexSize(offset, len, str.length);
+        ensureCapacity(size + len);
+        int end = offset + len;
+        int i = offset;
+        if (latin1 != null) {
+            for (; i < end; i++) {
+                char ch = str[i];
+                if (ch > 0xFF) {
+                    inflate();
+                    break;
+                }
+                latin1[size++] = (byte) ch;
+            }
+        }
+        if (i < end) {
+            System.arraycopy(str, i, value, size, end - i);
+            size += end - i;
+        }
+        return this;
+    }
+
+    /**
+     * Appends the characters of {@code s} from {@code start} up to, not including, {@code end}.
+     *
+     * @throws IndexOutOfBoundsException if the range is outside {@code s}
+     */
+    public CustomStringBuilder append(CharSequence s, int start, int end) {
+        Objects.checkFromToIndex(start, end, s.length());
+        ensureCapacity(size + end - start);
+        int i = latin1 != null ? appendLatin1(s, start, end) : start;
+        if (i == end) {
+            return this;
+        }
+        if (s instanceof String str) {
+            str.getChars(i, end, value, size);
+            size += end - i;
+        } else {
+            for (; i < end; i++) {
+                value[size++] = s.charAt(i);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Appends the decimal digits of {@code i} without going through a {@code String}.
+     */
     public CustomStringBuilder append(int i) {
-        return append(Integer.toString(i));
+        return append((long) i);
+    }
+
+    /**
+     * Appends the decimal digits of {@code l} without going through a {@code String}.
+     */
+    public CustomStringBuilder append(long l) {
+        int len = stringSize(l);
+        ensureCapacity(size + len);
+        size += len;
+        writeDigits(l, size);
+        return this;
+    }
+
+    /**
+     * Appends {@code d} as {@link Double#toString(double)} renders it.
+     * <p>
+     * Whole numbers below 10<sup>7</sup> in magnitude, which {@code Double.toString} prints as
+     * the integer followed by {@code .0}, are written straight into the buffer; every other value
+     * goes through {@code Double.toString}, since rendering its shortest decimal form is not
+     * worth reimplementing here.
+     * </p>
+     */
+    public CustomStringBuilder append(double d) {
+        long whole = (long) d;
+        if (whole == d && Math.abs(d) < 10_000_000 && Double.doubleToRawLongBits(d) != Long.MIN_VALUE) {
+            append(whole);
+            ensureCapacity(size + 2);
+            if (latin1 != null) {
+                latin1[size] = '.';
+                latin1[size + 1] = '0';
+            } else {
+                value[size] = '.';
+                value[size + 1] = '0';
+            }
+            size += 2;
+            return this;
+        }
+        return append(Double.toString(d));
+    }
+
+    /**
+     * Copies characters of {@code s} into {@link #latin1} until one does not fit, in which case
+     * the content is inflated.
+     *
+     * @return the index in {@code s} of the first character not copied
+     */
+    private int appendLatin1(CharSequence s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char ch = s.charAt(i);
+            if (ch > 0xFF) {
+                inflate();
+                return i;
+            }
+            latin1[size++] = (byte) ch;
+        }
+        return end;
+    }
+
+    /**
+     * @return the number of characters in the decimal form of {@code l}, sign included
+     */
+    private static int stringSize(long l) {
+        int digits = l < 0 ? 2 : 1;
+        long negative = l < 0 ? l : -l;
+        while (negative <= -10) {
+            negative /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Writes the decimal form of {@code l} so that it ends just before {@code end}.
+     * Works on the negated value so that {@link Long#MIN_VALUE} needs no special case.
+     */
+    private void writeDigits(long l, int end) {
+        long negative = l < 0 ? l : -l;
+        int pos = end;
+        if (latin1 != null) {
+            do {
+                latin1[--pos] = (byte) ('0' - negative % 10);
+                negative /= 10;
+            } while (negative != 0);
+            if (l < 0) {
+                latin1[--pos] = '-';
+            }
+        } else {
+            do {
+                value[--pos] = (char) ('0' - negative % 10);
+                negative /= 10;
+            } while (negative != 0);
+            if (l < 0) {
+                value[--pos] = '-';
+            }
+        }
     }
 
     /**
@@ -81,8 +269,24 @@ public final class CustomStringBuilder implements Cloneable {
     private void ensureCapacity(int minimumCapacity) {
         if (minimumCapacity > capacity) {
             newCapacity(minimumCapacity);
-            value = Arrays.copyOf(value, capacity);
+            if (latin1 != null) {
+                latin1 = Arrays.copyOf(latin1, capacity);
+            } else if (value != null) {
+                value = Arrays.copyOf(value, capacity);
+            }
+        }
+    }
+
+    /**
+     * Switches from Latin-1 to UTF-16 storage, widening every character stored so far.
+     */
+    private void inflate() {
+        char[] chars = new char[capacity];
+        for (int i = 0; i < size; i++) {
+            chars[i] = (char) (latin1[i] & 0xFF);
         }
+        value = chars;
+        latin1 = null;
     }
 
     /**
@@ -114,6 +318,15 @@ public final class CustomStringBuilder implements Cloneable {
         return this.size;
     }
 
+    /**
+     * Returns whether the content is currently stored one byte per character.
+     *
+     * @return true while a compact builder holds only Latin-1 characters
+     */
+    public boolean isLatin1() {
+        return latin1 != null;
+    }
+
     /**
      * Used to get the value of StringBuilder.
      * 
@@ -121,6 +334,9 @@ public final class CustomStringBuilder implements Cloneable {
      */
     @Override
     public String toString() {
+        if (latin1 != null) {
+            return new String(latin1, 0, size, StandardCharsets.ISO_8859_1);
+        }
         return new String(value, 0, size);
     }
 
@@ -132,9 +348,13 @@ public final class CustomStringBuilder implements Cloneable {
      */
     @Override
     protected Object clone() throws CloneNotSupportedException {
-        CustomStringBuilder stringBuilder = new CustomStringBuilder(capacity);
+        CustomStringBuilder stringBuilder = new CustomStringBuilder(capacity, latin1 != null);
         stringBuilder.size = this.size;
-        stringBuilder.value = Arrays.copyOf(value, capacity);
+        if (latin1 != null) {
+            stringBuilder.latin1 = Arrays.copyOf(latin1, capacity);
+        } else {
+            stringBuilder.value = Arrays.copyOf(value, capacity);
+        }
         return stringBuilder;
     }
 }
@@ -0,0 +1,160 @@
+package com.example.Builder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * {@link CustomStringBuilder} produces what {@link StringBuilder} does for the same appends,
+ * with and without compact strings.
+ */
+public class CustomStringBuilderTest {
+    private static final boolean[] MODES = {false, true};
+
+    @Test
+    public void latin1ContentStaysCompact() {
+        for (boolean compact : MODES) {
+            CustomStringBuilder custom = new CustomStringBuilder(4, compact);
+            StringBuilder expected = new StringBuilder();
+            both(custom, expected, "café ");
+            both(custom, expected, 'ÿ');
+            both(custom, expected, '\u0000');
+            both(custom, expected, "spot-".toCharArray(), 0, 5);
+            both(custom, expected, new StringBuilder("x ± y"), 1, 4);
+
+            assertEquals(expected.toString(), custom.toString());
+            assertEquals(expected.length(), custom.size());
+            assertEquals(compact, custom.isLatin1());
+        }
+    }
+
+    @Test
+    public void wideCharacterPartwayThroughAnAppendInflates() {
+        for (boolean compact : MODES) {
+            assertInflatesPartway(compact, (custom, expected) -> both(custom, expected, "abcé€def"));
+            assertInflatesPartway(compact, (custom, expected) -> both(custom, expected, "abcé🚗def".toCharArray(), 1, 6));
+            assertInflatesPartway(compact, (custom, expected) -> both(custom, expected, new StringBuilder("abcé€def"), 2, 7));
+            assertInflatesPartway(compact, (custom, expected) -> both(custom, expected, (CharSequence) "abcé€def", 0, 8));
+            assertInflatesPartway(compact, (custom, expected) -> both(custom, expected, '€'));
+        }
+    }
+
+    @Test
+    public void integersMatchStringBuilder() {
+        long[] values = {0, 7, -7, 9, 10, -10, 99, 100, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1, 1_000_000_000_000L};
+        for (boolean compact : MODES) {
+            CustomStringBuilder custom = new CustomStringBuilder(0, compact);
+            StringBuilder expected = new StringBuilder();
+            for (long value : values) {
+                custom.append(value).append(',');
+                expected.append(value).append(',');
+            }
+            custom.append(Integer.MIN_VALUE);
+            expected.append(Integer.MIN_VALUE);
+
+            assertEquals(expected.toString(), custom.toString());
+        }
+    }
+
+    @Test
+    public void doublesMatchStringBuilder() {
+        double[] values = {0.0, -0.0, 1.0, -1.0, 0.5, 9_999_999.0, -9_999_999.0, 1e7, -1e7,
+                10_000_001.0, 9_999_999.5, 1e-5, 123.456, Double.NaN, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.MIN_VALUE, Double.MAX_VALUE, (double) Long.MIN_VALUE};
+        for (boolean compact : MODES) {
+            for (boolean inflated : MODES) {
+                CustomStringBuilder custom = new CustomStringBuilder(0, compact);
+                StringBuilder expected = new StringBuilder();
+                if (inflated) {
+                    both(custom, expected, '€');
+                }
+                for (double value : values) {
+                    custom.append(value).append(' ');
+                    expected.append(value).append(' ');
+                }
+
+                assertEquals(expected.toString(), custom.toString());
+            }
+        }
+    }
+
+    @Test
+    public void randomAppendsMatchStringBuilder() throws CloneNotSupportedException {
+        Random random = new Random(42);
+        for (boolean compact : MODES) {
+            for (int round = 0; round < 200; round++) {
+                CustomStringBuilder custom = new CustomStringBuilder(random.nextInt(8), compact);
+                StringBuilder expected = new StringBuilder();
+                int wideFrom = random.nextInt(40);
+                for (int op = 0; op < 40; op++) {
+                    char ch = (char) (op < wideFrom ? random.nextInt(0x100) : 0x100 + random.nextInt(0x1000));
+                    switch (random.nextInt(5)) {
+                        case 0 -> both(custom, expected, ch);
+                        case 1 -> both(custom, expected, ch + "-" + op);
+                        case 2 -> {
+                            long l = random.nextLong();
+                            custom.append(l);
+                            expected.append(l);
+                        }
+                        case 3 -> {
+                            double d = random.nextBoolean() ? random.nextInt(20_000_000) - 10_000_000 : random.nextDouble();
+                            custom.append(d);
+                            expected.append(d);
+                        }
+                        default -> both(custom, expected, new char[]{'a', ch, 'b'}, 1, 2);
+                    }
+                }
+
+                assertEquals(expected.toString(), custom.toString());
+                assertEquals(expected.length(), custom.size());
+                assertEquals(expected.toString(), custom.clone().toString());
+            }
+        }
+    }
+
+    private static void assertInflatesPartway(boolean compact, Append append) {
+        CustomStringBuilder custom = new CustomStringBuilder(2, compact);
+        StringBuilder expected = new StringBuilder();
+        both(custom, expected, "ñ-");
+        assertEquals(compact, custom.isLatin1());
+
+        append.apply(custom, expected);
+        both(custom, expected, "ü");
+        custom.append(-12L).append(3.0);
+        expected.append(-12L).append(3.0);
+
+        assertFalse(custom.isLatin1());
+        assertEquals(expected.toString(), custom.toString());
+        assertEquals(expected.length(), custom.size());
+    }
+
+    private static void both(CustomStringBuilder custom, StringBuilder expected, char ch) {
+        custom.append(ch);
+        expected.append(ch);
+    }
+
+    private static void both(CustomStringBuilder custom, StringBuilder expected, String s) {
+        custom.append(s);
+        expected.append(s);
+    }
+
+    private static void both(CustomStringBuilder custom, StringBuilder expected, char[] str, int offset, int len) {
+        custom.append(str, offset, len);
+        expected.append(str, offset, len);
+    }
+
+    private static void both(CustomStringBuilder custom, StringBuilder expected, CharSequence s, int start, int end) {
+        custom.append(s, start, end);
+        expected.append(s, start, end);
+        assertEquals(expected.length(), custom.size());
+    }
+
+    @FunctionalInterface
+    private interface Append {
+        void apply(CustomStringBuilder custom, StringBuilder expected);
+    }
+}
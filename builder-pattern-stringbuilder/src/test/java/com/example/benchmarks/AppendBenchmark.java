@@ -0,0 +1,186 @@
+package com.example.benchmarks;
+
+import com.example.Builder.CustomStringBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The bulk append paths of {@link CustomStringBuilder} against {@link StringBuilder}.
+ * <p>
+ * Each benchmark appends {@code count} values of one kind to a fresh builder of each type and
+ * returns the builder. The {@code jdk} benchmarks are the baseline; {@code compact} switches the
+ * custom builder between Latin-1 and UTF-16 storage. The main method runs with the GC profiler,
+ * so {@code gc.alloc.rate.norm} shows whether numbers are still rendered through temporary
+ * strings.
+ * </p>
+ * <p>
+ * Usage: {@code java -cp <test classpath> com.example.benchmarks.AppendBenchmark}.
+ * </p>
+ *
+ * @author Kartik Sethi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppendBenchmark {
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    @Param({"64"})
+    public int count;
+
+    private String[] strings;
+    private char[] chars;
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+
+    @Setup
+    public void setUp() {
+        strings = new String[count];
+        ints = new int[count];
+        longs = new long[count];
+        doubles = new double[count];
+        for (int i = 0; i < count; i++) {
+            strings[i] = "customer-" + i;
+            ints[i] = i * 7_919 - 250_000;
+            longs[i] = i * 1_000_000_007L * 31;
+            doubles[i] = i % 2 == 0 ? i * 12.0 : i * 0.37;
+        }
+        chars = "2024-05-01T13:45:07,PAID,customer-42".toCharArray();
+    }
+
+    @Benchmark
+    public CustomStringBuilder customString() {
+        CustomStringBuilder builder = new CustomStringBuilder(16, compact);
+        for (String s : strings) {
+            builder.append(s);
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public StringBuilder jdkString() {
+        StringBuilder builder = new StringBuilder();
+        for (String s : strings) {
+            builder.append(s);
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public CustomStringBuilder customCharArray() {
+        CustomStringBuilder builder = new CustomStringBuilder(16, compact);
+        for (int i = 0; i < count; i++) {
+            builder.append(chars, 0, chars.length);
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public StringBuilder jdkCharArray() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(chars, 0, chars.length);
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public CustomStringBuilder customCharSequence() {
+        CustomStringBuilder builder = new CustomStringBuilder(16, compact);
+        for (String s : strings) {
+            builder.append(s, 0, s.length() - 1);
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public StringBuilder jdkCharSequence() {
+        StringBuilder builder = new StringBuilder();
+        for (String s : strings) {
+            builder.append(s, 0, s.length() - 1);
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public CustomStringBuilder customInt() {
+        CustomStringBuilder builder = new CustomStringBuilder(16, compact);
+        for (int i : ints) {
+            builder.append(i);
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public StringBuilder jdkInt() {
+        StringBuilder builder = new StringBuilder();
+        for (int i : ints) {
+            builder.append(i);
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public CustomStringBuilder customLong() {
+        CustomStringBuilder builder = new CustomStringBuilder(16, compact);
+        for (long l : longs) {
+            builder.append(l);
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public StringBuilder jdkLong() {
+        StringBuilder builder = new StringBuilder();
+        for (long l : longs) {
+            builder.append(l);
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public CustomStringBuilder customDouble() {
+        CustomStringBuilder builder = new CustomStringBuilder(16, compact);
+        for (double d : doubles) {
+            builder.append(d);
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public StringBuilder jdkDouble() {
+        StringBuilder builder = new StringBuilder();
+        for (double d : doubles) {
+            builder.append(d);
+        }
+        return builder;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AppendBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
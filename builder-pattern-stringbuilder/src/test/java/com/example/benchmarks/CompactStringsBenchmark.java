@@ -0,0 +1,91 @@
+package com.example.benchmarks;
+
+import com.example.Builder.CustomStringBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compact (Latin-1) against UTF-16 storage in {@link CustomStringBuilder}.
+ * <p>
+ * Each benchmark builds a CSV-like payload of {@code rows} rows. {@code build} returns the
+ * builder itself, so its allocation per operation is the builder's footprint: the main method
+ * runs with the GC profiler, and {@code gc.alloc.rate.norm} reports those bytes.
+ * {@code buildAndToString} adds the final copy into a {@code String}. The {@code mixed} payload
+ * puts one non-Latin-1 character in the last row, so compact builders pay for inflating.
+ * </p>
+ * <p>
+ * Usage: {@code java -cp <test classpath> com.example.benchmarks.CompactStringsBenchmark}.
+ * </p>
+ *
+ * @author Kartik Sethi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactStringsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    @Param({"ascii", "mixed"})
+    public String payload;
+
+    @Param({"100"})
+    public int rows;
+
+    private String[] cells;
+
+    @Setup
+    public void setUp() {
+        cells = new String[rows * 4];
+        for (int row = 0; row < rows; row++) {
+            cells[row * 4] = "id-" + row;
+            cells[row * 4 + 1] = "customer" + (row % 17);
+            cells[row * 4 + 2] = "2024-05-01T13:45:07";
+            cells[row * 4 + 3] = "PAID";
+        }
+        if (payload.equals("mixed")) {
+            cells[cells.length - 1] = "PAID €";
+        }
+    }
+
+    @Benchmark
+    public CustomStringBuilder build() {
+        CustomStringBuilder builder = new CustomStringBuilder(16, compact);
+        for (int i = 0; i < cells.length; i++) {
+            builder.append(cells[i]);
+            builder.append(i % 4 == 3 ? '\n' : ',');
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public String buildAndToString() {
+        return build().toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CompactStringsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
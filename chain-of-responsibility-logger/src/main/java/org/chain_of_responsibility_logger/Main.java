@@ -1,5 +1,8 @@
 package org.chain_of_responsibility_logger;
 
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+import org.chain_of_responsibility_logger.constants.enums.OverflowPolicy;
+import org.chain_of_responsibility_logger.constants.enums.WaitStrategy;
 import org.chain_of_responsibility_logger.loggers.LogManager;
 
 public class Main {
@@ -9,5 +12,18 @@ public class Main {
         log.debug("This is debug log");
         log.warn("This is warn log");
         log.error("This is error log.");
+
+        log.setMinimumLevel(LogLevel.INFO);
+        log.debug("Suppressed: {}", "never formatted");
+        log.info("Spot {} booked by {}", 42, "KA01AB1234");
+        log.setMinimumLevel(LogLevel.DEBUG);
+
+        log.enableAsync(1024, WaitStrategy.SLEEPING, OverflowPolicy.BLOCK);
+        log.info("This is async info log.");
+        log.error("This is async error log.");
+
+        log.enableSharded(1024, OverflowPolicy.BLOCK);
+        log.info("This is sharded info log.");
+        log.disableAsync();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package org.chain_of_responsibility_logger.appenders;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes to {@code System.out}, looked up on every call so {@link System#setOut(PrintStream)} is honoured.
+ * This is where loggers write unless they are given another appender.
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+public final class ConsoleAppender implements LogAppender {
+    private static final ConsoleAppender INSTANCE = new ConsoleAppender();
+
+    private ConsoleAppender() {}
+
+    public static ConsoleAppender getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void append(String line) {
+        System.out.println(line);
+    }
+
+    @Override
+    public void append(ByteBuffer lines) {
+        if (lines.hasArray()) {
+            System.out.write(lines.array(), lines.arrayOffset() + lines.position(), lines.remaining());
+        } else {
+            byte[] copy = new byte[lines.remaining()];
+            lines.get(lines.position(), copy);
+            System.out.write(copy, 0, copy.length);
+        }
+    }
+
+    @Override
+    public void flush() {
+        System.out.flush();
+    }
+}
@@ -0,0 +1,40 @@
+package org.chain_of_responsibility_logger.appenders;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Destination the loggers in a chain write their lines to.
+ * <p>
+ * Loggers hand over a formatted line as a {@code String}; the garbage-free and asynchronous paths
+ * of {@code LogManager} hand over lines already encoded as UTF-8, possibly several at a time.
+ * Implementations must be safe to call from several threads.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+public interface LogAppender {
+
+    /**
+     * Writes one line; the appender adds the line separator.
+     *
+     * @param line the formatted line, without a line separator
+     */
+    void append(String line);
+
+    /**
+     * Writes complete, UTF-8 encoded lines, each ending with a line separator.
+     * The buffer's position and limit are left unchanged.
+     *
+     * @param lines the bytes between the buffer's position and limit
+     */
+    void append(ByteBuffer lines);
+
+    /**
+     * Pushes buffered lines to their destination. Background logging threads call it after each
+     * batch and the synchronous paths only after an ERROR line; otherwise an appender that buffers
+     * decides for itself when to write.
+     */
+    default void flush() {
+    }
+}
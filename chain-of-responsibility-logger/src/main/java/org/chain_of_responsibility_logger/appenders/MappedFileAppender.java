@@ -0,0 +1,186 @@
+package org.chain_of_responsibility_logger.appenders;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Appends log lines to memory-mapped, rolling segment files named {@code <prefix>-<sequence>.log}.
+ * <p>
+ * Each segment is preallocated and mapped with {@link FileChannel#map}, so appending a line is a
+ * copy into the page cache under a short lock, with no system call. A new segment is started
+ * when the current one cannot fit the next write or has been open longer than the roll interval.
+ * Finished segments are handed to a background thread that forces them to disk and closes them.
+ * </p>
+ * <p>
+ * Segments keep their preallocated size, and whatever was not written stays zero-filled, so
+ * readers stop at the first NUL byte, as {@code BinaryLogDecoder} does. The file is never resized
+ * while mapped: that fails on platforms that lock mapped files, and the mapping is only released
+ * once the garbage collector reclaims it. Most file systems store the zero-filled tail sparsely.
+ * The roll interval is checked on append, so an idle segment is rolled by the next line written
+ * after the interval.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+public final class MappedFileAppender implements LogAppender, Closeable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    public static final Duration DEFAULT_ROLL_INTERVAL = Duration.ofHours(1);
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final Path directory;
+    private final String prefix;
+    private final int segmentSize;
+    private final long rollIntervalMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ExecutorService retirer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "log-segment-retirer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Pattern segmentName;
+    private Segment current;
+    private int nextSequence;
+    private boolean closed;
+
+    public MappedFileAppender(Path directory, String prefix) throws IOException {
+        this(directory, prefix, DEFAULT_SEGMENT_SIZE, DEFAULT_ROLL_INTERVAL);
+    }
+
+    /**
+     * @param directory    where segment files are created
+     * @param prefix       file name prefix of the segments
+     * @param segmentSize  bytes per segment before rolling over
+     * @param rollInterval longest time a segment stays open
+     */
+    public MappedFileAppender(Path directory, String prefix, int segmentSize, Duration rollInterval) throws IOException {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid segment size: %d", segmentSize));
+        }
+        this.directory = directory;
+        this.prefix = prefix;
+        this.segmentSize = segmentSize;
+        this.rollIntervalMillis = rollInterval.toMillis();
+        this.segmentName = Pattern.compile(Pattern.quote(prefix) + "-(\\d+)\\.log");
+        Files.createDirectories(directory);
+        this.nextSequence = lastSequence() + 1;
+        this.current = openSegment(segmentSize, System.currentTimeMillis());
+    }
+
+    @Override
+    public void append(String line) {
+        byte[] text = line.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer lineBytes = ByteBuffer.allocate(text.length + LINE_SEPARATOR.length).put(text).put(LINE_SEPARATOR);
+        append(lineBytes.flip());
+    }
+
+    @Override
+    public void append(ByteBuffer lines) {
+        int length = lines.remaining();
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Appender is closed");
+            }
+            long now = System.currentTimeMillis();
+            if (current.buffer.capacity() - current.position < length || now >= current.rollAt) {
+                roll(length, now);
+            }
+            current.buffer.put(current.position, lines, lines.position(), length);
+            current.position += length;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forces and closes the open segment, then waits for every retired segment to be written out.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            retire(current);
+            current = null;
+        } finally {
+            lock.unlock();
+        }
+        retirer.shutdown();
+        try {
+            retirer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void roll(int required, long now) throws IOException {
+        Segment finished = current;
+        current = openSegment(Math.max(segmentSize, required), now);
+        retire(finished);
+    }
+
+    private Segment openSegment(int size, long now) throws IOException {
+        Path path = directory.resolve(String.format("%s-%06d.log", prefix, nextSequence++));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        return new Segment(path, channel, buffer, now + rollIntervalMillis);
+    }
+
+    private void retire(Segment segment) {
+        retirer.execute(() -> {
+            try (FileChannel channel = segment.channel) {
+                segment.buffer.force(0, segment.position);
+            } catch (IOException e) {
+                System.err.println("Unable to close log segment " + segment.path + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private int lastSequence() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> segmentName.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .mapToInt(match -> Integer.parseInt(match.group(1)))
+                    .max()
+                    .orElse(0);
+        }
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final long rollAt;
+        private int position;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer, long rollAt) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.rollAt = rollAt;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.chain_of_responsibility_logger.constants.enums;
+
+/**
+ * What a producer does when the asynchronous log ring buffer is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Discards the message and counts it, so logging never slows the caller down.
+     */
+    DROP,
+    /**
+     * Waits for the consumer to free a slot, so no message is ever lost.
+     */
+    BLOCK
+}
@@ -0,0 +1,24 @@
+package org.chain_of_responsibility_logger.constants.enums;
+
+/**
+ * How the asynchronous log consumer waits when the ring buffer is empty.
+ * Cheaper wake-up costs more idle CPU.
+ */
+public enum WaitStrategy {
+    /**
+     * Spins on the buffer. Lowest latency, but keeps one core busy.
+     */
+    BUSY_SPIN,
+    /**
+     * Spins briefly, then yields the core to other threads between checks.
+     */
+    YIELDING,
+    /**
+     * Spins, yields, then parks for growing intervals. Good default for most applications.
+     */
+    SLEEPING,
+    /**
+     * Waits on a condition that producers signal, so an idle logger uses no CPU.
+     */
+    BLOCKING
+}
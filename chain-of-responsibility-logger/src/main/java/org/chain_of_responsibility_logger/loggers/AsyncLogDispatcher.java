@@ -0,0 +1,158 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.appenders.LogAppender;
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+import org.chain_of_responsibility_logger.constants.enums.OverflowPolicy;
+import org.chain_of_responsibility_logger.constants.enums.WaitStrategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asynchronous back end for {@link LogManager}.
+ * <p>
+ * Producers only copy the level, a timestamp and the message reference into a {@link LogRingBuffer}.
+ * A single daemon consumer thread takes events off the buffer in batches, formats each one the way
+ * the logger chain would into a {@link LogBatchWriter}, and writes the whole batch to the
+ * loggers' {@link LogAppender} with one write and one flush. Console I/O therefore never runs on, or blocks, a caller's thread.
+ * </p>
+ * <p>
+ * Timestamps are epoch nanoseconds. In binary mode {@code {}} patterns travel with their raw
+ * arguments so they are never formatted at all.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+final class AsyncLogDispatcher implements LogDispatcher {
+    private static final int MAX_BATCH = 256;
+
+    private final LogRingBuffer ringBuffer;
+    private final WaitStrategy waitStrategy;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong dropped = new AtomicLong();
+    private final LogBatchWriter batch;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final Thread consumer;
+    private volatile boolean consumerWaiting;
+    private volatile boolean running = true;
+
+    AsyncLogDispatcher(LoggerDispatchTable dispatchTable, boolean binary, int bufferSize, WaitStrategy waitStrategy, OverflowPolicy overflowPolicy) {
+        this.batch = new LogBatchWriter(dispatchTable, binary);
+        this.ringBuffer = new LogRingBuffer(bufferSize);
+        this.waitStrategy = waitStrategy;
+        this.overflowPolicy = overflowPolicy;
+        this.consumer = Thread.ofPlatform().name("async-log-consumer").daemon(true).unstarted(this::consume);
+        consumer.start();
+    }
+
+    @Override
+    public boolean publish(LogLevel logLevel, String message, Object[] arguments) {
+        long sequence = ringBuffer.tryClaim();
+        for (int spins = 0; sequence < 0 && overflowPolicy == OverflowPolicy.BLOCK && running; spins++) {
+            if (spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(1_000);
+            }
+            sequence = ringBuffer.tryClaim();
+        }
+        if (sequence < 0) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        ringBuffer.publish(sequence, logLevel, EpochNanoClock.epochNanos(), message, arguments);
+        if (consumerWaiting) {
+            lock.lock();
+            try {
+                published.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void setDispatchTable(LoggerDispatchTable dispatchTable) {
+        batch.setDispatchTable(dispatchTable);
+    }
+
+    @Override
+    public void setBinary(boolean binary) {
+        batch.setBinary(binary);
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void shutdown() throws InterruptedException {
+        running = false;
+        lock.lock();
+        try {
+            published.signal();
+        } finally {
+            lock.unlock();
+        }
+        consumer.join();
+    }
+
+    private void consume() {
+        int idle = 0;
+        while (running || !ringBuffer.isEmpty()) {
+            int count = ringBuffer.drain(batch::add, MAX_BATCH);
+            if (count > 0) {
+                batch.flush();
+                idle = 0;
+            } else {
+                idle = await(idle);
+            }
+        }
+    }
+
+    private int await(int idle) {
+        switch (waitStrategy) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELDING -> {
+                if (idle < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            case SLEEPING -> {
+                if (idle < 100) {
+                    Thread.onSpinWait();
+                } else if (idle < 200) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(Math.min(1_000_000L, 1_000L << Math.min(idle - 200, 10)));
+                }
+            }
+            case BLOCKING -> {
+                lock.lock();
+                try {
+                    consumerWaiting = true;
+                    if (running && ringBuffer.isEmpty()) {
+                        // the timeout bounds the wait should a producer publish just before we set the flag
+                        published.await(1, TimeUnit.MILLISECONDS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                } finally {
+                    consumerWaiting = false;
+                    lock.unlock();
+                }
+            }
+        }
+        return idle + 1;
+    }
+}
@@ -0,0 +1,161 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Turns binary log files written in {@link LogManager#setBinary(boolean) binary mode} back into
+ * the text lines the logger chain would have printed.
+ * <p>
+ * Usage: {@code java -cp <classes> org.chain_of_responsibility_logger.loggers.BinaryLogDecoder <file or directory>...}
+ * <br>
+ * A directory stands for all its {@code .log} files in name order, i.e. the segments of a
+ * {@code MappedFileAppender}. Pattern definitions carry over from one file to the next, so the
+ * segments of one appender must be decoded in a single run. Decoded lines go to standard output.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+public final class BinaryLogDecoder {
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    private final LoggerDispatchTable labels = LoggerDispatchTable.compile(LoggerChainFactory.createLoggerChain());
+    private final Map<Integer, String> templates = new HashMap<>();
+    private final ZoneId zone;
+
+    public BinaryLogDecoder(ZoneId zone) {
+        this.zone = zone;
+        templates.put(BinaryLogEncoder.PLAIN_MESSAGE_TEMPLATE_ID, BinaryLogEncoder.PLAIN_MESSAGE_TEMPLATE);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: BinaryLogDecoder <file or directory>...");
+            System.exit(1);
+        }
+        BinaryLogDecoder decoder = new BinaryLogDecoder(ZoneId.systemDefault());
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        for (String arg : args) {
+            for (Path file : files(Path.of(arg))) {
+                decoder.decode(file, out);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes one text line per event in the file. Pattern definitions are remembered for later files.
+     *
+     * @return the number of events decoded
+     */
+    public long decode(Path file, Writer out) throws IOException {
+        ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(file));
+        long events = 0;
+        try {
+            while (records.hasRemaining()) {
+                byte type = records.get();
+                if (type == BinaryLogEncoder.END) {
+                    break;
+                } else if (type == BinaryLogEncoder.TEMPLATE) {
+                    int id = (int) getVarint(records);
+                    templates.put(id, getString(records));
+                } else if (type == BinaryLogEncoder.EVENT) {
+                    out.write(decodeEvent(records));
+                    out.write(System.lineSeparator());
+                    events++;
+                } else {
+                    throw new IllegalArgumentException(String.format("Unknown record type %d at offset %d in %s",
+                            type, records.position() - 1, file));
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            System.err.println("Truncated record at the end of " + file);
+        }
+        return events;
+    }
+
+    private String decodeEvent(ByteBuffer records) {
+        LogLevel level = LEVELS[records.get()];
+        long epochNanos = getVarint(records);
+        int templateId = (int) getVarint(records);
+        Object[] arguments = new Object[(int) getVarint(records)];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = getArgument(records);
+        }
+        String template = templates.get(templateId);
+        String message = template == null
+                ? String.format("<undefined pattern %d> %s", templateId, Arrays.toString(arguments))
+                : MessageFormatter.format(template, arguments);
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochSecond(0, epochNanos), zone);
+        return labels.label(level) + time + " " + message;
+    }
+
+    private static Object getArgument(ByteBuffer records) {
+        byte tag = records.get();
+        return switch (tag) {
+            case BinaryLogEncoder.NULL -> null;
+            case BinaryLogEncoder.TRUE -> Boolean.TRUE;
+            case BinaryLogEncoder.FALSE -> Boolean.FALSE;
+            case BinaryLogEncoder.LONG -> {
+                long zigzag = getVarint(records);
+                yield (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+            case BinaryLogEncoder.DOUBLE -> records.getDouble();
+            case BinaryLogEncoder.FLOAT -> records.getFloat();
+            case BinaryLogEncoder.CHAR -> (char) getVarint(records);
+            case BinaryLogEncoder.STRING -> getString(records);
+            default -> throw new IllegalArgumentException(String.format("Unknown argument tag %d", tag));
+        };
+    }
+
+    private static String getString(ByteBuffer records) {
+        int length = (int) getVarint(records);
+        if (length > records.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String text = new String(records.array(), records.arrayOffset() + records.position(), length, StandardCharsets.UTF_8);
+        records.position(records.position() + length);
+        return text;
+    }
+
+    private static long getVarint(ByteBuffer records) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = records.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static List<Path> files(Path path) {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> entries = Files.list(path)) {
+            return entries.filter(p -> p.getFileName().toString().endsWith(".log")).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes log records in the compact binary layout read by {@link BinaryLogDecoder}.
+ * <p>
+ * A stream is a sequence of records, each starting with a record type byte:
+ * <pre>
+ * TEMPLATE  0x01  varint id, varint length, UTF-8 text of a {} pattern
+ * EVENT     0x02  level ordinal (1 byte), varint epoch nanos, varint template id,
+ *                 varint argument count, arguments
+ * </pre>
+ * Each argument is a tag byte followed by its value: {@code NULL}, {@code TRUE} and {@code FALSE}
+ * carry nothing, {@code LONG} a zig-zag varint, {@code DOUBLE} 8 and {@code FLOAT} 4 big-endian bytes, {@code CHAR} a varint and
+ * {@code STRING} a varint length and UTF-8 bytes. Other objects are written as their
+ * {@code toString()}. Template {@value #PLAIN_MESSAGE_TEMPLATE_ID} is the predefined pattern
+ * {@code "{}"}, used for messages logged without a pattern. A zero byte where a record type is
+ * expected marks the end of the data, e.g. the unused tail of a memory-mapped segment.
+ * </p>
+ * <p>
+ * Buffers are reused, so encoding allocates nothing once they have grown to fit the largest
+ * record. Not thread-safe; give each thread its own instance.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+final class BinaryLogEncoder {
+    static final byte END = 0x00;
+    static final byte TEMPLATE = 0x01;
+    static final byte EVENT = 0x02;
+
+    static final byte NULL = 0;
+    static final byte TRUE = 1;
+    static final byte FALSE = 2;
+    static final byte LONG = 3;
+    static final byte DOUBLE = 4;
+    static final byte CHAR = 5;
+    static final byte STRING = 6;
+    static final byte FLOAT = 7;
+
+    static final int PLAIN_MESSAGE_TEMPLATE_ID = 0;
+    static final String PLAIN_MESSAGE_TEMPLATE = "{}";
+
+    private ByteBuffer bytes = ByteBuffer.allocate(512);
+
+    /**
+     * Discards everything written so far.
+     */
+    void reset() {
+        bytes.clear();
+    }
+
+    /**
+     * @return whether nothing has been written since the last {@link #reset()}
+     */
+    boolean isEmpty() {
+        return bytes.position() == 0;
+    }
+
+    void putTemplate(int id, String template) {
+        ensureRemaining(1 + 5 + 5 + 3 * template.length());
+        bytes.put(TEMPLATE);
+        putVarint(id);
+        putString(template);
+    }
+
+    void putEvent(LogLevel level, long epochNanos, int templateId, Object[] args) {
+        int count = args == null ? 0 : args.length;
+        ensureRemaining(1 + 1 + 10 + 5 + 5);
+        bytes.put(EVENT);
+        bytes.put((byte) level.ordinal());
+        putVarint(epochNanos);
+        putVarint(templateId);
+        putVarint(count);
+        for (int i = 0; i < count; i++) {
+            putArgument(args[i]);
+        }
+    }
+
+    /**
+     * Writes a message logged without a pattern, as the predefined {@code "{}"} template.
+     */
+    void putPlainEvent(LogLevel level, long epochNanos, String message) {
+        ensureRemaining(1 + 1 + 10 + 5 + 5);
+        bytes.put(EVENT);
+        bytes.put((byte) level.ordinal());
+        putVarint(epochNanos);
+        putVarint(PLAIN_MESSAGE_TEMPLATE_ID);
+        putVarint(1);
+        putArgument(message);
+    }
+
+    /**
+     * Ends the current run of records. Call {@link #reset()} before writing more.
+     *
+     * @return the records written since the last {@link #reset()}, readable from position 0 to the limit;
+     * valid until the next {@link #reset()}
+     */
+    ByteBuffer encode() {
+        return bytes.flip();
+    }
+
+    private void putArgument(Object arg) {
+        ensureRemaining(1 + 10);
+        if (arg == null) {
+            bytes.put(NULL);
+        } else if (arg instanceof String text) {
+            bytes.put(STRING);
+            putString(text);
+        } else if (arg instanceof Long || arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+            long value = ((Number) arg).longValue();
+            bytes.put(LONG);
+            putVarint((value << 1) ^ (value >> 63));
+        } else if (arg instanceof Double value) {
+            bytes.put(DOUBLE);
+            bytes.putDouble(value);
+        } else if (arg instanceof Float value) {
+            bytes.put(FLOAT);
+            bytes.putFloat(value);
+        } else if (arg instanceof Boolean flag) {
+            bytes.put(flag ? TRUE : FALSE);
+        } else if (arg instanceof Character character) {
+            bytes.put(CHAR);
+            putVarint(character);
+        } else {
+            bytes.put(STRING);
+            putString(String.valueOf(arg));
+        }
+    }
+
+    private void putString(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        ensureRemaining(5 + length);
+        putVarint(length);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes.put((byte) c);
+            } else if (c < 0x800) {
+                bytes.put((byte) (0xC0 | c >> 6));
+                bytes.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                bytes.put((byte) (0xF0 | codePoint >> 18));
+                bytes.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                bytes.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                bytes.put((byte) (0x80 | codePoint & 0x3F));
+            } else {
+                // lone surrogates are written as-is, like Modified UTF-8
+                bytes.put((byte) (0xE0 | c >> 12));
+                bytes.put((byte) (0x80 | c >> 6 & 0x3F));
+                bytes.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        bytes.put((byte) value);
+    }
+
+    private void ensureRemaining(int required) {
+        if (bytes.remaining() >= required) {
+            return;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(bytes.capacity() * 2, bytes.position() + required));
+        bytes.flip();
+        grown.put(bytes);
+        bytes = grown;
+    }
+}
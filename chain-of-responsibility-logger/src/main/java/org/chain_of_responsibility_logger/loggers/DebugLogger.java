@@ -1,5 +1,6 @@
 package org.chain_of_responsibility_logger.loggers;
 
+import org.chain_of_responsibility_logger.appenders.LogAppender;
 import org.chain_of_responsibility_logger.constants.enums.LogLevel;
 
 public final class DebugLogger extends Logger {
@@ -7,13 +8,25 @@ public final class DebugLogger extends Logger {
         super(LogLevel.DEBUG, nextLogger);
     }
 
+    public DebugLogger(Logger nextLogger, LogAppender appender){
+        super(LogLevel.DEBUG, nextLogger, appender);
+    }
+
     @Override
     public void log(LogLevel logLevel, String message) {
         if(this.level == logLevel){
-            System.out.println("DEBUG log : "+message);
+            appender.append("DEBUG log : "+message);
         } else {
             super.log(logLevel, message);
         }
     }
+
+    @Override
+    protected String label(LogLevel logLevel) {
+        if(this.level == logLevel){
+            return "DEBUG log : ";
+        }
+        return super.label(logLevel);
+    }
 }
 
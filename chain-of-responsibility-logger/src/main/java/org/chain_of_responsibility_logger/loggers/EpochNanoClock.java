@@ -0,0 +1,36 @@
+package org.chain_of_responsibility_logger.loggers;
+
+/**
+ * Wall-clock time in nanoseconds since the epoch, without allocating an {@code Instant}.
+ * <p>
+ * {@link System#nanoTime()} is anchored to {@link System#currentTimeMillis()} and re-anchored
+ * whenever the two drift more than {@value #MAX_DRIFT_MILLIS} ms apart (e.g. after an NTP step),
+ * so readings have nanosecond resolution and stay close to the wall clock. The tolerance is wider
+ * than the tick of the coarsest {@code currentTimeMillis} clocks so they do not re-anchor on every call.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+final class EpochNanoClock {
+    static final long MAX_DRIFT_MILLIS = 16;
+
+    private static volatile Anchor anchor = new Anchor(System.currentTimeMillis() * 1_000_000L, System.nanoTime());
+
+    private EpochNanoClock() {}
+
+    static long epochNanos() {
+        long millis = System.currentTimeMillis();
+        long ticks = System.nanoTime();
+        Anchor current = anchor;
+        long epochNanos = current.epochNanos + (ticks - current.ticks);
+        if (Math.abs(epochNanos / 1_000_000L - millis) > MAX_DRIFT_MILLIS) {
+            epochNanos = millis * 1_000_000L;
+            anchor = new Anchor(epochNanos, ticks);
+        }
+        return epochNanos;
+    }
+
+    private record Anchor(long epochNanos, long ticks) {
+    }
+}
@@ -1,5 +1,6 @@
 package org.chain_of_responsibility_logger.loggers;
 
+import org.chain_of_responsibility_logger.appenders.LogAppender;
 import org.chain_of_responsibility_logger.constants.enums.LogLevel;
 
 public final class ErrorLogger extends Logger {
@@ -7,12 +8,24 @@ public final class ErrorLogger extends Logger {
         super(LogLevel.ERROR, nextLogger);
     }
 
+    public ErrorLogger(Logger nextLogger, LogAppender appender){
+        super(LogLevel.ERROR, nextLogger, appender);
+    }
+
     @Override
     public void log(LogLevel logLevel, String message) {
         if(this.level == logLevel){
-            System.out.println("Error log : "+message);
+            appender.append("Error log : "+message);
         } else {
             super.log(logLevel, message);
         }
     }
+
+    @Override
+    protected String label(LogLevel logLevel) {
+        if(this.level == logLevel){
+            return "Error log : ";
+        }
+        return super.label(logLevel);
+    }
 }
@@ -1,5 +1,6 @@
 package org.chain_of_responsibility_logger.loggers;
 
+import org.chain_of_responsibility_logger.appenders.LogAppender;
 import org.chain_of_responsibility_logger.constants.enums.LogLevel;
 
 public final class InfoLogger extends Logger {
@@ -7,12 +8,24 @@ public final class InfoLogger extends Logger {
         super(LogLevel.INFO, nextLogger);
     }
 
+    public InfoLogger(Logger nextLogger, LogAppender appender){
+        super(LogLevel.INFO, nextLogger, appender);
+    }
+
     @Override
     public void log(LogLevel logLevel, String message) {
         if(this.level == logLevel){
-            System.out.println("INFO log : "+message);
+            appender.append("INFO log : "+message);
         } else {
             super.log(logLevel, message);
         }
     }
+
+    @Override
+    protected String label(LogLevel logLevel) {
+        if(this.level == logLevel){
+            return "INFO log : ";
+        }
+        return super.label(logLevel);
+    }
 }
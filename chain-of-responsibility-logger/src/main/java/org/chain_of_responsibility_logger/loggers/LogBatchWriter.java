@@ -0,0 +1,103 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.appenders.LogAppender;
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Collects events on a background logging thread and writes them to the loggers' appenders in batches.
+ * <p>
+ * Each event is formatted the way the logger chain would, into a reusable {@link LogLineEncoder},
+ * or in binary mode encoded with a {@link BinaryLogEncoder}. Consecutive events for the same
+ * appender share one write and one flush; the batch is written out early when the next event goes
+ * to a different appender or switches between text and binary. Only one thread may use an instance.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+final class LogBatchWriter {
+    private volatile LoggerDispatchTable dispatchTable;
+    private volatile boolean binary;
+    private final LogLineEncoder batch = new LogLineEncoder();
+    private final BinaryLogEncoder binaryBatch = new BinaryLogEncoder();
+    private LogAppender batchAppender;
+
+    LogBatchWriter(LoggerDispatchTable dispatchTable, boolean binary) {
+        this.dispatchTable = dispatchTable;
+        this.binary = binary;
+    }
+
+    /**
+     * Formats events not yet added, from any thread, for a new logger chain.
+     */
+    void setDispatchTable(LoggerDispatchTable dispatchTable) {
+        this.dispatchTable = dispatchTable;
+    }
+
+    /**
+     * Writes events not yet added, from any thread, as binary records or as text lines.
+     */
+    void setBinary(boolean binary) {
+        this.binary = binary;
+    }
+
+    /**
+     * Adds one event to the batch.
+     *
+     * @param timestamp epoch nanoseconds
+     * @param arguments null if {@code message} is final, or the arguments of the {@code {}} pattern it holds
+     */
+    void add(LogLevel logLevel, long timestamp, String message, Object[] arguments) {
+        try {
+            LoggerDispatchTable table = dispatchTable;
+            LogAppender appender = table.appender(logLevel);
+            boolean binaryEvent = binary;
+            boolean modeChanged = binaryEvent ? !batch.isEmpty() : !binaryBatch.isEmpty();
+            if (appender != batchAppender || modeChanged) {
+                flush();
+                batchAppender = appender;
+            }
+            if (binaryEvent) {
+                if (arguments == null) {
+                    binaryBatch.putPlainEvent(logLevel, timestamp, message);
+                } else {
+                    binaryBatch.putEvent(logLevel, timestamp, table.templateId(logLevel, message), arguments);
+                }
+            } else {
+                String line = arguments == null ? message : MessageFormatter.format(message, arguments);
+                batch.appendLine(table.label(logLevel), timestamp / 1_000_000L, line);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Unable to log message: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes and flushes everything added since the last flush. A failing appender, e.g. one that
+     * is closed or out of disk, loses the batch but never the calling logging thread: if that
+     * thread died, producers blocked on a full ring would wait forever.
+     */
+    void flush() {
+        if (!batch.isEmpty()) {
+            ByteBuffer bytes = batch.encode();
+            batch.reset();
+            write(bytes);
+        }
+        if (!binaryBatch.isEmpty()) {
+            // encode() returns the encoder's own buffer, so it is only reset once written
+            write(binaryBatch.encode());
+            binaryBatch.reset();
+        }
+    }
+
+    private void write(ByteBuffer bytes) {
+        try {
+            batchAppender.append(bytes);
+            batchAppender.flush();
+        } catch (RuntimeException e) {
+            System.err.println("Unable to write log batch: " + e.getMessage());
+        }
+    }
+}
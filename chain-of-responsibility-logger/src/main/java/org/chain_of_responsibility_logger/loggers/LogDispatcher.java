@@ -0,0 +1,43 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+import org.chain_of_responsibility_logger.constants.enums.OverflowPolicy;
+
+/**
+ * A background back end for {@link LogManager}: callers hand over events and a logging thread
+ * writes them to the appenders.
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+interface LogDispatcher {
+
+    /**
+     * Queues a message for the logging thread, stamping it with the current time.
+     *
+     * @param arguments null if {@code message} is final, or the arguments of the {@code {}} pattern it holds
+     * @return false if the message was dropped because the buffer was full
+     */
+    boolean publish(LogLevel logLevel, String message, Object[] arguments);
+
+    /**
+     * Formats messages still queued, and all later ones, for a new logger chain.
+     */
+    void setDispatchTable(LoggerDispatchTable dispatchTable);
+
+    /**
+     * Writes messages still queued, and all later ones, as binary records or as text lines.
+     */
+    void setBinary(boolean binary);
+
+    /**
+     * @return number of messages dropped under {@link OverflowPolicy#DROP}
+     */
+    long getDroppedCount();
+
+    /**
+     * Stops accepting work once everything already published has been written, then waits for the
+     * logging thread to finish.
+     */
+    void shutdown() throws InterruptedException;
+}
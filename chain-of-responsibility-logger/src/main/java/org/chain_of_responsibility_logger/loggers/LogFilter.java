@@ -0,0 +1,122 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A link in the logger chain that handles no level itself but decides whether a message may go on
+ * to the loggers after it.
+ * <p>
+ * A filter applies to some levels and passes every other level straight on. Messages it holds back
+ * are counted per level, and once per summary interval the next message at that level is preceded
+ * by a line saying how many were suppressed, so a quiet level reports its last count when it
+ * logs again. Decisions and counts are lock-free, since filters matter most when many threads log
+ * at once.
+ * </p>
+ * <p>
+ * {@link LoggerDispatchTable} collects the filters in front of each level's logger, so
+ * {@link LogManager} applies them on every path, before the message is formatted or queued.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+public sealed abstract class LogFilter extends Logger permits RateLimitingLogger, SamplingLogger {
+    public static final Duration DEFAULT_SUMMARY_INTERVAL = Duration.ofSeconds(10);
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    private final boolean[] filtered = new boolean[LEVELS.length];
+    private final long summaryIntervalNanos;
+    private final LongAdder[] suppressed = new LongAdder[LEVELS.length];
+    private final AtomicLongArray reported = new AtomicLongArray(LEVELS.length);
+    private final AtomicLongArray nextSummaryNanos = new AtomicLongArray(LEVELS.length);
+
+    /**
+     * @param nextLogger      the rest of the chain
+     * @param summaryInterval how often a count of suppressed messages is written, at most
+     * @param levels          the levels this filter applies to; all levels if none are given
+     */
+    LogFilter(Logger nextLogger, Duration summaryInterval, LogLevel... levels) {
+        super(null, nextLogger);
+        if (summaryInterval.isNegative() || summaryInterval.isZero()) {
+            throw new IllegalArgumentException(String.format("Invalid summary interval: %s", summaryInterval));
+        }
+        this.summaryIntervalNanos = summaryInterval.toNanos();
+        long now = System.nanoTime();
+        for (LogLevel level : levels.length == 0 ? LEVELS : levels) {
+            filtered[level.ordinal()] = true;
+        }
+        for (int i = 0; i < LEVELS.length; i++) {
+            suppressed[i] = new LongAdder();
+            nextSummaryNanos.set(i, now + summaryIntervalNanos);
+        }
+    }
+
+    /**
+     * @return whether this filter applies to messages at the level
+     */
+    boolean filters(LogLevel logLevel) {
+        return filtered[logLevel.ordinal()];
+    }
+
+    /**
+     * Decides whether a message at a level this filter applies to may pass, and counts it if not.
+     */
+    boolean admit(LogLevel logLevel) {
+        if (accept(logLevel)) {
+            return true;
+        }
+        suppressed[logLevel.ordinal()].increment();
+        return false;
+    }
+
+    /**
+     * @return the filter's own decision for one message
+     */
+    protected abstract boolean accept(LogLevel logLevel);
+
+    /**
+     * @return a short description of the filter for summary lines, e.g. {@code "rate limit"}
+     */
+    protected abstract String describe();
+
+    /**
+     * Returns the summary line for a level once its interval has passed and messages were suppressed
+     * since the last one. Only one caller gets each summary.
+     *
+     * @return the summary, or null if none is due
+     */
+    String takeSummary(LogLevel logLevel) {
+        int index = logLevel.ordinal();
+        long now = System.nanoTime();
+        long due = nextSummaryNanos.get(index);
+        if (now - due < 0 || !nextSummaryNanos.compareAndSet(index, due, now + summaryIntervalNanos)) {
+            return null;
+        }
+        long total = suppressed[index].sum();
+        long count = total - reported.getAndSet(index, total);
+        if (count <= 0) {
+            return null;
+        }
+        return String.format("%d %s messages suppressed by %s", count, logLevel.name(), describe());
+    }
+
+    @Override
+    public void log(LogLevel logLevel, String message) {
+        if (!filters(logLevel)) {
+            super.log(logLevel, message);
+            return;
+        }
+        String summary = takeSummary(logLevel);
+        if (summary != null) {
+            super.log(logLevel, summary);
+        }
+        if (admit(logLevel)) {
+            super.log(logLevel, message);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds log lines in a reusable {@code char[]} and encodes them as UTF-8 into a reusable
+ * {@link ByteBuffer}, so that formatting and encoding a line allocates nothing once the buffers
+ * have grown to fit the longest line seen.
+ * <p>
+ * A line is {@code <label><timestamp> <message><line separator>}, the same layout the loggers print.
+ * Several lines can be appended before {@link #encode()}, e.g. to write a whole batch at once.
+ * Not thread-safe; give each thread its own instance.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+final class LogLineEncoder {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int INITIAL_CAPACITY = 512;
+
+    private final TimestampFormatter timestamps = new TimestampFormatter();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private char[] chars = new char[INITIAL_CAPACITY];
+    private CharBuffer charView = CharBuffer.wrap(chars);
+    private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_CAPACITY * 3);
+    private int length;
+
+    /**
+     * Discards everything appended so far.
+     */
+    void reset() {
+        length = 0;
+    }
+
+    /**
+     * @return whether nothing has been appended since the last {@link #reset()}
+     */
+    boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Appends one complete log line.
+     */
+    void appendLine(String label, long epochMillis, String message) {
+        String text = String.valueOf(message);
+        ensureCapacity(length + label.length() + TimestampFormatter.LENGTH + 1 + text.length() + LINE_SEPARATOR.length());
+        length = append(label);
+        length = timestamps.format(epochMillis, chars, length);
+        chars[length++] = ' ';
+        length = append(text);
+        length = append(LINE_SEPARATOR);
+    }
+
+    /**
+     * Encodes everything appended since the last {@link #reset()}.
+     *
+     * @return the encoded bytes, readable from position 0 to the limit; valid until the next call
+     */
+    ByteBuffer encode() {
+        bytes.clear();
+        charView.limit(length).position(0);
+        encoder.reset();
+        encoder.encode(charView, bytes, true);
+        encoder.flush(bytes);
+        return bytes.flip();
+    }
+
+    private int append(String text) {
+        text.getChars(0, text.length(), chars, length);
+        return length + text.length();
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= chars.length) {
+            return;
+        }
+        char[] grown = new char[Math.max(required, chars.length * 2)];
+        System.arraycopy(chars, 0, grown, 0, length);
+        chars = grown;
+        charView = CharBuffer.wrap(chars);
+        bytes = ByteBuffer.allocate(grown.length * 3);
+    }
+}
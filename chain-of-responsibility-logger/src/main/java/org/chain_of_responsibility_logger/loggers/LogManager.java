@@ -1,10 +1,13 @@
 package org.chain_of_responsibility_logger.loggers;
 
+import org.chain_of_responsibility_logger.appenders.LogAppender;
 import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+import org.chain_of_responsibility_logger.constants.enums.OverflowPolicy;
+import org.chain_of_responsibility_logger.constants.enums.WaitStrategy;
 
-import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 /**
  * {@code LogManager} is the central entry point for logging messages in the application.
@@ -13,6 +16,7 @@ import java.util.concurrent.locks.ReentrantLock;
  * <p>
  * Internally, it uses the Chain of Responsibility pattern to delegate logging responsibilities
  * to different loggers (DebugLogger, InfoLogger, etc.), each handling specific {@link LogLevel}s.
+ * The chain is compiled into a {@link LoggerDispatchTable} so a message does not walk it hop by hop.
  * </p>
  *
  * Example usage:
@@ -22,39 +26,88 @@ import java.util.concurrent.locks.ReentrantLock;
  *   logger.error("An error occurred");
  *</code></pre>
  *
+ * <p>
+ * By default messages are printed on the caller's thread. {@link #enableAsync(int, WaitStrategy, OverflowPolicy)}
+ * switches to a ring buffer drained by a background thread, so callers never wait on console I/O.
+ * With many threads logging at once, {@link #enableSharded(int, OverflowPolicy)} gives each thread a
+ * buffer of its own instead, and the background thread merges them in timestamp order.
+ * </p>
+ *
+ * <p>
+ * Messages below the minimum level ({@link #setMinimumLevel(LogLevel)}, or the {@code logger.level}
+ * system property at startup) are discarded before any formatting. Use the {@code Supplier} and
+ * {@code {}}-pattern overloads so that disabled calls do not build their message at all:
+ * <pre><code>
+ *   logger.debug("spot={} vehicle={}", spotId, vehicle);
+ *   logger.debug(() -> expensiveDump());
+ * </code></pre>
+ * </p>
+ *
+ * <p>
+ * {@link LogFilter}s in the chain, such as {@link RateLimitingLogger} and {@link SamplingLogger}, are
+ * applied right after the minimum level, before a message is formatted or queued.
+ * </p>
+ *
+ * <p>
+ * {@link #setBinary(boolean)} replaces text lines with compact binary records, decoded offline by
+ * {@link BinaryLogDecoder}.
+ * </p>
+ *
  * @author Kartik Sethi
  * @since 1.0
  */
 public final class LogManager {
-    private final Logger logger;
+    private volatile LoggerDispatchTable dispatchTable;
     private static final ReentrantLock lock = new ReentrantLock();
-    private static volatile LogManager INSTANCE;
+    private static final ThreadLocal<LogLineEncoder> ENCODERS = ThreadLocal.withInitial(LogLineEncoder::new);
+    private static final ThreadLocal<TimestampFormatter> TIMESTAMPS = ThreadLocal.withInitial(TimestampFormatter::new);
+    private volatile LogDispatcher asyncDispatcher;
+    private volatile LogLevel minimumLevel = initialMinimumLevel();
+    private volatile boolean garbageFree = Boolean.getBoolean("logger.garbageFree");
+    private static final ThreadLocal<BinaryLogEncoder> BINARY_ENCODERS = ThreadLocal.withInitial(BinaryLogEncoder::new);
+    private volatile boolean binary = Boolean.getBoolean("logger.binary");
 
     /**
-     * Private constructor that initializes the logger chain using {@link LoggerChainFactory}.
+     * Private constructor that initializes the logger chain using {@link LoggerChainFactory}
+     * and compiles it into a {@link LoggerDispatchTable}.
      */
     private LogManager() {
-        logger = LoggerChainFactory.createLoggerChain();
+        dispatchTable = LoggerDispatchTable.compile(LoggerChainFactory.createLoggerChain());
+    }
+
+    /**
+     * Replaces the logger chain. The chain is compiled once here, so each message still reaches
+     * its logger in constant time.
+     *
+     * @param chain the first logger of the new chain
+     */
+    public void setLoggerChain(Logger chain) {
+        LoggerDispatchTable table = LoggerDispatchTable.compile(chain);
+        lock.lock();
+        try {
+            dispatchTable = table;
+            if (asyncDispatcher != null) {
+                asyncDispatcher.setDispatchTable(table);
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * Provides the singleton instance of {@code LogManager}.
-     * Uses double-checked locking with a {@link ReentrantLock} for thread safety.
+     * The instance is created on first use by the initialization-on-demand holder idiom: the JVM
+     * initializes {@link Holder} thread-safely the first time this method runs, and every later
+     * call is a plain read of a constant with no lock and no volatile access.
      *
      * @return the singleton instance of {@code LogManager}
      */
     public static LogManager getInstance() {
-        if (Objects.isNull(INSTANCE)) {
-            lock.lock();
-            try {
-                if (Objects.isNull(INSTANCE)) {
-                    INSTANCE = new LogManager();
-                }
-            } finally {
-                lock.unlock();
-            }
-        }
-        return INSTANCE;
+        return Holder.INSTANCE;
+    }
+
+    private static final class Holder {
+        private static final LogManager INSTANCE = new LogManager();
     }
 
     /**
@@ -69,8 +122,285 @@ public final class LogManager {
      * @param message  the log message to be logged
      */
     public void log(LogLevel logLevel, String message) {
-        String finalMessage = String.format("%s %s", LocalDateTime.now(), message);
-        logger.log(logLevel, finalMessage);
+        if (admitted(logLevel)) {
+            write(logLevel, message, null);
+        }
+    }
+
+    /**
+     * @param arguments null if {@code message} is final, or the raw arguments of the {@code {}} pattern
+     *                  it holds (binary mode only)
+     */
+    private void write(LogLevel logLevel, String message, Object[] arguments) {
+        LogDispatcher dispatcher = asyncDispatcher;
+        if (dispatcher != null) {
+            dispatcher.publish(logLevel, message, arguments);
+            return;
+        }
+        if (binary) {
+            writeBinary(logLevel, message, arguments);
+            return;
+        }
+        if (garbageFree) {
+            writeGarbageFree(logLevel, message);
+            return;
+        }
+        String finalMessage = TIMESTAMPS.get().prepend(System.currentTimeMillis(), message);
+        dispatchTable.deliver(logLevel, finalMessage);
+    }
+
+    /**
+     * Formats the line into this thread's reusable buffers and hands the encoded bytes straight to
+     * the appender of the level's logger, bypassing the per-call {@code String} building of the loggers.
+     * The appender decides when its lines reach their destination; see {@link #flushIfSevere}.
+     */
+    private void writeGarbageFree(LogLevel logLevel, String message) {
+        LoggerDispatchTable table = dispatchTable;
+        String label = table.label(logLevel);
+        LogAppender appender = table.appender(logLevel);
+        LogLineEncoder encoder = ENCODERS.get();
+        encoder.reset();
+        encoder.appendLine(label, System.currentTimeMillis(), message);
+        appender.append(encoder.encode());
+        flushIfSevere(logLevel, appender);
+    }
+
+    /**
+     * Encodes one binary record into this thread's reusable buffer and hands it to the appender of the level's logger.
+     */
+    private void writeBinary(LogLevel logLevel, String message, Object[] arguments) {
+        LoggerDispatchTable table = dispatchTable;
+        LogAppender appender = table.appender(logLevel);
+        BinaryLogEncoder encoder = BINARY_ENCODERS.get();
+        encoder.reset();
+        if (arguments == null) {
+            encoder.putPlainEvent(logLevel, EpochNanoClock.epochNanos(), message);
+        } else {
+            int templateId = table.templateId(logLevel, message);
+            encoder.putEvent(logLevel, EpochNanoClock.epochNanos(), templateId, arguments);
+        }
+        appender.append(encoder.encode());
+        flushIfSevere(logLevel, appender);
+    }
+
+    /**
+     * Flushes the appender after an ERROR line only, so a buffering appender pays for one flush per
+     * batch of its own choosing rather than one per message, yet never holds back the line that
+     * explains a failure.
+     */
+    private static void flushIfSevere(LogLevel logLevel, LogAppender appender) {
+        if (logLevel.compareTo(LogLevel.ERROR) >= 0) {
+            appender.flush();
+        }
+    }
+
+    /**
+     * Turns binary logging on or off (also set by the {@code logger.binary} system property).
+     * <p>
+     * When on, each message is written as a compact record of its level, an epoch-nanosecond
+     * timestamp, the id of its {@code {}} pattern and the raw arguments, and is never formatted as
+     * text; the pattern itself is written once per appender. Use it with file appenders and turn the
+     * files back into text with {@link BinaryLogDecoder}. Binary mode takes precedence over the
+     * garbage-free text path.
+     * </p>
+     * <p>
+     * Arguments are recorded as they are: numbers, booleans, characters and strings keep their value,
+     * any other object is written as its {@code toString()}. In asynchronous mode that happens on the
+     * background thread, so arguments should not be changed after they are logged.
+     * </p>
+     *
+     * @param binary whether to write binary records
+     */
+    public void setBinary(boolean binary) {
+        lock.lock();
+        try {
+            this.binary = binary;
+            if (asyncDispatcher != null) {
+                asyncDispatcher.setBinary(binary);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isBinary() {
+        return binary;
+    }
+
+    /**
+     * Turns the garbage-free synchronous path on or off (also set by the {@code logger.garbageFree}
+     * system property). When on, each thread formats into reusable char and byte buffers with a
+     * cached timestamp renderer, so steady-state logging allocates nothing. Timestamps then have
+     * millisecond precision, like in asynchronous mode.
+     *
+     * @param garbageFree whether to use the garbage-free path
+     */
+    public void setGarbageFree(boolean garbageFree) {
+        this.garbageFree = garbageFree;
+    }
+
+    public boolean isGarbageFree() {
+        return garbageFree;
+    }
+
+    /**
+     * Logs a message that is only built if the level is enabled.
+     *
+     * @param logLevel the level of the log (DEBUG, INFO, WARN, ERROR)
+     * @param message  supplies the log message
+     */
+    public void log(LogLevel logLevel, Supplier<String> message) {
+        if (admitted(logLevel)) {
+            write(logLevel, message.get(), null);
+        }
+    }
+
+    /**
+     * Logs a message whose {@code {}} placeholders are filled with the arguments, only if the level is enabled.
+     *
+     * @param logLevel the level of the log (DEBUG, INFO, WARN, ERROR)
+     * @param pattern  the message with {@code {}} placeholders
+     * @param args     values for the placeholders, in order
+     */
+    public void log(LogLevel logLevel, String pattern, Object... args) {
+        if (admitted(logLevel)) {
+            writePattern(logLevel, pattern, args);
+        }
+    }
+
+    /**
+     * Formats a {@code {}} pattern and logs it, or in binary mode logs the pattern and its raw arguments.
+     * Callers check {@link #admitted(LogLevel)} first, so a disabled call never builds the argument array.
+     */
+    private void writePattern(LogLevel logLevel, String pattern, Object[] args) {
+        if (binary) {
+            write(logLevel, pattern, args);
+        } else {
+            write(logLevel, MessageFormatter.format(pattern, args), null);
+        }
+    }
+
+    /**
+     * Sets the lowest level that is logged; messages below it are discarded before any formatting.
+     *
+     * @param level the minimum level, e.g. {@link LogLevel#INFO} to drop DEBUG messages
+     */
+    public void setMinimumLevel(LogLevel level) {
+        minimumLevel = Objects.requireNonNull(level);
+    }
+
+    public LogLevel getMinimumLevel() {
+        return minimumLevel;
+    }
+
+    /**
+     * @param logLevel a log level
+     * @return whether messages at that level are logged
+     */
+    public boolean isEnabled(LogLevel logLevel) {
+        return logLevel.compareTo(minimumLevel) >= 0;
+    }
+
+    /**
+     * Checks the minimum level and then the chain's {@link LogFilter}s. A suppression summary that is
+     * due is logged first, so it is never itself held back by the filters.
+     */
+    private boolean admitted(LogLevel logLevel) {
+        if (!isEnabled(logLevel)) {
+            return false;
+        }
+        LoggerDispatchTable table = dispatchTable;
+        if (!table.isFiltered(logLevel)) {
+            return true;
+        }
+        String summary = table.takeSuppressionSummary(logLevel);
+        if (summary != null) {
+            write(logLevel, summary, null);
+        }
+        return table.admit(logLevel);
+    }
+
+    private static LogLevel initialMinimumLevel() {
+        String level = System.getProperty("logger.level");
+        return level == null ? LogLevel.DEBUG : LogLevel.valueOf(level.trim().toUpperCase());
+    }
+
+    /**
+     * Switches to asynchronous logging: callers only publish the message into a preallocated ring
+     * buffer, and a background thread formats and writes messages in batches.
+     * Any previous asynchronous back end is drained and replaced.
+     *
+     * @param bufferSize     number of messages the ring buffer holds, rounded up to a power of two
+     * @param waitStrategy   how the background thread waits for new messages
+     * @param overflowPolicy whether callers drop messages or wait when the buffer is full
+     */
+    public void enableAsync(int bufferSize, WaitStrategy waitStrategy, OverflowPolicy overflowPolicy) {
+        lock.lock();
+        try {
+            replaceAsyncDispatcher(new AsyncLogDispatcher(dispatchTable, binary, bufferSize, waitStrategy, overflowPolicy));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Switches to sharded asynchronous logging: each thread publishes into a buffer of its own, so
+     * logging threads never contend with each other, and a background thread merges the buffers and
+     * writes messages in timestamp order. Meant for many platform threads logging at once; each
+     * logging thread holds its buffer until it ends.
+     * Any previous asynchronous back end is drained and replaced.
+     *
+     * @param bufferSize     number of messages each thread's buffer holds, rounded up to a power of two
+     * @param overflowPolicy whether callers drop messages or wait when their buffer is full
+     */
+    public void enableSharded(int bufferSize, OverflowPolicy overflowPolicy) {
+        lock.lock();
+        try {
+            replaceAsyncDispatcher(new ShardedLogDispatcher(dispatchTable, binary, bufferSize, overflowPolicy));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void replaceAsyncDispatcher(LogDispatcher dispatcher) {
+        LogDispatcher previous = asyncDispatcher;
+        asyncDispatcher = dispatcher;
+        try {
+            if (previous != null) {
+                previous.shutdown();
+            } else {
+                Runtime.getRuntime().addShutdownHook(new Thread(this::disableAsync, "async-log-shutdown"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Goes back to synchronous logging after writing every message already queued.
+     * Does nothing if asynchronous logging is not enabled.
+     */
+    public void disableAsync() {
+        lock.lock();
+        try {
+            LogDispatcher dispatcher = asyncDispatcher;
+            asyncDispatcher = null;
+            if (dispatcher != null) {
+                dispatcher.shutdown();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of messages dropped because the asynchronous buffer was full, or 0 in synchronous mode
+     */
+    public long getDroppedCount() {
+        LogDispatcher dispatcher = asyncDispatcher;
+        return dispatcher == null ? 0 : dispatcher.getDroppedCount();
     }
 
 
@@ -83,6 +413,54 @@ public final class LogManager {
         log(LogLevel.DEBUG, message);
     }
 
+    /**
+     * Logs a DEBUG level message that is only built if DEBUG is enabled.
+     *
+     * @param message supplies the debug message
+     */
+    public void debug(Supplier<String> message) {
+        if (admitted(LogLevel.DEBUG)) {
+            write(LogLevel.DEBUG, message.get(), null);
+        }
+    }
+
+    /**
+     * Logs a DEBUG level message with one {@code {}} placeholder, formatted only if DEBUG is enabled.
+     *
+     * @param pattern the debug message pattern
+     * @param arg     value for the placeholder
+     */
+    public void debug(String pattern, Object arg) {
+        if (admitted(LogLevel.DEBUG)) {
+            writePattern(LogLevel.DEBUG, pattern, new Object[]{arg});
+        }
+    }
+
+    /**
+     * Logs a DEBUG level message with two {@code {}} placeholders, formatted only if DEBUG is enabled.
+     *
+     * @param pattern the debug message pattern
+     * @param arg1    value for the first placeholder
+     * @param arg2    value for the second placeholder
+     */
+    public void debug(String pattern, Object arg1, Object arg2) {
+        if (admitted(LogLevel.DEBUG)) {
+            writePattern(LogLevel.DEBUG, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    /**
+     * Logs a DEBUG level message with {@code {}} placeholders, formatted only if DEBUG is enabled.
+     *
+     * @param pattern the debug message pattern
+     * @param args    values for the placeholders, in order
+     */
+    public void debug(String pattern, Object... args) {
+        if (admitted(LogLevel.DEBUG)) {
+            writePattern(LogLevel.DEBUG, pattern, args);
+        }
+    }
+
     /**
      * Logs an INFO level message.
      *
@@ -92,6 +470,54 @@ public final class LogManager {
         log(LogLevel.INFO, message);
     }
 
+    /**
+     * Logs an INFO level message that is only built if INFO is enabled.
+     *
+     * @param message supplies the informational message
+     */
+    public void info(Supplier<String> message) {
+        if (admitted(LogLevel.INFO)) {
+            write(LogLevel.INFO, message.get(), null);
+        }
+    }
+
+    /**
+     * Logs an INFO level message with one {@code {}} placeholder, formatted only if INFO is enabled.
+     *
+     * @param pattern the informational message pattern
+     * @param arg     value for the placeholder
+     */
+    public void info(String pattern, Object arg) {
+        if (admitted(LogLevel.INFO)) {
+            writePattern(LogLevel.INFO, pattern, new Object[]{arg});
+        }
+    }
+
+    /**
+     * Logs an INFO level message with two {@code {}} placeholders, formatted only if INFO is enabled.
+     *
+     * @param pattern the informational message pattern
+     * @param arg1    value for the first placeholder
+     * @param arg2    value for the second placeholder
+     */
+    public void info(String pattern, Object arg1, Object arg2) {
+        if (admitted(LogLevel.INFO)) {
+            writePattern(LogLevel.INFO, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    /**
+     * Logs an INFO level message with {@code {}} placeholders, formatted only if INFO is enabled.
+     *
+     * @param pattern the informational message pattern
+     * @param args    values for the placeholders, in order
+     */
+    public void info(String pattern, Object... args) {
+        if (admitted(LogLevel.INFO)) {
+            writePattern(LogLevel.INFO, pattern, args);
+        }
+    }
+
     /**
      * Logs a WARN level message.
      *
@@ -101,6 +527,54 @@ public final class LogManager {
         log(LogLevel.WARN, message);
     }
 
+    /**
+     * Logs a WARN level message that is only built if WARN is enabled.
+     *
+     * @param message supplies the warning message
+     */
+    public void warn(Supplier<String> message) {
+        if (admitted(LogLevel.WARN)) {
+            write(LogLevel.WARN, message.get(), null);
+        }
+    }
+
+    /**
+     * Logs a WARN level message with one {@code {}} placeholder, formatted only if WARN is enabled.
+     *
+     * @param pattern the warning message pattern
+     * @param arg     value for the placeholder
+     */
+    public void warn(String pattern, Object arg) {
+        if (admitted(LogLevel.WARN)) {
+            writePattern(LogLevel.WARN, pattern, new Object[]{arg});
+        }
+    }
+
+    /**
+     * Logs a WARN level message with two {@code {}} placeholders, formatted only if WARN is enabled.
+     *
+     * @param pattern the warning message pattern
+     * @param arg1    value for the first placeholder
+     * @param arg2    value for the second placeholder
+     */
+    public void warn(String pattern, Object arg1, Object arg2) {
+        if (admitted(LogLevel.WARN)) {
+            writePattern(LogLevel.WARN, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    /**
+     * Logs a WARN level message with {@code {}} placeholders, formatted only if WARN is enabled.
+     *
+     * @param pattern the warning message pattern
+     * @param args    values for the placeholders, in order
+     */
+    public void warn(String pattern, Object... args) {
+        if (admitted(LogLevel.WARN)) {
+            writePattern(LogLevel.WARN, pattern, args);
+        }
+    }
+
     /**
      * Logs an ERROR level message.
      *
@@ -109,4 +583,52 @@ public final class LogManager {
     public void error(String message) {
         log(LogLevel.ERROR, message);
     }
+
+    /**
+     * Logs an ERROR level message that is only built if ERROR is enabled.
+     *
+     * @param message supplies the error message
+     */
+    public void error(Supplier<String> message) {
+        if (admitted(LogLevel.ERROR)) {
+            write(LogLevel.ERROR, message.get(), null);
+        }
+    }
+
+    /**
+     * Logs an ERROR level message with one {@code {}} placeholder, formatted only if ERROR is enabled.
+     *
+     * @param pattern the error message pattern
+     * @param arg     value for the placeholder
+     */
+    public void error(String pattern, Object arg) {
+        if (admitted(LogLevel.ERROR)) {
+            writePattern(LogLevel.ERROR, pattern, new Object[]{arg});
+        }
+    }
+
+    /**
+     * Logs an ERROR level message with two {@code {}} placeholders, formatted only if ERROR is enabled.
+     *
+     * @param pattern the error message pattern
+     * @param arg1    value for the first placeholder
+     * @param arg2    value for the second placeholder
+     */
+    public void error(String pattern, Object arg1, Object arg2) {
+        if (admitted(LogLevel.ERROR)) {
+            writePattern(LogLevel.ERROR, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    /**
+     * Logs an ERROR level message with {@code {}} placeholders, formatted only if ERROR is enabled.
+     *
+     * @param pattern the error message pattern
+     * @param args    values for the placeholders, in order
+     */
+    public void error(String pattern, Object... args) {
+        if (admitted(LogLevel.ERROR)) {
+            writePattern(LogLevel.ERROR, pattern, args);
+        }
+    }
 }
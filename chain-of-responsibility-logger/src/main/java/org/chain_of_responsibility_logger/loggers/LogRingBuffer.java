@@ -0,0 +1,123 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Preallocated multi-producer, single-consumer ring of log events.
+ * <p>
+ * Producers claim a sequence number with one atomic operation, fill the slot it maps to and then
+ * publish the slot by storing its sequence number. The consumer reads published slots in
+ * sequence order and frees them by moving its cursor forward. Slots are reused forever, so
+ * publishing an event allocates nothing and no lock is ever taken.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+final class LogRingBuffer {
+    private final int mask;
+    private final LogLevel[] levels;
+    private final long[] timestamps;
+    private final String[] messages;
+    private final Object[][] arguments;
+    private final AtomicLongArray published;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+
+    /**
+     * @param capacity number of slots; rounded up to a power of two
+     */
+    LogRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException(String.format("Invalid ring buffer capacity: %d", capacity));
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        size = Math.max(size, 1);
+        this.mask = size - 1;
+        this.levels = new LogLevel[size];
+        this.timestamps = new long[size];
+        this.messages = new String[size];
+        this.arguments = new Object[size][];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Claims the next slot if one is free.
+     *
+     * @return the claimed sequence, or -1 if the buffer is full
+     */
+    long tryClaim() {
+        while (true) {
+            long sequence = nextSequence.get();
+            if (sequence - consumed.get() > mask) {
+                return -1;
+            }
+            if (nextSequence.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * Fills a claimed slot and makes it visible to the consumer.
+     *
+     * @param arguments null for a finished message, or the raw arguments of the {@code {}} pattern in {@code message}
+     */
+    void publish(long sequence, LogLevel level, long timestamp, String message, Object[] arguments) {
+        int slot = (int) sequence & mask;
+        levels[slot] = level;
+        timestamps[slot] = timestamp;
+        messages[slot] = message;
+        this.arguments[slot] = arguments;
+        published.setRelease(slot, sequence);
+    }
+
+    /**
+     * @return whether the consumer has nothing left to read
+     */
+    boolean isEmpty() {
+        long next = consumed.get();
+        return published.getAcquire((int) next & mask) != next;
+    }
+
+    /**
+     * Hands up to {@code maxBatch} published events to the handler, in sequence order, and then
+     * frees their slots. Only the consumer thread may call this.
+     *
+     * @return the number of events handled
+     */
+    int drain(EventHandler handler, int maxBatch) {
+        long first = consumed.get();
+        int count = 0;
+        while (count < maxBatch) {
+            long sequence = first + count;
+            int slot = (int) sequence & mask;
+            if (published.getAcquire(slot) != sequence) {
+                break;
+            }
+            handler.onEvent(levels[slot], timestamps[slot], messages[slot], arguments[slot]);
+            messages[slot] = null;
+            arguments[slot] = null;
+            count++;
+        }
+        if (count > 0) {
+            consumed.setRelease(first + count);
+        }
+        return count;
+    }
+
+    @FunctionalInterface
+    interface EventHandler {
+        void onEvent(LogLevel level, long timestamp, String message, Object[] arguments);
+    }
+}
@@ -1,5 +1,7 @@
 package org.chain_of_responsibility_logger.loggers;
 
+import org.chain_of_responsibility_logger.appenders.ConsoleAppender;
+import org.chain_of_responsibility_logger.appenders.LogAppender;
 import org.chain_of_responsibility_logger.constants.enums.LogLevel;
 
 /**
@@ -28,22 +30,55 @@ import org.chain_of_responsibility_logger.constants.enums.LogLevel;
  *     loggerChain.log(LogLevel.INFO, "This is an informational message");
  * </code></pre>
  *
+ * <p>
+ * Loggers write to the console unless given a {@link LogAppender}, e.g. a
+ * {@link org.chain_of_responsibility_logger.appenders.MappedFileAppender}; each logger in a chain
+ * may target a different one.
+ * </p>
+ *
+ * <p>
+ * A {@link LogFilter}, such as {@link RateLimitingLogger} or {@link SamplingLogger}, can be put in
+ * front of the loggers to hold back some of the messages for the levels it applies to.
+ * </p>
+ *
  * @author Kartik Sethi
  * @since 1.0
  */
-public sealed abstract class Logger permits DebugLogger, InfoLogger, WarnLogger, ErrorLogger {
+public sealed abstract class Logger permits DebugLogger, InfoLogger, WarnLogger, ErrorLogger, LogFilter {
     private final Logger nextLogger;
     protected LogLevel level = null;
+    protected final LogAppender appender;
 
     /**
-     * Constructs a logger with the specified log level and next logger in the chain.
+     * Constructs a logger with the specified log level and next logger in the chain,
+     * writing to the console.
      *
      * @param level the log level this logger is responsible for (e.g., DEBUG, INFO)
      * @param nextLogger the next logger in the chain that will handle log levels it cannot process
      */
     public Logger(LogLevel level, Logger nextLogger) {
+        this(level, nextLogger, ConsoleAppender.getInstance());
+    }
+
+    /**
+     * Constructs a logger with the specified log level and next logger in the chain,
+     * writing to the given appender (e.g., a file).
+     *
+     * @param level the log level this logger is responsible for (e.g., DEBUG, INFO)
+     * @param nextLogger the next logger in the chain that will handle log levels it cannot process
+     * @param appender where this logger writes the lines it handles
+     */
+    public Logger(LogLevel level, Logger nextLogger, LogAppender appender) {
         this.level = level;
         this.nextLogger = nextLogger;
+        this.appender = appender;
+    }
+
+    /**
+     * @return the next logger in the chain, or null if this is the last one
+     */
+    Logger getNextLogger() {
+        return nextLogger;
     }
 
     /**
@@ -64,4 +99,19 @@ public sealed abstract class Logger permits DebugLogger, InfoLogger, WarnLogger,
             throw new IllegalArgumentException(String.format("Invalid log level: %s", logLevel.name()));
         }
     }
+
+    /**
+     * Returns the prefix the logger responsible for the given level writes before each message,
+     * so a message can be formatted for this chain without printing it.
+     *
+     * @param logLevel the log level of the message
+     * @return the line prefix used by the logger handling that level
+     * @throws IllegalArgumentException if no logger can handle the log level
+     */
+    protected String label(LogLevel logLevel) {
+        if (nextLogger != null) {
+            return nextLogger.label(logLevel);
+        }
+        throw new IllegalArgumentException(String.format("Invalid log level: %s", logLevel.name()));
+    }
 }
@@ -1,5 +1,10 @@
 package org.chain_of_responsibility_logger.loggers;
 
+import org.chain_of_responsibility_logger.appenders.LogAppender;
+import org.chain_of_responsibility_logger.appenders.MappedFileAppender;
+
+import java.util.function.UnaryOperator;
+
 public final class LoggerChainFactory {
     private LoggerChainFactory() {}
 
@@ -9,4 +14,38 @@ public final class LoggerChainFactory {
         Logger debugLogger = new DebugLogger(warnLogger);
         return new InfoLogger(debugLogger);
     }
+
+    /**
+     * Builds the same chain as {@link #createLoggerChain()} with every logger writing to one appender.
+     *
+     * @param appender where all levels are written, e.g. a {@link MappedFileAppender}
+     * @return the first logger of the chain
+     */
+    public static Logger createLoggerChain(LogAppender appender) {
+        Logger errorLogger = new ErrorLogger(null, appender);
+        Logger warnLogger = new WarnLogger(errorLogger, appender);
+        Logger debugLogger = new DebugLogger(warnLogger, appender);
+        return new InfoLogger(debugLogger, appender);
+    }
+
+    /**
+     * Builds the same chain as {@link #createLoggerChain(LogAppender)} behind the given filters, e.g.
+     * <pre><code>
+     *   LoggerChainFactory.createLoggerChain(appender,
+     *           next -> new RateLimitingLogger(next, 100, 500, LogLevel.WARN, LogLevel.ERROR),
+     *           next -> new SamplingLogger(next, 0.01, LogLevel.DEBUG));
+     * </code></pre>
+     *
+     * @param appender where all levels are written
+     * @param filters  each wraps the rest of the chain; the first one given comes first in the chain
+     * @return the first link of the chain
+     */
+    @SafeVarargs
+    public static Logger createLoggerChain(LogAppender appender, UnaryOperator<Logger>... filters) {
+        Logger chain = createLoggerChain(appender);
+        for (int i = filters.length - 1; i >= 0; i--) {
+            chain = filters[i].apply(chain);
+        }
+        return chain;
+    }
 }
@@ -0,0 +1,179 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.appenders.LogAppender;
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A logger chain compiled into an array indexed by {@link LogLevel#ordinal()}.
+ * <p>
+ * Walking the chain costs one virtual call and one level comparison per hop, so the last level in
+ * the chain pays for every logger in front of it. The table is built once by walking the chain for
+ * every level and remembering which logger answered; after that each message reaches its logger
+ * with a single array load. The chain itself stays the source of truth: build it however you like
+ * (e.g. with {@link LoggerChainFactory}) and compile it again whenever it changes.
+ * </p>
+ * <p>
+ * The {@link LogFilter}s met on the way to a level's logger are kept with it, in chain order, so a
+ * caller can ask {@link #admit(LogLevel)} before doing any work for a message.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+public final class LoggerDispatchTable {
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    private final Logger[] handlers = new Logger[LEVELS.length];
+    private final String[] labels = new String[LEVELS.length];
+    private final LogFilter[][] filters = new LogFilter[LEVELS.length][];
+    private final TemplateDictionary[] dictionaries = new TemplateDictionary[LEVELS.length];
+
+    private LoggerDispatchTable(Logger chain) {
+        for (LogLevel level : LEVELS) {
+            List<LogFilter> levelFilters = new ArrayList<>();
+            for (Logger logger = chain; logger != null; logger = logger.getNextLogger()) {
+                if (logger instanceof LogFilter filter && filter.filters(level)) {
+                    levelFilters.add(filter);
+                }
+                if (logger.level == level) {
+                    handlers[level.ordinal()] = logger;
+                    labels[level.ordinal()] = logger.label(level);
+                    dictionaries[level.ordinal()] = TemplateDictionary.of(logger.appender);
+                    break;
+                }
+            }
+            filters[level.ordinal()] = levelFilters.toArray(new LogFilter[0]);
+        }
+    }
+
+    /**
+     * Builds the table for a chain. Levels no logger in the chain handles stay unresolved and are
+     * rejected when logged, just as the chain would reject them.
+     *
+     * @param chain the first logger of the chain
+     * @return the compiled table
+     */
+    public static LoggerDispatchTable compile(Logger chain) {
+        return new LoggerDispatchTable(chain);
+    }
+
+    /**
+     * Hands the message straight to the logger responsible for its level, if the filters in front
+     * of it admit the message.
+     *
+     * @param logLevel the log level of the message
+     * @param message  the message to be logged
+     * @throws IllegalArgumentException if no logger in the chain handles the log level
+     */
+    public void log(LogLevel logLevel, String message) {
+        Logger handler = handlerFor(logLevel);
+        String summary = takeSuppressionSummary(logLevel);
+        if (summary != null) {
+            handler.log(logLevel, summary);
+        }
+        if (admit(logLevel)) {
+            handler.log(logLevel, message);
+        }
+    }
+
+    /**
+     * Hands an already admitted message to the logger responsible for its level.
+     */
+    void deliver(LogLevel logLevel, String message) {
+        handlerFor(logLevel).log(logLevel, message);
+    }
+
+    /**
+     * @return whether any filter applies to the level
+     */
+    public boolean isFiltered(LogLevel logLevel) {
+        return filters[logLevel.ordinal()].length > 0;
+    }
+
+    /**
+     * Asks the filters in front of the level's logger whether a message may pass; a filter that
+     * holds it back counts it as suppressed.
+     *
+     * @param logLevel the log level of the message
+     * @return whether the message should be logged
+     */
+    public boolean admit(LogLevel logLevel) {
+        for (LogFilter filter : filters[logLevel.ordinal()]) {
+            if (!filter.admit(logLevel)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param logLevel a log level
+     * @return a line reporting how many messages a filter suppressed at that level, if one is due, or null
+     */
+    public String takeSuppressionSummary(LogLevel logLevel) {
+        for (LogFilter filter : filters[logLevel.ordinal()]) {
+            String summary = filter.takeSummary(logLevel);
+            if (summary != null) {
+                return summary;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param logLevel the log level of a message
+     * @return the prefix the responsible logger writes before the message
+     * @throws IllegalArgumentException if no logger in the chain handles the log level
+     */
+    public String label(LogLevel logLevel) {
+        String label = labels[logLevel.ordinal()];
+        if (label == null) {
+            throw invalid(logLevel);
+        }
+        return label;
+    }
+
+    /**
+     * @param logLevel the log level of a message
+     * @return the appender the responsible logger writes to
+     * @throws IllegalArgumentException if no logger in the chain handles the log level
+     */
+    public LogAppender appender(LogLevel logLevel) {
+        return handlerFor(logLevel).appender;
+    }
+
+    /**
+     * Binary-mode id of a {@code {}} pattern in the stream of the level's appender, defined there
+     * first if it is new. The appender's {@link TemplateDictionary} was looked up when the table was compiled.
+     *
+     * @param logLevel the log level of a message
+     * @param template the message's pattern
+     * @return the pattern's id
+     * @throws IllegalArgumentException if no logger in the chain handles the log level
+     */
+    int templateId(LogLevel logLevel, String template) {
+        return dictionaries[logLevel.ordinal()].define(appender(logLevel), template);
+    }
+
+    /**
+     * @return whether some logger in the chain handles the level
+     */
+    public boolean handles(LogLevel logLevel) {
+        return handlers[logLevel.ordinal()] != null;
+    }
+
+    private Logger handlerFor(LogLevel logLevel) {
+        Logger handler = handlers[logLevel.ordinal()];
+        if (handler == null) {
+            throw invalid(logLevel);
+        }
+        return handler;
+    }
+
+    private static IllegalArgumentException invalid(LogLevel logLevel) {
+        return new IllegalArgumentException(String.format("Invalid log level: %s", logLevel.name()));
+    }
+}
@@ -0,0 +1,35 @@
+package org.chain_of_responsibility_logger.loggers;
+
+/**
+ * Fills {@code {}} placeholders in a log message pattern, e.g.
+ * {@code format("x={} y={}", 1, 2)} gives {@code "x=1 y=2"}.
+ * <p>
+ * Placeholders without a matching argument are left as they are and extra arguments are ignored.
+ * A placeholder preceded by a backslash ({@code \{}}) is written literally.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+final class MessageFormatter {
+    private MessageFormatter() {}
+
+    static String format(String pattern, Object... args) {
+        if (pattern == null || args == null || args.length == 0) {
+            return pattern;
+        }
+        StringBuilder out = new StringBuilder(pattern.length() + 16 * args.length);
+        int argument = 0;
+        int from = 0;
+        int placeholder;
+        while (argument < args.length && (placeholder = pattern.indexOf("{}", from)) >= 0) {
+            if (placeholder > 0 && pattern.charAt(placeholder - 1) == '\\') {
+                out.append(pattern, from, placeholder - 1).append("{}");
+            } else {
+                out.append(pattern, from, placeholder).append(args[argument++]);
+            }
+            from = placeholder + 2;
+        }
+        return out.append(pattern, from, pattern.length()).toString();
+    }
+}
@@ -0,0 +1,73 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lets through at most {@code permitsPerSecond} messages per level, with bursts of up to
+ * {@code burst} messages, and suppresses the rest.
+ * <p>
+ * Each level has its own token bucket, kept as a single "theoretical arrival time" (the generic
+ * cell rate algorithm): a message is admitted if the time its tokens will have been paid back is
+ * within the burst allowance of now, and admitting it is one CAS that moves that time forward by
+ * one emission interval. No lock is taken and no refill thread is needed.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+public final class RateLimitingLogger extends LogFilter {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final double permitsPerSecond;
+    private final AtomicLongArray theoreticalArrival;
+
+    public RateLimitingLogger(Logger nextLogger, double permitsPerSecond, int burst, LogLevel... levels) {
+        this(nextLogger, permitsPerSecond, burst, DEFAULT_SUMMARY_INTERVAL, levels);
+    }
+
+    /**
+     * @param nextLogger       the rest of the chain
+     * @param permitsPerSecond sustained number of messages admitted per level per second
+     * @param burst            number of messages admitted at once after a quiet period
+     * @param summaryInterval  how often a count of suppressed messages is written, at most
+     * @param levels           the levels to limit; all levels if none are given
+     */
+    public RateLimitingLogger(Logger nextLogger, double permitsPerSecond, int burst, Duration summaryInterval, LogLevel... levels) {
+        super(nextLogger, summaryInterval, levels);
+        if (!(permitsPerSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException(String.format("Invalid rate limit: %s per second, burst %d", permitsPerSecond, burst));
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLongArray(LogLevel.values().length);
+        long now = System.nanoTime();
+        for (int i = 0; i < theoreticalArrival.length(); i++) {
+            theoreticalArrival.set(i, now);
+        }
+    }
+
+    @Override
+    protected boolean accept(LogLevel logLevel) {
+        int index = logLevel.ordinal();
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get(index);
+            long start = arrival - now > 0 ? arrival : now;
+            if (start - now > toleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(index, arrival, start + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    protected String describe() {
+        return String.format("rate limit of %s/s", permitsPerSecond);
+    }
+}
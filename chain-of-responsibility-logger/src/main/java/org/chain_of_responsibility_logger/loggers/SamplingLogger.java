@@ -0,0 +1,45 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lets each message through with a fixed probability and suppresses the rest, e.g. to keep one
+ * DEBUG line in a hundred. The draw uses {@link ThreadLocalRandom}, so threads share no state.
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+public final class SamplingLogger extends LogFilter {
+    private final double probability;
+
+    public SamplingLogger(Logger nextLogger, double probability, LogLevel... levels) {
+        this(nextLogger, probability, DEFAULT_SUMMARY_INTERVAL, levels);
+    }
+
+    /**
+     * @param nextLogger      the rest of the chain
+     * @param probability     chance that a message is kept, between 0 and 1
+     * @param summaryInterval how often a count of suppressed messages is written, at most
+     * @param levels          the levels to sample; all levels if none are given
+     */
+    public SamplingLogger(Logger nextLogger, double probability, Duration summaryInterval, LogLevel... levels) {
+        super(nextLogger, summaryInterval, levels);
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException(String.format("Invalid sampling probability: %s", probability));
+        }
+        this.probability = probability;
+    }
+
+    @Override
+    protected boolean accept(LogLevel logLevel) {
+        return probability >= 1 || ThreadLocalRandom.current().nextDouble() < probability;
+    }
+
+    @Override
+    protected String describe() {
+        return String.format("sampling at %s", probability);
+    }
+}
@@ -0,0 +1,357 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+import org.chain_of_responsibility_logger.constants.enums.OverflowPolicy;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asynchronous back end for {@link LogManager} in which every thread logs into a buffer of its own.
+ * <p>
+ * A {@link LogRingBuffer} is shared by all producers, so at high thread counts they contend on its
+ * claim counter. Here each logging thread gets a single-producer {@link Shard}: publishing an event
+ * touches only cache lines owned by that thread, and the per-shard sequence numbers together form a
+ * striped counter with no shared hot spot. A single daemon merger thread drains all shards and
+ * writes their events through a {@link LogBatchWriter} in timestamp order.
+ * </p>
+ * <p>
+ * Events are ordered by their {@link EpochNanoClock} timestamp, which each shard produces in
+ * increasing order, so the merge is a k-way merge of sorted runs. The merger only writes events older than a
+ * horizon that no event still being published can precede: before taking its timestamp a
+ * producer announces a lower bound for it in {@link Shard#inFlight}, and the merger reads the
+ * clock before it reads the announcements. Ties are broken by shard and then by sequence, so
+ * the order is total and each thread's own events keep their order. Only when the clock is
+ * re-anchored to a stepped wall clock can a few events be written out of timestamp order.
+ * </p>
+ * <p>
+ * A shard holds {@code bufferSize} events and stays registered until its thread has ended and its
+ * events are written, so this mode suits a bounded pool of platform threads rather than large
+ * numbers of short-lived virtual threads.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+final class ShardedLogDispatcher implements LogDispatcher {
+    private static final int MAX_BATCH = 256;
+    private static final long IDLE = Long.MAX_VALUE;
+
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final LogBatchWriter batch;
+    private final AtomicLong dropped = new AtomicLong();
+    private final ThreadLocal<Shard> shards = ThreadLocal.withInitial(this::register);
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Shard[] registered = new Shard[0];
+    private int nextShardId;
+    private final Thread merger;
+    private volatile boolean running = true;
+
+    /**
+     * @param bufferSize     number of events each thread's shard holds, rounded up to a power of two
+     * @param overflowPolicy whether callers drop messages or wait when their shard is full
+     */
+    ShardedLogDispatcher(LoggerDispatchTable dispatchTable, boolean binary, int bufferSize, OverflowPolicy overflowPolicy) {
+        if (bufferSize < 1 || bufferSize > 1 << 30) {
+            throw new IllegalArgumentException(String.format("Invalid shard buffer size: %d", bufferSize));
+        }
+        this.bufferSize = Math.max(Integer.highestOneBit(bufferSize - 1) << 1, 1);
+        this.overflowPolicy = overflowPolicy;
+        this.batch = new LogBatchWriter(dispatchTable, binary);
+        this.merger = Thread.ofPlatform().name("sharded-log-merger").daemon(true).unstarted(this::merge);
+        merger.start();
+    }
+
+    @Override
+    public boolean publish(LogLevel logLevel, String message, Object[] arguments) {
+        Shard shard = shards.get();
+        for (int spins = 0; shard.isFull() && overflowPolicy == OverflowPolicy.BLOCK && running; spins++) {
+            if (spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(1_000);
+            }
+        }
+        if (shard.isFull()) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        shard.inFlight = EpochNanoClock.epochNanos();
+        shard.publish(EpochNanoClock.epochNanos(), logLevel, message, arguments);
+        shard.inFlight = IDLE;
+        return true;
+    }
+
+    @Override
+    public void setDispatchTable(LoggerDispatchTable dispatchTable) {
+        batch.setDispatchTable(dispatchTable);
+    }
+
+    @Override
+    public void setBinary(boolean binary) {
+        batch.setBinary(binary);
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(merger);
+        merger.join();
+    }
+
+    /**
+     * @return the number of shards still registered, including those of ended threads not yet retired
+     */
+    int registeredShards() {
+        return registered.length;
+    }
+
+    private Shard register() {
+        lock.lock();
+        try {
+            Shard shard = new Shard(nextShardId++, Thread.currentThread(), bufferSize);
+            Shard[] grown = Arrays.copyOf(registered, registered.length + 1);
+            grown[grown.length - 1] = shard;
+            registered = grown;
+            return shard;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void merge() {
+        Shard[] heap = new Shard[0];
+        int idle = 0;
+        while (true) {
+            boolean stopping = !running;
+            Shard[] shards = registered;
+            if (heap.length < shards.length) {
+                heap = new Shard[shards.length];
+            }
+            int written = writeOrdered(shards, heap);
+            if (written > 0) {
+                batch.flush();
+                idle = 0;
+            } else if (stopping && allEmpty(shards)) {
+                return;
+            } else {
+                retireFinishedShards(shards);
+                idle = await(idle);
+            }
+        }
+    }
+
+    /**
+     * Writes, in order, every published event that is older than the current horizon.
+     *
+     * @return the number of events written
+     */
+    private int writeOrdered(Shard[] shards, Shard[] heap) {
+        // read the clock first: a producer whose announcement we miss takes its timestamp after this
+        long horizon = EpochNanoClock.epochNanos();
+        for (Shard shard : shards) {
+            horizon = Math.min(horizon, shard.inFlight);
+        }
+        int size = 0;
+        for (Shard shard : shards) {
+            if (shard.startDrain() && shard.headTimestamp() < horizon) {
+                size = siftUp(heap, size, shard);
+            }
+        }
+        int written = 0;
+        while (size > 0) {
+            Shard next = heap[0];
+            next.writeHead(batch);
+            written++;
+            if (written % MAX_BATCH == 0) {
+                batch.flush();
+            }
+            if (next.hasNext() && next.headTimestamp() < horizon) {
+                siftDown(heap, size, 0);
+            } else {
+                next.endDrain();
+                heap[0] = heap[--size];
+                heap[size] = null;
+                if (size > 0) {
+                    siftDown(heap, size, 0);
+                }
+            }
+        }
+        return written;
+    }
+
+    private static int siftUp(Shard[] heap, int size, Shard shard) {
+        int index = size;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!heap[parent].after(shard)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = shard;
+        return size + 1;
+    }
+
+    private static void siftDown(Shard[] heap, int size, int index) {
+        Shard shard = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child].after(heap[child + 1])) {
+                child++;
+            }
+            if (!shard.after(heap[child])) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = shard;
+    }
+
+    private static boolean allEmpty(Shard[] shards) {
+        for (Shard shard : shards) {
+            if (!shard.isEmpty() || shard.inFlight != IDLE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drops the shards of threads that have ended once everything they logged has been written.
+     */
+    private void retireFinishedShards(Shard[] shards) {
+        for (Shard shard : shards) {
+            if (!shard.owner.isAlive() && shard.isEmpty()) {
+                lock.lock();
+                try {
+                    registered = Arrays.stream(registered).filter(s -> s != shard).toArray(Shard[]::new);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private int await(int idle) {
+        if (!running) {
+            Thread.onSpinWait();
+        } else if (idle < 100) {
+            Thread.onSpinWait();
+        } else if (idle < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(Math.min(1_000_000L, 1_000L << Math.min(idle - 200, 10)));
+        }
+        return idle + 1;
+    }
+
+    /**
+     * Single-producer, single-consumer ring of one thread's events, in the order they were logged.
+     */
+    static final class Shard {
+        private final int id;
+        private final Thread owner;
+        private final int mask;
+        private final long[] timestamps;
+        private final LogLevel[] levels;
+        private final String[] messages;
+        private final Object[][] arguments;
+        private final AtomicLong published = new AtomicLong();
+        private final AtomicLong consumed = new AtomicLong();
+        /**
+         * A lower bound for the timestamp of the event being published, or {@link #IDLE}.
+         */
+        private volatile long inFlight = IDLE;
+        /**
+         * Merger-side view of {@link #published}, read once per drain.
+         */
+        private long drainLimit;
+        private long drainPosition;
+
+        Shard(int id, Thread owner, int capacity) {
+            this.id = id;
+            this.owner = owner;
+            this.mask = capacity - 1;
+            this.timestamps = new long[capacity];
+            this.levels = new LogLevel[capacity];
+            this.messages = new String[capacity];
+            this.arguments = new Object[capacity][];
+        }
+
+        boolean isFull() {
+            return published.getPlain() - consumed.get() > mask;
+        }
+
+        boolean isEmpty() {
+            return consumed.get() == published.get();
+        }
+
+        void publish(long timestamp, LogLevel level, String message, Object[] eventArguments) {
+            long sequence = published.getPlain();
+            int slot = (int) sequence & mask;
+            timestamps[slot] = timestamp;
+            levels[slot] = level;
+            messages[slot] = message;
+            arguments[slot] = eventArguments;
+            published.setRelease(sequence + 1);
+        }
+
+        /**
+         * @return whether the shard has events to drain
+         */
+        boolean startDrain() {
+            drainPosition = consumed.getPlain();
+            drainLimit = published.getAcquire();
+            return drainPosition < drainLimit;
+        }
+
+        boolean hasNext() {
+            return drainPosition < drainLimit;
+        }
+
+        long headTimestamp() {
+            return timestamps[(int) drainPosition & mask];
+        }
+
+        void writeHead(LogBatchWriter batch) {
+            int slot = (int) drainPosition & mask;
+            batch.add(levels[slot], timestamps[slot], messages[slot], arguments[slot]);
+            messages[slot] = null;
+            arguments[slot] = null;
+            drainPosition++;
+        }
+
+        /**
+         * Frees the slots of the events written since {@link #startDrain()}.
+         */
+        void endDrain() {
+            consumed.setRelease(drainPosition);
+        }
+
+        /**
+         * @return whether this shard's head event comes after the other shard's
+         */
+        boolean after(Shard other) {
+            long mine = headTimestamp();
+            long theirs = other.headTimestamp();
+            if (mine != theirs) {
+                return mine > theirs;
+            }
+            return id > other.id;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.appenders.LogAppender;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ids of the message templates already defined in one appender's binary stream.
+ * <p>
+ * The first time a template is used its definition record is written to the appender, and only
+ * then is its id made visible to other threads, so an event can never reach the stream ahead of
+ * the definition of its template.
+ * </p>
+ * <p>
+ * Definitions are written once per appender, not once per file: a {@code MappedFileAppender}'s
+ * segments only decode together, in order.
+ * </p>
+ * <p>
+ * Appenders are held weakly and a dictionary never refers to its appender, so an appender that
+ * has been closed and dropped is not kept alive, together with its templates, by this class.
+ * The weak map is synchronized, so {@link LoggerDispatchTable} looks each appender's dictionary
+ * up once, when it is compiled, and logging calls go straight to {@link #define}.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+final class TemplateDictionary {
+    private static final Map<LogAppender, TemplateDictionary> DICTIONARIES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private int nextId = BinaryLogEncoder.PLAIN_MESSAGE_TEMPLATE_ID + 1;
+
+    private TemplateDictionary() {
+    }
+
+    /**
+     * @return the dictionary of the appender's stream, shared by every table that writes to it
+     */
+    static TemplateDictionary of(LogAppender appender) {
+        return DICTIONARIES.computeIfAbsent(appender, key -> new TemplateDictionary());
+    }
+
+    /**
+     * @return the id of the template in the appender's stream, defining it there first if it is new
+     */
+    static int idOf(LogAppender appender, String template) {
+        return of(appender).define(appender, template);
+    }
+
+    /**
+     * @param appender the appender this dictionary was looked up for with {@link #of(LogAppender)}
+     * @return the id of the template in the appender's stream, defining it there first if it is new
+     */
+    int define(LogAppender appender, String template) {
+        Integer id = ids.get(template);
+        if (id != null) {
+            return id;
+        }
+        lock.lock();
+        try {
+            id = ids.get(template);
+            if (id == null) {
+                id = nextId++;
+                BinaryLogEncoder definition = new BinaryLogEncoder();
+                definition.putTemplate(id, template);
+                appender.append(definition.encode());
+                ids.put(template, id);
+            }
+            return id;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
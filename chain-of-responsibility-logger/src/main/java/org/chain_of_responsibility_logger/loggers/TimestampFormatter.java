@@ -0,0 +1,128 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * Renders epoch millis as local {@code yyyy-MM-ddTHH:mm:ss.SSS} into a {@code char[]} without allocating.
+ * <p>
+ * The last rendered text is kept and only the fields that changed are rewritten: the
+ * milliseconds on every call, the time of day when the second changes and the date when the
+ * day changes. The zone offset is looked up once and reused until the next offset transition
+ * (e.g. daylight saving), so steady-state formatting is a few divisions and char stores.
+ * </p>
+ * <p>
+ * Not thread-safe; give each thread its own instance.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @since 1.1
+ */
+final class TimestampFormatter {
+    /**
+     * Length of a rendered timestamp, e.g. {@code 2024-05-01T13:45:07.042}.
+     */
+    static final int LENGTH = 23;
+
+    private final ZoneRules rules;
+    private final char[] text = "0000-00-00T00:00:00.000".toCharArray();
+    private long renderedSecond = Long.MIN_VALUE;
+    private long renderedDay = Long.MIN_VALUE;
+    private long offsetValidFrom = Long.MAX_VALUE;
+    private long offsetValidUntil = Long.MIN_VALUE;
+    private int offsetSeconds;
+
+    TimestampFormatter() {
+        this(ZoneId.systemDefault());
+    }
+
+    TimestampFormatter(ZoneId zone) {
+        this.rules = zone.getRules();
+    }
+
+    /**
+     * Writes the timestamp into {@code out} at {@code offset}.
+     *
+     * @return the index just past the written timestamp
+     */
+    int format(long epochMillis, char[] out, int offset) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        if (epochSecond != renderedSecond) {
+            renderSecond(epochSecond);
+        }
+        int millis = Math.floorMod(epochMillis, 1000);
+        text[20] = (char) ('0' + millis / 100);
+        text[21] = (char) ('0' + millis / 10 % 10);
+        text[22] = (char) ('0' + millis % 10);
+        System.arraycopy(text, 0, out, offset, LENGTH);
+        return offset + LENGTH;
+    }
+
+    /**
+     * @return the timestamp, a space and the message, the text the loggers print after their label
+     */
+    String prepend(long epochMillis, String message) {
+        char[] line = new char[LENGTH + 1 + message.length()];
+        format(epochMillis, line, 0);
+        line[LENGTH] = ' ';
+        message.getChars(0, message.length(), line, LENGTH + 1);
+        return new String(line);
+    }
+
+    private void renderSecond(long epochSecond) {
+        if (epochSecond < offsetValidFrom || epochSecond >= offsetValidUntil) {
+            refreshOffset(epochSecond);
+        }
+        long localSecond = epochSecond + offsetSeconds;
+        long day = Math.floorDiv(localSecond, 86_400);
+        if (day != renderedDay) {
+            renderDate(day);
+            renderedDay = day;
+        }
+        int secondOfDay = Math.floorMod(localSecond, 86_400);
+        writeTwoDigits(11, secondOfDay / 3600);
+        writeTwoDigits(14, secondOfDay / 60 % 60);
+        writeTwoDigits(17, secondOfDay % 60);
+        renderedSecond = epochSecond;
+    }
+
+    private void refreshOffset(long epochSecond) {
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        offsetSeconds = rules.getOffset(instant).getTotalSeconds();
+        if (rules.isFixedOffset()) {
+            offsetValidFrom = Long.MIN_VALUE;
+            offsetValidUntil = Long.MAX_VALUE;
+            return;
+        }
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        offsetValidFrom = previous == null ? Long.MIN_VALUE : previous.toEpochSecond();
+        offsetValidUntil = next == null ? Long.MAX_VALUE : next.toEpochSecond();
+    }
+
+    /**
+     * Converts days since 1970-01-01 to a proleptic Gregorian year, month and day.
+     */
+    private void renderDate(long epochDay) {
+        long shifted = epochDay + 719_468;
+        long era = Math.floorDiv(shifted, 146_097);
+        long dayOfEra = shifted - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthFromMarch = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthFromMarch + 2) / 5 + 1);
+        int month = (int) (monthFromMarch < 10 ? monthFromMarch + 3 : monthFromMarch - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        writeTwoDigits(0, year / 100 % 100);
+        writeTwoDigits(2, year % 100);
+        writeTwoDigits(5, month);
+        writeTwoDigits(8, day);
+    }
+
+    private void writeTwoDigits(int at, int value) {
+        text[at] = (char) ('0' + value / 10);
+        text[at + 1] = (char) ('0' + value % 10);
+    }
+}
@@ -1,5 +1,6 @@
 package org.chain_of_responsibility_logger.loggers;
 
+import org.chain_of_responsibility_logger.appenders.LogAppender;
 import org.chain_of_responsibility_logger.constants.enums.LogLevel;
 
 public final class WarnLogger extends Logger {
@@ -7,12 +8,24 @@ public final class WarnLogger extends Logger {
         super(LogLevel.WARN, nextLogger);
     }
 
+    public WarnLogger(Logger nextLogger, LogAppender appender){
+        super(LogLevel.WARN, nextLogger, appender);
+    }
+
     @Override
     public void log(LogLevel logLevel, String message) {
         if(this.level == logLevel){
-            System.out.println("WARN : "+message);
+            appender.append("WARN : "+message);
         } else {
             super.log(logLevel, message);
         }
     }
+
+    @Override
+    protected String label(LogLevel logLevel) {
+        if(this.level == logLevel){
+            return "WARN : ";
+        }
+        return super.label(logLevel);
+    }
 }
@@ -0,0 +1,115 @@
+package org.chain_of_responsibility_logger.appenders;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Size- and time-based rollover of {@link MappedFileAppender} segments. Segments keep their
+ * preallocated size, so their content is read up to the first NUL byte.
+ */
+public class MappedFileAppenderTest {
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void segmentRollsWhenTheNextWriteDoesNotFit() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (MappedFileAppender appender = new MappedFileAppender(directory, "app", 32, NEVER)) {
+            appender.append(bytes("0123456789\n"));
+            appender.append(bytes("abcdefghij\n"));
+            appender.append(bytes("KLMNOPQRST\n"));
+        }
+
+        List<Path> segments = segments(directory);
+        assertEquals(List.of("app-000001.log", "app-000002.log"), names(segments));
+        assertEquals("0123456789\nabcdefghij\n", content(segments.get(0)));
+        assertEquals("KLMNOPQRST\n", content(segments.get(1)));
+        assertEquals(32, Files.size(segments.get(0)));
+    }
+
+    @Test
+    public void writeLargerThanASegmentGetsASegmentOfItsOwn() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        String large = "x".repeat(40) + "\n";
+        try (MappedFileAppender appender = new MappedFileAppender(directory, "app", 16, NEVER)) {
+            appender.append(bytes("small\n"));
+            appender.append(bytes(large));
+            appender.append(bytes("after\n"));
+        }
+
+        List<Path> segments = segments(directory);
+        assertEquals(3, segments.size());
+        assertEquals("small\n", content(segments.get(0)));
+        assertEquals(large, content(segments.get(1)));
+        assertEquals("after\n", content(segments.get(2)));
+    }
+
+    @Test
+    public void segmentRollsOnTheFirstWriteAfterTheInterval() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (MappedFileAppender appender = new MappedFileAppender(directory, "app", 1024, Duration.ofMillis(50))) {
+            appender.append(bytes("first\n"));
+            appender.append(bytes("second\n"));
+            Thread.sleep(100);
+            appender.append(bytes("third\n"));
+        }
+
+        List<Path> segments = segments(directory);
+        assertEquals(2, segments.size());
+        assertEquals("first\nsecond\n", content(segments.get(0)));
+        assertEquals("third\n", content(segments.get(1)));
+    }
+
+    @Test
+    public void reopenedAppenderContinuesTheSequence() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (MappedFileAppender appender = new MappedFileAppender(directory, "app", 64, NEVER)) {
+            appender.append(bytes("before restart\n"));
+        }
+        try (MappedFileAppender appender = new MappedFileAppender(directory, "app", 64, NEVER)) {
+            appender.append("after restart");
+        }
+
+        List<Path> segments = segments(directory);
+        assertEquals(List.of("app-000001.log", "app-000002.log"), names(segments));
+        assertEquals("before restart\n", content(segments.get(0)));
+        assertEquals("after restart" + System.lineSeparator(), content(segments.get(1)));
+    }
+
+    private static ByteBuffer bytes(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static List<String> names(List<Path> segments) {
+        return segments.stream().map(path -> path.getFileName().toString()).toList();
+    }
+
+    private static String content(Path segment) throws IOException {
+        byte[] bytes = Files.readAllBytes(segment);
+        int end = 0;
+        while (end < bytes.length && bytes[end] != 0) {
+            end++;
+        }
+        return new String(bytes, 0, end, StandardCharsets.UTF_8);
+    }
+}
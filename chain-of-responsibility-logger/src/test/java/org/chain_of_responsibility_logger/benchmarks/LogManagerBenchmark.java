@@ -0,0 +1,185 @@
+package org.chain_of_responsibility_logger.benchmarks;
+
+import org.chain_of_responsibility_logger.appenders.ConsoleAppender;
+import org.chain_of_responsibility_logger.appenders.LogAppender;
+import org.chain_of_responsibility_logger.appenders.MappedFileAppender;
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+import org.chain_of_responsibility_logger.constants.enums.OverflowPolicy;
+import org.chain_of_responsibility_logger.constants.enums.WaitStrategy;
+import org.chain_of_responsibility_logger.loggers.LogManager;
+import org.chain_of_responsibility_logger.loggers.LoggerChainFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link LogManager#log} throughput and latency per level, sink and back end.
+ * <p>
+ * Throughput mode gives messages per second across all threads; sample mode gives the latency
+ * distribution of single calls, including the p99/p99.9 tail. Run {@link LogManagerBenchmarkRunner}
+ * to sweep thread counts, or {@link #main(String[])} for one thread; both add
+ * {@code gc.alloc.rate.norm} (bytes allocated per call).
+ * </p>
+ * <p>
+ * Sinks: {@code STDOUT} is the {@link ConsoleAppender} with {@code System.out} pointed at the null
+ * device, so the {@code PrintStream} lock, encoding and {@code write} calls are all paid but the
+ * terminal is not flooded; {@code NULL} discards the bytes and measures the logger alone;
+ * {@code FILE} is a {@link MappedFileAppender} in a temporary directory, emptied after every
+ * iteration. In the asynchronous back ends a call only measures the hand-off, and under
+ * {@link OverflowPolicy#BLOCK} throughput is capped by the background thread.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogManagerBenchmark {
+
+    public enum Sink {STDOUT, NULL, FILE}
+
+    public enum Backend {SYNC, GARBAGE_FREE, BINARY, ASYNC, SHARDED}
+
+    @Param({"DEBUG", "INFO", "WARN", "ERROR"})
+    private LogLevel level;
+
+    @Param({"STDOUT", "NULL", "FILE"})
+    private Sink sink;
+
+    @Param({"SYNC", "GARBAGE_FREE", "BINARY", "ASYNC", "SHARDED"})
+    private Backend backend;
+
+    private LogManager logManager;
+    private PrintStream stdout;
+    private Path directory;
+    private MappedFileAppender fileAppender;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() throws IOException {
+        logManager = LogManager.getInstance();
+        stdout = System.out;
+        if (sink == Sink.STDOUT) {
+            System.setOut(new PrintStream(new FileOutputStream(nullDevice())));
+        }
+        if (sink == Sink.FILE) {
+            directory = Files.createTempDirectory("log-benchmark");
+        }
+    }
+
+    /**
+     * Rebuilds the sink and back end for every iteration, so a file sink never grows past what
+     * one iteration writes.
+     */
+    @Setup(Level.Iteration)
+    public void setUpIteration() throws IOException {
+        LogAppender appender = switch (sink) {
+            case STDOUT -> ConsoleAppender.getInstance();
+            case NULL -> new NullAppender();
+            case FILE -> fileAppender = new MappedFileAppender(directory, "benchmark");
+        };
+        logManager.disableAsync();
+        logManager.setLoggerChain(LoggerChainFactory.createLoggerChain(appender));
+        logManager.setMinimumLevel(LogLevel.DEBUG);
+        logManager.setGarbageFree(backend == Backend.GARBAGE_FREE);
+        logManager.setBinary(backend == Backend.BINARY);
+        if (backend == Backend.ASYNC) {
+            logManager.enableAsync(1 << 16, WaitStrategy.SLEEPING, OverflowPolicy.BLOCK);
+        } else if (backend == Backend.SHARDED) {
+            logManager.enableSharded(1 << 12, OverflowPolicy.BLOCK);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() throws IOException {
+        logManager.disableAsync();
+        if (fileAppender != null) {
+            fileAppender.close();
+            fileAppender = null;
+            deleteSegments();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+        logManager.setGarbageFree(false);
+        logManager.setBinary(false);
+        logManager.setLoggerChain(LoggerChainFactory.createLoggerChain());
+        System.setOut(stdout);
+        if (directory != null) {
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Benchmark
+    public void logMessage() {
+        logManager.log(level, "Spot 4711 booked by KA01AB1234 at gate 3");
+    }
+
+    @Benchmark
+    public void logPattern() {
+        logManager.log(level, "Spot {} booked by {} at gate {}", 4711, "KA01AB1234", 3);
+    }
+
+    private void deleteSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static File nullDevice() throws FileNotFoundException {
+        File device = new File(File.separatorChar == '\\' ? "NUL" : "/dev/null");
+        if (!device.exists() && File.separatorChar != '\\') {
+            throw new FileNotFoundException(device.getPath());
+        }
+        return device;
+    }
+
+    /**
+     * Discards everything, so only the logger's own work is measured.
+     */
+    static final class NullAppender implements LogAppender {
+        @Override
+        public void append(String line) {
+        }
+
+        @Override
+        public void append(ByteBuffer lines) {
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LogManagerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,52 @@
+package org.chain_of_responsibility_logger.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs {@link LogManagerBenchmark} once per thread count, with the GC profiler for
+ * {@code gc.alloc.rate.norm}, and writes one JSON result file per count to {@code target/jmh/}
+ * for comparing logger changes and catching regressions.
+ * <p>
+ * Usage: {@code mvn -Pbenchmarks test-compile exec:exec [-Dbenchmark.threads=1,8] [-Dbenchmark.include=logPattern]
+ * [-Dbenchmark.params=sink=FILE;backend=ASYNC,SHARDED]}.
+ * Thread counts 1 to 64 are swept in powers of two. Without parameters every level, sink and back
+ * end is run, which takes hours; the profile defaults to {@code level=INFO}, since the level only
+ * changes which logger is picked.
+ * </p>
+ */
+public class LogManagerBenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String threads = args.length > 0 ? args[0] : "1,2,4,8,16,32,64";
+        String include = args.length > 1 ? args[1] : LogManagerBenchmark.class.getSimpleName();
+        String params = args.length > 2 ? args[2] : "";
+        new File("target/jmh").mkdirs();
+        for (String count : threads.split(",")) {
+            int threadCount = Integer.parseInt(count.trim());
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threadCount)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("target/jmh/logger-threads-" + threadCount + ".json");
+            for (String param : params.split(";")) {
+                if (param.isBlank()) {
+                    continue;
+                }
+                String[] nameAndValues = param.split("=", 2);
+                if (nameAndValues.length != 2) {
+                    throw new IllegalArgumentException("Expected name=value[,value...] but got " + param);
+                }
+                options.param(nameAndValues[0].trim(), nameAndValues[1].trim().split(","));
+            }
+            new Runner(options.build()).run();
+        }
+    }
+}
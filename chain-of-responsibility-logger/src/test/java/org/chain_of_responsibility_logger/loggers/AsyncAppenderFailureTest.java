@@ -0,0 +1,76 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.appenders.LogAppender;
+import org.chain_of_responsibility_logger.constants.enums.OverflowPolicy;
+import org.chain_of_responsibility_logger.constants.enums.WaitStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * An appender that throws must not stop the background logging thread, or producers waiting on
+ * a full buffer under {@link OverflowPolicy#BLOCK} would never return.
+ */
+public class AsyncAppenderFailureTest {
+    private static final int BUFFER_SIZE = 64;
+    private static final int MESSAGES = BUFFER_SIZE * 50;
+
+    private final LogManager logManager = LogManager.getInstance();
+    private final AtomicInteger writes = new AtomicInteger();
+    private PrintStream stderr;
+
+    @Before
+    public void setUp() {
+        stderr = System.err;
+        System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+        logManager.setLoggerChain(LoggerChainFactory.createLoggerChain(new FailingAppender()));
+    }
+
+    @After
+    public void tearDown() {
+        logManager.disableAsync();
+        logManager.setLoggerChain(LoggerChainFactory.createLoggerChain());
+        System.setErr(stderr);
+    }
+
+    @Test(timeout = 30_000)
+    public void ringBufferBackEndKeepsDrainingAfterAppenderFailures() {
+        logManager.enableAsync(BUFFER_SIZE, WaitStrategy.BLOCKING, OverflowPolicy.BLOCK);
+        logEverything();
+    }
+
+    @Test(timeout = 30_000)
+    public void shardedBackEndKeepsDrainingAfterAppenderFailures() {
+        logManager.enableSharded(BUFFER_SIZE, OverflowPolicy.BLOCK);
+        logEverything();
+    }
+
+    private void logEverything() {
+        for (int i = 0; i < MESSAGES; i++) {
+            logManager.info("message {}", i);
+        }
+        logManager.disableAsync();
+        assertTrue("only " + writes.get() + " batch writes were attempted", writes.get() > 1);
+    }
+
+    private final class FailingAppender implements LogAppender {
+        @Override
+        public void append(String line) {
+            writes.incrementAndGet();
+            throw new IllegalStateException("Appender is closed");
+        }
+
+        @Override
+        public void append(ByteBuffer lines) {
+            writes.incrementAndGet();
+            throw new IllegalStateException("Appender is closed");
+        }
+    }
+}
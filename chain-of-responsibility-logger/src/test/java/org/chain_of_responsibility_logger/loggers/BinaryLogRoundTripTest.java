@@ -0,0 +1,122 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.appenders.LogAppender;
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Records written by {@link BinaryLogEncoder} and {@link TemplateDictionary} decode with
+ * {@link BinaryLogDecoder} to the messages that were logged.
+ */
+public class BinaryLogRoundTripTest {
+
+    @Test
+    public void argumentsSurviveEncodingAndDecoding() throws IOException {
+        CapturingAppender appender = new CapturingAppender();
+        String pair = "parked 🚗 at 𝄞";
+        int templateId = TemplateDictionary.idOf(appender, "{} {} {} {} {}");
+        BinaryLogEncoder encoder = new BinaryLogEncoder();
+        encoder.putEvent(LogLevel.INFO, 1_000_000L, templateId,
+                new Object[]{Long.MIN_VALUE, -1, pair, null, 'x'});
+        encoder.putEvent(LogLevel.ERROR, 2_000_000L, templateId,
+                new Object[]{-42L, Long.MAX_VALUE, true, 2.5d, -0.5f});
+        encoder.putPlainEvent(LogLevel.WARN, 3_000_000L, "plain " + pair);
+        appender.append(encoder.encode());
+
+        String[] lines = decode(appender).split(System.lineSeparator());
+
+        assertEquals(3, lines.length);
+        assertTrue(lines[0], lines[0].endsWith(" " + Long.MIN_VALUE + " -1 " + pair + " null x"));
+        assertTrue(lines[1], lines[1].endsWith(" -42 " + Long.MAX_VALUE + " true 2.5 -0.5"));
+        assertTrue(lines[2], lines[2].endsWith(" plain " + pair));
+    }
+
+    @Test
+    public void templatesAreDefinedOncePerAppender() throws IOException {
+        CapturingAppender appender = new CapturingAppender();
+        int first = TemplateDictionary.idOf(appender, "spot {}");
+        int again = TemplateDictionary.idOf(appender, "spot {}");
+        int other = TemplateDictionary.idOf(new CapturingAppender(), "spot {}");
+        BinaryLogEncoder encoder = new BinaryLogEncoder();
+        encoder.putEvent(LogLevel.DEBUG, 0L, again, new Object[]{7});
+        appender.append(encoder.encode());
+
+        assertEquals(first, again);
+        assertEquals(first, other);
+        assertTrue(decode(appender).trim().endsWith(" spot 7"));
+    }
+
+    @Test
+    public void tablesOverOneAppenderShareItsDictionary() throws IOException {
+        CapturingAppender appender = new CapturingAppender();
+        LoggerDispatchTable first = LoggerDispatchTable.compile(LoggerChainFactory.createLoggerChain(appender));
+        LoggerDispatchTable recompiled = LoggerDispatchTable.compile(LoggerChainFactory.createLoggerChain(appender));
+
+        int id = first.templateId(LogLevel.INFO, "gate {}");
+        assertEquals(id, recompiled.templateId(LogLevel.ERROR, "gate {}"));
+        assertEquals(id, TemplateDictionary.idOf(appender, "gate {}"));
+        BinaryLogEncoder encoder = new BinaryLogEncoder();
+        encoder.putEvent(LogLevel.INFO, 0L, id, new Object[]{3});
+        appender.append(encoder.encode());
+
+        String[] lines = decode(appender).split(System.lineSeparator());
+        assertEquals(1, lines.length);
+        assertTrue(lines[0], lines[0].endsWith(" gate 3"));
+    }
+
+    @Test
+    public void droppedAppendersAreReleased() throws InterruptedException {
+        CapturingAppender appender = new CapturingAppender();
+        TemplateDictionary.idOf(appender, "released {}");
+        WeakReference<LogAppender> reference = new WeakReference<>(appender);
+        appender = null;
+
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+
+    private static String decode(CapturingAppender appender) throws IOException {
+        Path file = Files.createTempFile("binary-log", ".log");
+        try {
+            Files.write(file, appender.bytes.toByteArray());
+            StringWriter out = new StringWriter();
+            new BinaryLogDecoder(ZoneOffset.UTC).decode(file, out);
+            return out.toString();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static final class CapturingAppender implements LogAppender {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        @Override
+        public void append(String line) {
+            throw new UnsupportedOperationException(line);
+        }
+
+        @Override
+        public void append(ByteBuffer lines) {
+            ByteBuffer copy = lines.duplicate();
+            byte[] chunk = new byte[copy.remaining()];
+            copy.get(chunk);
+            bytes.writeBytes(chunk);
+        }
+    }
+}
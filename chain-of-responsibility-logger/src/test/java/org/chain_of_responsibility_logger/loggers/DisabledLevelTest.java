@@ -0,0 +1,120 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.appenders.LogAppender;
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A level below {@link LogManager#setMinimumLevel(LogLevel)} must cost nothing: no supplier is
+ * called and no argument is formatted.
+ */
+public class DisabledLevelTest {
+    private final LogManager logManager = LogManager.getInstance();
+    private final CapturingAppender appender = new CapturingAppender();
+    private LogLevel minimumLevel;
+
+    @Before
+    public void setUp() {
+        minimumLevel = logManager.getMinimumLevel();
+        logManager.setLoggerChain(LoggerChainFactory.createLoggerChain(appender));
+        logManager.setMinimumLevel(LogLevel.WARN);
+    }
+
+    @After
+    public void tearDown() {
+        logManager.setMinimumLevel(minimumLevel);
+        logManager.setLoggerChain(LoggerChainFactory.createLoggerChain());
+    }
+
+    @Test
+    public void disabledLevelsNeverCallTheSupplier() {
+        CountingSupplier message = new CountingSupplier();
+
+        logManager.log(LogLevel.DEBUG, message);
+        logManager.log(LogLevel.INFO, message);
+        logManager.debug(message);
+        logManager.info(message);
+
+        assertFalse(logManager.isEnabled(LogLevel.INFO));
+        assertEquals(0, message.calls);
+        assertEquals(List.of(), appender.lines);
+
+        logManager.log(LogLevel.WARN, message);
+        assertEquals(1, message.calls);
+        assertEquals(1, appender.lines.size());
+    }
+
+    @Test
+    public void disabledLevelsNeverFormatTheirArguments() {
+        CountingArgument argument = new CountingArgument();
+
+        logManager.log(LogLevel.INFO, "spot {}", argument);
+        logManager.log(LogLevel.DEBUG, "spots {} {} {}", argument, argument, argument);
+        logManager.info("spot {}", argument);
+        logManager.info("spots {} {}", argument, argument);
+        logManager.debug("spots {} {} {}", argument, argument, argument);
+
+        assertEquals(0, argument.formatted);
+        assertEquals(List.of(), appender.lines);
+
+        logManager.log(LogLevel.ERROR, "spot {}", argument);
+        assertEquals(1, argument.formatted);
+        assertTrue(appender.lines.get(0), appender.lines.get(0).endsWith("spot counted"));
+    }
+
+    @Test
+    public void loweringTheMinimumLevelEnablesItAgain() {
+        CountingSupplier message = new CountingSupplier();
+        logManager.info(message);
+        logManager.setMinimumLevel(LogLevel.DEBUG);
+        logManager.info(message);
+
+        assertEquals(1, message.calls);
+        assertEquals(1, appender.lines.size());
+    }
+
+    private static final class CountingSupplier implements Supplier<String> {
+        private int calls;
+
+        @Override
+        public String get() {
+            calls++;
+            return "supplied";
+        }
+    }
+
+    private static final class CountingArgument {
+        private int formatted;
+
+        @Override
+        public String toString() {
+            formatted++;
+            return "counted";
+        }
+    }
+
+    private static final class CapturingAppender implements LogAppender {
+        private final List<String> lines = new ArrayList<>();
+
+        @Override
+        public void append(String line) {
+            lines.add(line);
+        }
+
+        @Override
+        public void append(ByteBuffer lines) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
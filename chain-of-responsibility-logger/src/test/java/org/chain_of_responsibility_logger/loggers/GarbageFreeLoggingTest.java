@@ -0,0 +1,95 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Allocation profile of the garbage-free logging path, measured with the per-thread allocation
+ * counter of {@link com.sun.management.ThreadMXBean}.
+ */
+public class GarbageFreeLoggingTest {
+    private static final int WARM_UP_CALLS = 200_000;
+    private static final int MEASURED_CALLS = 100_000;
+
+    private final LogManager logManager = LogManager.getInstance();
+    private PrintStream stdout;
+
+    @Before
+    public void setUp() {
+        stdout = System.out;
+        logManager.setGarbageFree(true);
+    }
+
+    @After
+    public void tearDown() {
+        logManager.setGarbageFree(false);
+        System.setOut(stdout);
+    }
+
+    @Test
+    public void steadyStateLoggingAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        String message = "Vehicle KA01AB1234 parked at spot 42";
+        LogLevel[] levels = LogLevel.values();
+
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            logManager.info(message);
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            logManager.log(levels[i & 3], message);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // a few hundred bytes of slack for the allocation counter itself and a rare offset refresh
+        assertTrue("Allocated " + allocated + " bytes over " + MEASURED_CALLS + " calls", allocated < 1024);
+    }
+
+    @Test
+    public void writesTheSameLineLayoutAsTheLoggers() {
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+
+        logManager.error("Sorry No Parking Space Available ₹");
+
+        String line = captured.toString(StandardCharsets.UTF_8);
+        assertTrue(line, line.startsWith("Error log : "));
+        assertTrue(line, line.endsWith(" Sorry No Parking Space Available ₹" + System.lineSeparator()));
+        String timestamp = line.substring("Error log : ".length(), "Error log : ".length() + TimestampFormatter.LENGTH);
+        LocalDateTime logged = LocalDateTime.parse(timestamp, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        assertTrue(timestamp, Math.abs(java.time.Duration.between(logged, LocalDateTime.now()).toSeconds()) < 5);
+    }
+
+    @Test
+    public void timestampsMatchJavaTime() {
+        TimestampFormatter formatter = new TimestampFormatter(ZoneId.of("Europe/Berlin"));
+        DateTimeFormatter expected = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS").withZone(ZoneId.of("Europe/Berlin"));
+        char[] out = new char[TimestampFormatter.LENGTH];
+        // steps of ~37 hours and 1.5 s cross days, months, leap years and daylight saving transitions
+        for (long millis = 946_684_800_000L; millis < 4_102_444_800_000L; millis += 133_201_517L) {
+            formatter.format(millis, out, 0);
+            assertEquals(expected.format(java.time.Instant.ofEpochMilli(millis)), new String(out));
+            formatter.format(millis + 1_500, out, 0);
+            assertEquals(expected.format(java.time.Instant.ofEpochMilli(millis + 1_500)), new String(out));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.appenders.LogAppender;
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Decisions of {@link RateLimitingLogger} and {@link SamplingLogger}, and the suppression summary
+ * every {@link LogFilter} writes once per interval.
+ */
+public class LogFilterTest {
+    private static final Duration SUMMARY_INTERVAL = Duration.ofMillis(200);
+
+    @Test
+    public void rateLimiterAdmitsTheBurstAtOnce() {
+        RateLimitingLogger limiter = new RateLimitingLogger(null, 1, 5, LogLevel.INFO);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue("message " + i + " of the burst", limiter.admit(LogLevel.INFO));
+        }
+        assertFalse(limiter.admit(LogLevel.INFO));
+        assertFalse(limiter.admit(LogLevel.INFO));
+        assertTrue("levels have separate buckets", limiter.admit(LogLevel.ERROR));
+    }
+
+    @Test
+    public void rateLimiterSettlesAtTheSustainedRate() {
+        int permitsPerSecond = 50;
+        int burst = 5;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        long before = System.nanoTime();
+        RateLimitingLogger limiter = new RateLimitingLogger(null, permitsPerSecond, burst, LogLevel.INFO);
+        long created = System.nanoTime();
+
+        int admitted = 0;
+        long deadline = created + TimeUnit.MILLISECONDS.toNanos(500);
+        while (System.nanoTime() - deadline < 0) {
+            if (limiter.admit(LogLevel.INFO)) {
+                admitted++;
+            }
+        }
+        long after = System.nanoTime();
+
+        // a token is paid back every interval after the burst is spent
+        long fewest = burst + (deadline - created) / intervalNanos - 1;
+        long most = burst + (after - before) / intervalNanos + 1;
+        assertTrue(admitted + " admitted, expected at least " + fewest, admitted >= fewest);
+        assertTrue(admitted + " admitted, expected at most " + most, admitted <= most);
+    }
+
+    @Test
+    public void samplingAtOneKeepsEverythingAndAtZeroNothing() {
+        SamplingLogger all = new SamplingLogger(null, 1);
+        SamplingLogger none = new SamplingLogger(null, 0);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(all.admit(LogLevel.DEBUG));
+            assertFalse(none.admit(LogLevel.DEBUG));
+        }
+    }
+
+    @Test
+    public void suppressedCountIsSummarizedOncePerInterval() throws InterruptedException {
+        CapturingAppender appender = new CapturingAppender();
+        Logger chain = new SamplingLogger(LoggerChainFactory.createLoggerChain(appender), 0, SUMMARY_INTERVAL, LogLevel.INFO);
+
+        for (int i = 0; i < 10; i++) {
+            chain.log(LogLevel.INFO, "dropped");
+        }
+        assertEquals(List.of(), appender.lines);
+
+        Thread.sleep(SUMMARY_INTERVAL.toMillis() + 50);
+        for (int i = 0; i < 3; i++) {
+            chain.log(LogLevel.INFO, "dropped");
+        }
+        chain.log(LogLevel.WARN, "not sampled");
+        assertEquals(2, appender.lines.size());
+        assertTrue(appender.lines.get(0), appender.lines.get(0).endsWith("10 INFO messages suppressed by sampling at 0.0"));
+        assertTrue(appender.lines.get(1), appender.lines.get(1).endsWith("not sampled"));
+
+        Thread.sleep(SUMMARY_INTERVAL.toMillis() + 50);
+        chain.log(LogLevel.INFO, "dropped");
+        assertEquals(3, appender.lines.size());
+        assertTrue(appender.lines.get(2), appender.lines.get(2).endsWith("3 INFO messages suppressed by sampling at 0.0"));
+    }
+
+    @Test
+    public void noSummaryWhenNothingWasSuppressed() throws InterruptedException {
+        CapturingAppender appender = new CapturingAppender();
+        Logger chain = new RateLimitingLogger(LoggerChainFactory.createLoggerChain(appender), 1000, 10, SUMMARY_INTERVAL);
+
+        chain.log(LogLevel.ERROR, "kept");
+        Thread.sleep(SUMMARY_INTERVAL.toMillis() + 50);
+        chain.log(LogLevel.ERROR, "kept");
+
+        assertEquals(2, appender.lines.size());
+        assertTrue(appender.lines.stream().allMatch(line -> line.endsWith("kept")));
+    }
+
+    private static final class CapturingAppender implements LogAppender {
+        private final List<String> lines = new ArrayList<>();
+
+        @Override
+        public void append(String line) {
+            lines.add(line);
+        }
+
+        @Override
+        public void append(ByteBuffer lines) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
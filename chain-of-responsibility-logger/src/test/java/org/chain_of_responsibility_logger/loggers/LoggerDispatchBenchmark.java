@@ -0,0 +1,86 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Walking the {@link LoggerChainFactory} chain against the compiled {@link LoggerDispatchTable}.
+ * <p>
+ * {@code *Resolve} benchmarks only find the logger for a level, which is the part the table
+ * replaces; {@code *Log} benchmarks include printing, with {@code System.out} sent to a null stream.
+ * The chain is Info -> Debug -> Warn -> Error, so ERROR is the worst case for the walk.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerDispatchBenchmark {
+
+    @Param({"INFO", "DEBUG", "WARN", "ERROR"})
+    private LogLevel level;
+
+    private Logger chain;
+    private LoggerDispatchTable table;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        chain = LoggerChainFactory.createLoggerChain();
+        table = LoggerDispatchTable.compile(chain);
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public String chainWalkResolve() {
+        return chain.label(level);
+    }
+
+    @Benchmark
+    public String dispatchTableResolve() {
+        return table.label(level);
+    }
+
+    @Benchmark
+    public void chainWalkLog() {
+        chain.log(level, "benchmark message");
+    }
+
+    @Benchmark
+    public void dispatchTableLog() {
+        table.log(level, "benchmark message");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoggerDispatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,38 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Placeholder handling of {@link MessageFormatter}.
+ */
+public class MessageFormatterTest {
+
+    @Test
+    public void placeholdersAreFilledInOrder() {
+        assertEquals("x=1 y=two z=null", MessageFormatter.format("x={} y={} z={}", 1, "two", null));
+        assertEquals("{}", MessageFormatter.format("{}", "{}"));
+    }
+
+    @Test
+    public void escapedPlaceholderIsWrittenLiterallyWithoutUsingAnArgument() {
+        assertEquals("literal {} then 1", MessageFormatter.format("literal \\{} then {}", 1));
+        assertEquals("{}{}", MessageFormatter.format("\\{}{}", "{}"));
+    }
+
+    @Test
+    public void placeholdersWithoutAnArgumentAreLeftAsTheyAre() {
+        assertEquals("1 and {}", MessageFormatter.format("{} and {}", 1));
+        String pattern = "nothing to fill {}";
+        assertSame(pattern, MessageFormatter.format(pattern));
+        assertSame(pattern, MessageFormatter.format(pattern, (Object[]) null));
+    }
+
+    @Test
+    public void extraArgumentsAreIgnored() {
+        assertEquals("only 1", MessageFormatter.format("only {}", 1, 2, 3));
+        assertEquals("no placeholders", MessageFormatter.format("no placeholders", 1));
+    }
+}
@@ -0,0 +1,131 @@
+package org.chain_of_responsibility_logger.loggers;
+
+import org.chain_of_responsibility_logger.appenders.LogAppender;
+import org.chain_of_responsibility_logger.constants.enums.LogLevel;
+import org.chain_of_responsibility_logger.constants.enums.OverflowPolicy;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Several threads log through one {@link ShardedLogDispatcher}; the merged output is decoded from
+ * binary records, which keep each event's nanosecond timestamp.
+ */
+public class ShardedLogDispatcherTest {
+    private static final int THREADS = 4;
+    private static final int EVENTS_PER_THREAD = 20_000;
+    private static final int SHARD_SIZE = 1024;
+
+    @Test(timeout = 60_000)
+    public void eventsAreMergedInTimestampOrderAndShardsRetireWhenTheirThreadsEnd() throws Exception {
+        CapturingAppender appender = new CapturingAppender();
+        ShardedLogDispatcher dispatcher = newDispatcher(appender);
+
+        logFromThreads(dispatcher);
+        while (dispatcher.registeredShards() > 0) {
+            Thread.sleep(1);
+        }
+        dispatcher.shutdown();
+
+        assertMergedInOrder(decode(appender));
+        assertEquals(0, dispatcher.getDroppedCount());
+    }
+
+    @Test(timeout = 60_000)
+    public void shutdownWritesEveryEventAlreadyPublished() throws Exception {
+        CapturingAppender appender = new CapturingAppender();
+        ShardedLogDispatcher dispatcher = newDispatcher(appender);
+
+        logFromThreads(dispatcher);
+        dispatcher.shutdown();
+
+        assertMergedInOrder(decode(appender));
+        assertEquals(0, dispatcher.getDroppedCount());
+    }
+
+    private static ShardedLogDispatcher newDispatcher(LogAppender appender) {
+        LoggerDispatchTable table = LoggerDispatchTable.compile(LoggerChainFactory.createLoggerChain(appender));
+        return new ShardedLogDispatcher(table, true, SHARD_SIZE, OverflowPolicy.BLOCK);
+    }
+
+    private static void logFromThreads(ShardedLogDispatcher dispatcher) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long thread = t;
+            threads.add(new Thread(() -> {
+                for (long i = 0; i < EVENTS_PER_THREAD; i++) {
+                    assertTrue(dispatcher.publish(LogLevel.INFO, "event {} {}", new Object[]{thread, i}));
+                }
+            }, "producer-" + t));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Checks that every event was written once, timestamps never go backwards and each thread's
+     * events appear in the order it logged them.
+     */
+    private static void assertMergedInOrder(String[] lines) {
+        assertEquals(THREADS * EVENTS_PER_THREAD, lines.length);
+        long[] nextByThread = new long[THREADS];
+        LocalDateTime previous = LocalDateTime.MIN;
+        for (String line : lines) {
+            String[] fields = line.split(" ");
+            int n = fields.length;
+            assertEquals(line, "event", fields[n - 3]);
+            LocalDateTime time = LocalDateTime.parse(fields[n - 4]);
+            assertFalse(line + " written after " + previous, time.isBefore(previous));
+            previous = time;
+            int thread = Integer.parseInt(fields[n - 2]);
+            assertEquals(line, nextByThread[thread]++, Long.parseLong(fields[n - 1]));
+        }
+        for (long next : nextByThread) {
+            assertEquals(EVENTS_PER_THREAD, next);
+        }
+    }
+
+    private static String[] decode(CapturingAppender appender) throws IOException {
+        Path file = Files.createTempFile("sharded-log", ".log");
+        try {
+            Files.write(file, appender.bytes.toByteArray());
+            StringWriter out = new StringWriter();
+            new BinaryLogDecoder(ZoneOffset.UTC).decode(file, out);
+            return out.toString().split(System.lineSeparator());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static final class CapturingAppender implements LogAppender {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        @Override
+        public void append(String line) {
+            throw new UnsupportedOperationException(line);
+        }
+
+        @Override
+        public void append(ByteBuffer lines) {
+            ByteBuffer copy = lines.duplicate();
+            byte[] chunk = new byte[copy.remaining()];
+            copy.get(chunk);
+            bytes.writeBytes(chunk);
+        }
+    }
+}
@@ -3,17 +3,34 @@ package org.parking_lot.Costing;
 import org.parking_lot.enums.PriceComputationType;
 import org.parking_lot.enums.VehicleType;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
 public class CostComputationFactory {
 
     private static final CostComputationFactory INSTANCE = new CostComputationFactory();
 
-    private CostComputationFactory() {}
+    // cost services are immutable, so they are built once per vehicle type instead of on every exit
+    private final Map<VehicleType, CostService> services;
+
+    private CostComputationFactory() {
+        Map<VehicleType, CostService> map = new EnumMap<>(VehicleType.class);
+        for (VehicleType type : VehicleType.values()) {
+            map.put(type, create(type));
+        }
+        services = Collections.unmodifiableMap(map);
+    }
 
     public static CostComputationFactory getInstance() {
         return INSTANCE;
     }
 
     public CostService getCostComputation(VehicleType type) {
+        return services.get(type);
+    }
+
+    private static CostService create(VehicleType type) {
         return switch (type) {
             case TWO_WHEELER -> new TwoWheelerCostServiceImpl(PriceComputationType.MINUTE);
             case FOUR_WHEELER -> new FourWheelerCostServiceImpl(PriceComputationType.HOURLY);
@@ -4,19 +4,20 @@ import org.parking_lot.PriceComputation.PriceComputationFactory;
 import org.parking_lot.PriceComputation.PriceComputationService;
 import org.parking_lot.enums.PriceComputationType;
 
-import java.time.LocalDateTime;
-
 public class TwoWheelerCostServiceImpl implements CostService {
-    private final PriceComputationFactory costComputationFactory = PriceComputationFactory.getInstance();
-    private final PriceComputationType priceComputationType;
+    private final PriceComputationService priceComputationService;
 
     TwoWheelerCostServiceImpl(PriceComputationType priceComputationType){
-        this.priceComputationType = priceComputationType;
+        this.priceComputationService = PriceComputationFactory.getInstance().getPriceComputation(priceComputationType);
+    }
+
+    @Override
+    public double calculate(long entryTimeMillis, long exitTimeMillis){
+        return priceComputationService.calculate(entryTimeMillis, exitTimeMillis);
     }
 
     @Override
-    public double calculate(LocalDateTime enter, LocalDateTime exit){
-        PriceComputationService priceComputationService = costComputationFactory.getPriceComputation(priceComputationType);
-        return priceComputationService.calculate(enter, exit);
+    public void calculateAll(long[] entryTimeMillis, long exitTimeMillis, double[] prices, int count){
+        priceComputationService.calculateAll(entryTimeMillis, exitTimeMillis, prices, count);
     }
 }
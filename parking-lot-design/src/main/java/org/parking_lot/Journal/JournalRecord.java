@@ -0,0 +1,183 @@
+package org.parking_lot.Journal;
+
+import org.parking_lot.Models.Ticket;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpots.ParkingSpot;
+import org.parking_lot.enums.VehicleType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * A single journal event in its compact binary form.
+ * <p>
+ * Layout (big-endian): {@code type:1 | timestampMillis:8 | spotId:16 | vehicleType:1}, followed
+ * for ENTRY and EXIT by {@code ticketId:16}, for ENTRY by
+ * {@code vehicleNumberLength:2 | vehicleNumber:UTF-8} and for ADD_SPOT by {@code floor:4 | slot:4}.
+ * Ids are UUIDs stored as two longs.
+ * </p>
+ */
+public final class JournalRecord {
+    static final int MAX_VEHICLE_NUMBER_BYTES = 0xFFFF;
+
+    private final JournalRecordType type;
+    private final long timestampMillis;
+    private final String spotId;
+    private final VehicleType vehicleType;
+    private final String ticketId;
+    private final String vehicleNumber;
+    private final int floor;
+    private final int slot;
+
+    private JournalRecord(JournalRecordType type, long timestampMillis, String spotId, VehicleType vehicleType,
+                          String ticketId, String vehicleNumber) {
+        this(type, timestampMillis, spotId, vehicleType, ticketId, vehicleNumber, 0, 0);
+    }
+
+    private JournalRecord(JournalRecordType type, long timestampMillis, String spotId, VehicleType vehicleType,
+                          String ticketId, String vehicleNumber, int floor, int slot) {
+        this.type = type;
+        this.timestampMillis = timestampMillis;
+        this.spotId = spotId;
+        this.vehicleType = vehicleType;
+        this.ticketId = ticketId;
+        this.vehicleNumber = vehicleNumber;
+        this.floor = floor;
+        this.slot = slot;
+    }
+
+    public static JournalRecord entry(Ticket ticket) {
+        Vehicle vehicle = ticket.getVehicle();
+        return new JournalRecord(JournalRecordType.ENTRY, ticket.getEntryTimeMillis(),
+                ticket.getParkingSpotId(), vehicle.getVehicleType(), ticket.getTicketId(), vehicle.getVehicleNumber());
+    }
+
+    public static JournalRecord exit(Ticket ticket) {
+        return new JournalRecord(JournalRecordType.EXIT, System.currentTimeMillis(), ticket.getParkingSpotId(),
+                ticket.getVehicle().getVehicleType(), ticket.getTicketId(), null);
+    }
+
+    public static JournalRecord addSpot(ParkingSpot spot) {
+        return new JournalRecord(JournalRecordType.ADD_SPOT, System.currentTimeMillis(), spot.getId(),
+                spot.getVehicleType(), null, null, spot.getFloor(), spot.getSlot());
+    }
+
+    public static JournalRecord removeSpot(ParkingSpot spot) {
+        return new JournalRecord(JournalRecordType.REMOVE_SPOT, System.currentTimeMillis(), spot.getId(),
+                spot.getVehicleType(), null, null);
+    }
+
+    /**
+     * @return number of bytes {@link #encode(ByteBuffer)} will write.
+     */
+    int size() {
+        int size = 1 + 8 + 16 + 1;
+        if (ticketId != null) {
+            size += 16;
+        }
+        if (type == JournalRecordType.ENTRY) {
+            size += 2 + vehicleNumber.getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (type == JournalRecordType.ADD_SPOT) {
+            size += 4 + 4;
+        }
+        return size;
+    }
+
+    void encode(ByteBuffer buffer) {
+        buffer.put(type.getCode());
+        buffer.putLong(timestampMillis);
+        putId(buffer, spotId);
+        buffer.put((byte) vehicleType.ordinal());
+        if (type == JournalRecordType.ENTRY || type == JournalRecordType.EXIT) {
+            putId(buffer, ticketId);
+        }
+        if (type == JournalRecordType.ENTRY) {
+            putString(buffer, vehicleNumber);
+        }
+        if (type == JournalRecordType.ADD_SPOT) {
+            buffer.putInt(floor);
+            buffer.putInt(slot);
+        }
+    }
+
+    static JournalRecord decode(ByteBuffer buffer) {
+        JournalRecordType type = JournalRecordType.fromCode(buffer.get());
+        long timestampMillis = buffer.getLong();
+        String spotId = getId(buffer);
+        VehicleType vehicleType = VehicleType.values()[buffer.get()];
+        String ticketId = null;
+        String vehicleNumber = null;
+        if (type == JournalRecordType.ENTRY || type == JournalRecordType.EXIT) {
+            ticketId = getId(buffer);
+        }
+        if (type == JournalRecordType.ENTRY) {
+            vehicleNumber = getString(buffer);
+        }
+        int floor = 0;
+        int slot = 0;
+        if (type == JournalRecordType.ADD_SPOT) {
+            floor = buffer.getInt();
+            slot = buffer.getInt();
+        }
+        return new JournalRecord(type, timestampMillis, spotId, vehicleType, ticketId, vehicleNumber, floor, slot);
+    }
+
+    public JournalRecordType getType() {
+        return type;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getSpotId() {
+        return spotId;
+    }
+
+    public VehicleType getVehicleType() {
+        return vehicleType;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public String getVehicleNumber() {
+        return vehicleNumber;
+    }
+
+    public int getFloor() {
+        return floor;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    static void putId(ByteBuffer buffer, String id) {
+        UUID uuid = UUID.fromString(id);
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    static String getId(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+
+    static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_VEHICLE_NUMBER_BYTES) {
+            throw new IllegalArgumentException("Vehicle number too long for journal: " + value);
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,37 @@
+package org.parking_lot.Journal;
+
+/**
+ * Kinds of events written to the parking lot journal. The byte code is what goes on disk,
+ * so existing codes must never be changed.
+ */
+public enum JournalRecordType {
+    ENTRY((byte) 1),
+    EXIT((byte) 2),
+    ADD_SPOT((byte) 3),
+    REMOVE_SPOT((byte) 4);
+
+    private static final JournalRecordType[] BY_CODE = new JournalRecordType[5];
+
+    static {
+        for (JournalRecordType type : values()) {
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+
+    JournalRecordType(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static JournalRecordType fromCode(byte code) {
+        if (code <= 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+            throw new IllegalArgumentException("Unknown journal record type: " + code);
+        }
+        return BY_CODE[code];
+    }
+}
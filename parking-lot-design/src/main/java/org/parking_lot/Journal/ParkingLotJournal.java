@@ -0,0 +1,536 @@
+package org.parking_lot.Journal;
+
+import org.parking_lot.Models.Ticket;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpotManagers.ParkingManagerStrategy;
+import org.parking_lot.ParkingSpotManagers.ParkingSpotManager;
+import org.parking_lot.ParkingSpots.ParkingSpot;
+import org.parking_lot.Repositories.TicketRepository;
+import org.parking_lot.enums.BookingMode;
+import org.parking_lot.enums.VehicleType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Write-ahead journal that makes the parking lot survive a restart.
+ * <p>
+ * Every entry, exit, spot addition and spot removal is appended as a {@link JournalRecord}
+ * framed as {@code length:4 | crc32:4 | payload}. Each record is written to the file as soon as
+ * it is appended, so it survives a process crash, while {@code fsync} is batched: it runs when
+ * {@code syncBatchSize} records are pending or every {@code syncIntervalMillis}, so at most one
+ * batch is lost on power failure.
+ * </p>
+ * <p>
+ * Periodically the full state of every {@link ParkingSpotManager} and the open tickets is
+ * written to a snapshot and the journal rolls over to a new generation file. Recovery loads the
+ * last snapshot and replays only the journal generations written after it, so restart time
+ * depends on the traffic since the last snapshot rather than the full history.
+ * </p>
+ * <p>
+ * There is no lot-wide lock: changes to different spots run and are journaled in parallel. The
+ * records of one spot are appended in the order its changes were made, because each change
+ * holds that spot's lock stripe until its record is written (see
+ * {@link #record(String, Supplier, Function)}). Snapshots read the managers while gates keep
+ * changing them, so the journal switches them to {@link BookingMode#CONCURRENT}; every change
+ * the snapshot misses is in a journal generation it replays, and replaying a change the
+ * snapshot already holds leaves the spot as it was.
+ * </p>
+ *
+ * @author Kartik Sethi
+ */
+public class ParkingLotJournal implements Closeable {
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".wal";
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final String SNAPSHOT_TMP_SUFFIX = ".tmp";
+    private static final int SNAPSHOT_MAGIC = 0x504C534E; // "PLSN"
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int BUFFER_BYTES = RECORD_HEADER_BYTES + 64 + JournalRecord.MAX_VEHICLE_NUMBER_BYTES;
+    private static final int SPOT_LOCK_STRIPES = 64;
+
+    private final Path directory;
+    private final ParkingManagerStrategy managerStrategy;
+    private final TicketRepository tickets;
+    private final int syncBatchSize;
+
+    // a spot's stripe is held until the record of a change to it is written, so the records of
+    // one spot are appended in the order its changes were applied
+    private final ReentrantLock[] spotLocks = new ReentrantLock[SPOT_LOCK_STRIPES];
+    // held for a whole snapshot, so two snapshots never interleave their writes, renames and deletes
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final Object appendLock = new Object();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final CRC32 crc = new CRC32();
+    private final ScheduledExecutorService scheduler;
+
+    private FileChannel channel;
+    private long generation;
+    private int pendingRecords;
+    private volatile long recordsSinceSnapshot;
+
+    /**
+     * Opens the journal in {@code directory}, rebuilding the managers and the ticket repository
+     * from the last snapshot plus the journal tail, and starts the background sync and snapshot tasks.
+     *
+     * @param directory              directory holding the snapshot and journal files.
+     * @param managerStrategy        managers whose spots are restored and snapshotted.
+     * @param tickets                repository the open tickets are restored into.
+     * @param syncBatchSize          number of pending records that forces a write and fsync.
+     * @param syncIntervalMillis     maximum time a record waits before it is fsync-ed.
+     * @param snapshotIntervalMillis how often a snapshot is taken if anything changed.
+     */
+    public ParkingLotJournal(Path directory, ParkingManagerStrategy managerStrategy, TicketRepository tickets,
+                             int syncBatchSize, long syncIntervalMillis, long snapshotIntervalMillis) throws IOException {
+        this.directory = directory;
+        this.managerStrategy = managerStrategy;
+        this.tickets = tickets;
+        this.syncBatchSize = syncBatchSize;
+        for (int i = 0; i < spotLocks.length; i++) {
+            spotLocks[i] = new ReentrantLock();
+        }
+        managerStrategy.setBookingMode(BookingMode.CONCURRENT);
+        Files.createDirectories(directory);
+        recover();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "parking-lot-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public ParkingLotJournal(Path directory, ParkingManagerStrategy managerStrategy, TicketRepository tickets) throws IOException {
+        this(directory, managerStrategy, tickets, 512, 10, 60_000);
+    }
+
+    /**
+     * Applies a change to a known spot, e.g. freeing, adding or removing it, and journals it
+     * while holding the spot's lock stripe. Whoever changes the spot next, such as the vehicle
+     * that books it once it is free, writes its record after this one.
+     *
+     * @param spotId   the spot the change touches.
+     * @param mutation the state change.
+     * @param toRecord builds the journal record from the mutation's result, or returns null if nothing changed.
+     * @return the mutation's result.
+     */
+    public <R> R record(String spotId, Supplier<R> mutation, Function<R, JournalRecord> toRecord) {
+        ReentrantLock lock = spotLock(spotId);
+        lock.lock();
+        try {
+            R result = mutation.get();
+            JournalRecord record = toRecord.apply(result);
+            if (record != null) {
+                append(record);
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies a change that picks its own spot, i.e. booking one, and journals it. The record
+     * is appended under the booked spot's lock stripe, so it follows the record of the exit
+     * that freed the spot, which held the stripe from freeing it until its record was written.
+     *
+     * @param mutation the state change, e.g. booking a spot.
+     * @param toRecord builds the journal record from the mutation's result, or returns null if nothing changed.
+     * @return the mutation's result.
+     */
+    public <R> R record(Supplier<R> mutation, Function<R, JournalRecord> toRecord) {
+        R result = mutation.get();
+        JournalRecord record = toRecord.apply(result);
+        if (record != null) {
+            ReentrantLock lock = spotLock(record.getSpotId());
+            lock.lock();
+            try {
+                append(record);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies a change to many known spots at once, e.g. settling a batch of exits, and journals
+     * its records while holding the lock stripes of all of them, as
+     * {@link #record(String, Supplier, Function)} does for one spot. Stripes are taken in index
+     * order, so batches never deadlock with each other or with single changes.
+     *
+     * @param spotIds  the spots the change touches.
+     * @param mutation the state change.
+     * @param toRecords builds the journal records from the mutation's result, one per spot that changed.
+     * @return the mutation's result.
+     */
+    public <R> R recordAll(Collection<String> spotIds, Supplier<R> mutation, Function<R, List<JournalRecord>> toRecords) {
+        boolean[] stripes = new boolean[SPOT_LOCK_STRIPES];
+        for (String spotId : spotIds) {
+            stripes[stripeOf(spotId)] = true;
+        }
+        int locked = 0;
+        try {
+            for (; locked < SPOT_LOCK_STRIPES; locked++) {
+                if (stripes[locked]) {
+                    spotLocks[locked].lock();
+                }
+            }
+            R result = mutation.get();
+            for (JournalRecord record : toRecords.apply(result)) {
+                append(record);
+            }
+            return result;
+        } finally {
+            for (int i = 0; i < locked; i++) {
+                if (stripes[i]) {
+                    spotLocks[i].unlock();
+                }
+            }
+        }
+    }
+
+    private ReentrantLock spotLock(String spotId) {
+        return spotLocks[stripeOf(spotId)];
+    }
+
+    private static int stripeOf(String spotId) {
+        int hash = spotId.hashCode();
+        return (hash ^ (hash >>> 16)) & (SPOT_LOCK_STRIPES - 1);
+    }
+
+    private void append(JournalRecord record) {
+        int size = record.size();
+        synchronized (appendLock) {
+            try {
+                buffer.clear();
+                buffer.position(RECORD_HEADER_BYTES);
+                record.encode(buffer);
+                buffer.flip();
+
+                crc.reset();
+                crc.update(buffer.duplicate().position(RECORD_HEADER_BYTES));
+                buffer.putInt(0, size);
+                buffer.putInt(4, (int) crc.getValue());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+
+                recordsSinceSnapshot++;
+                if (++pendingRecords >= syncBatchSize) {
+                    sync();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write parking lot journal", e);
+            }
+        }
+    }
+
+    /**
+     * Forces every record written since the last sync to disk.
+     */
+    public void sync() throws IOException {
+        synchronized (appendLock) {
+            if (pendingRecords == 0) {
+                return;
+            }
+            channel.force(false);
+            pendingRecords = 0;
+        }
+    }
+
+    /**
+     * Rolls the journal over to a new generation, captures the state of every manager and open
+     * ticket and drops the generations the snapshot now covers. Gates keep booking while the
+     * state is captured: a change whose record went to an older generation was applied before
+     * the roll and is captured, and any other change is replayed from the new generation.
+     * Snapshots run one at a time, so a scheduled snapshot and one taken on shutdown never overlap.
+     */
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            long snapshotGeneration;
+            synchronized (appendLock) {
+                sync();
+                channel.close();
+                generation++;
+                channel = openJournal(generation);
+                recordsSinceSnapshot = 0;
+                snapshotGeneration = generation;
+            }
+            byte[] state = encodeState(snapshotGeneration);
+
+            Path tmp = directory.resolve(SNAPSHOT_FILE + "." + snapshotGeneration + SNAPSHOT_TMP_SUFFIX);
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer bytes = ByteBuffer.wrap(state);
+                while (bytes.hasRemaining()) {
+                    out.write(bytes);
+                }
+                out.force(true);
+            }
+            Files.move(tmp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            for (long old : journalGenerations()) {
+                if (old < snapshotGeneration) {
+                    Files.deleteIfExists(journalPath(old));
+                }
+            }
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (appendLock) {
+            sync();
+            channel.close();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            System.err.println("Journal sync failed: " + e.getMessage());
+        }
+    }
+
+    private void snapshotQuietly() {
+        if (recordsSinceSnapshot == 0) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException e) {
+            System.err.println("Journal snapshot failed: " + e.getMessage());
+        }
+    }
+
+    private byte[] encodeState(long snapshotGeneration) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CheckedOutputStream checked = new CheckedOutputStream(bytes, new CRC32());
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked));
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeLong(snapshotGeneration);
+
+        List<ParkingSpot> spots = new ArrayList<>();
+        for (VehicleType type : VehicleType.values()) {
+            spots.addAll(managerStrategy.getManager(type).getParkingSpots());
+        }
+        out.writeInt(spots.size());
+        for (ParkingSpot spot : spots) {
+            out.writeByte(spot.getVehicleType().ordinal());
+            writeId(out, spot.getId());
+            out.writeInt(spot.getFloor());
+            out.writeInt(spot.getSlot());
+            Vehicle vehicle = spot.getVehicle();
+            out.writeBoolean(vehicle != null);
+            if (vehicle != null) {
+                out.writeUTF(vehicle.getVehicleNumber());
+            }
+        }
+
+        List<Ticket> openTickets = new ArrayList<>(tickets.findAll());
+        out.writeInt(openTickets.size());
+        for (Ticket ticket : openTickets) {
+            writeId(out, ticket.getTicketId());
+            writeId(out, ticket.getParkingSpotId());
+            out.writeByte(ticket.getVehicle().getVehicleType().ordinal());
+            out.writeUTF(ticket.getVehicle().getVehicleNumber());
+            out.writeLong(ticket.getEntryTimeMillis());
+        }
+        out.flush();
+        out.writeInt((int) checked.getChecksum().getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private void recover() throws IOException {
+        deleteUnfinishedSnapshots();
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        long snapshotGeneration = Files.exists(snapshot) ? loadSnapshot(snapshot) : 0;
+
+        List<Long> generations = journalGenerations().stream().filter(g -> g >= snapshotGeneration).toList();
+        for (long g : generations) {
+            replay(journalPath(g));
+        }
+        generation = generations.isEmpty() ? snapshotGeneration : generations.get(generations.size() - 1);
+        channel = openJournal(generation);
+    }
+
+    /**
+     * Deletes snapshots a crash left half-written; the previous snapshot and its journals are still intact.
+     */
+    private void deleteUnfinishedSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SNAPSHOT_FILE + ".") && name.endsWith(SNAPSHOT_TMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private long loadSnapshot(Path snapshot) throws IOException {
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(snapshot))) {
+            CheckedInputStream checked = new CheckedInputStream(file, new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a parking lot snapshot: " + snapshot);
+            }
+            long snapshotGeneration = in.readLong();
+
+            int spotCount = in.readInt();
+            for (int i = 0; i < spotCount; i++) {
+                VehicleType type = VehicleType.values()[in.readByte()];
+                String spotId = readId(in);
+                int floor = in.readInt();
+                int slot = in.readInt();
+                Vehicle vehicle = in.readBoolean() ? new Vehicle(in.readUTF(), type) : null;
+                managerStrategy.getManager(type).restoreParkingSpot(spotId, floor, slot, vehicle);
+            }
+
+            int ticketCount = in.readInt();
+            for (int i = 0; i < ticketCount; i++) {
+                String ticketId = readId(in);
+                String spotId = readId(in);
+                VehicleType type = VehicleType.values()[in.readByte()];
+                Vehicle vehicle = new Vehicle(in.readUTF(), type);
+                tickets.save(new Ticket(ticketId, spotId, vehicle, in.readLong()));
+            }
+
+            int expected = (int) checked.getChecksum().getValue();
+            if (new DataInputStream(file).readInt() != expected) {
+                throw new IOException("Corrupt parking lot snapshot: " + snapshot);
+            }
+            return snapshotGeneration;
+        }
+    }
+
+    /**
+     * Replays one journal file, stopping at the first torn or corrupt record and truncating it
+     * away so new records are appended after the last good one.
+     */
+    private void replay(Path journal) throws IOException {
+        try (FileChannel in = FileChannel.open(journal, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.allocate((int) in.size());
+            while (bytes.hasRemaining() && in.read(bytes) >= 0) {
+                // read the whole tail; it only covers the traffic since the last snapshot
+            }
+            bytes.flip();
+            CRC32 checksum = new CRC32();
+            int valid = 0;
+            while (bytes.remaining() >= RECORD_HEADER_BYTES) {
+                int size = bytes.getInt();
+                int expected = bytes.getInt();
+                if (size <= 0 || size > bytes.remaining()) {
+                    break;
+                }
+                ByteBuffer payload = bytes.slice(bytes.position(), size);
+                checksum.reset();
+                checksum.update(payload.duplicate());
+                if ((int) checksum.getValue() != expected) {
+                    break;
+                }
+                apply(JournalRecord.decode(payload));
+                bytes.position(bytes.position() + size);
+                valid = bytes.position();
+            }
+            if (valid < in.size()) {
+                in.truncate(valid);
+            }
+        }
+    }
+
+    private void apply(JournalRecord record) {
+        ParkingSpotManager<? extends ParkingSpot> manager = managerStrategy.getManager(record.getVehicleType());
+        switch (record.getType()) {
+            case ENTRY -> {
+                Vehicle vehicle = new Vehicle(record.getVehicleNumber(), record.getVehicleType());
+                // a spot removed while the vehicle was being booked into it stays removed, as it did live
+                if (manager.getParkingSpotById(record.getSpotId()) != null) {
+                    manager.restoreParkingSpot(record.getSpotId(), vehicle);
+                }
+                tickets.save(new Ticket(record.getTicketId(), record.getSpotId(), vehicle, record.getTimestampMillis()));
+            }
+            case EXIT -> {
+                if (manager.getParkingSpotById(record.getSpotId()) != null) {
+                    manager.clearParkingSpotById(record.getSpotId());
+                }
+                tickets.remove(record.getTicketId());
+            }
+            case ADD_SPOT -> manager.restoreParkingSpot(record.getSpotId(), record.getFloor(), record.getSlot(), null);
+            case REMOVE_SPOT -> manager.removeParkingSpot(record.getSpotId());
+        }
+    }
+
+    private FileChannel openJournal(long journalGeneration) throws IOException {
+        FileChannel journal = FileChannel.open(journalPath(journalGeneration), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        journal.position(journal.size());
+        return journal;
+    }
+
+    private Path journalPath(long journalGeneration) {
+        return directory.resolve(String.format("%s%020d%s", JOURNAL_PREFIX, journalGeneration, JOURNAL_SUFFIX));
+    }
+
+    private List<Long> journalGenerations() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.startsWith(JOURNAL_PREFIX) && name.endsWith(JOURNAL_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(JOURNAL_PREFIX.length(), name.length() - JOURNAL_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static void writeId(DataOutputStream out, String id) throws IOException {
+        UUID uuid = UUID.fromString(id);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static String readId(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong()).toString();
+    }
+}
@@ -1,12 +1,80 @@
 package org.parking_lot;
 
+import org.parking_lot.Metrics.FileMetricsExporter;
+import org.parking_lot.Metrics.HttpMetricsExporter;
+import org.parking_lot.Metrics.MetricsExporter;
+import org.parking_lot.Metrics.MetricsRegistry;
+import org.parking_lot.Metrics.MetricsReporter;
+import org.parking_lot.ParkingLotApplication.CommandDriver;
+import org.parking_lot.ParkingLotApplication.DriverReport;
 import org.parking_lot.ParkingLotApplication.ParkingLotApplication;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 public class Main {
-    public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
-        new ParkingLotApplication(sc);
+    public static void main(String[] args) throws IOException, InterruptedException {
+        MetricsReporter metricsReporter = startMetrics();
+        try {
+            String mode = args.length > 0 ? args[0] : "";
+            if (mode.equals("replay") || mode.equals("serve")) {
+                if (args.length < 2) {
+                    System.err.println("Usage: replay <commandFile> [journalDir] | serve <port> [journalDir] | [journalDir]");
+                    return;
+                }
+                drive(args);
+                return;
+            }
+            Scanner sc = new Scanner(System.in);
+            // optional first argument: directory to journal the lot's state to, so it survives a restart
+            Path journalDirectory = args.length > 0 ? Path.of(mode) : null;
+            new ParkingLotApplication(sc, journalDirectory);
+        } finally {
+            if (metricsReporter != null) {
+                metricsReporter.close();
+            }
+        }
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs the headless driver: {@code replay <commandFile> [journalDir]} or {@code serve <port> [journalDir]}.
+     * {@code -Dparking.driver.workers} sets the number of worker lanes (default: one per CPU) and
+     * {@code -Dparking.driver.virtualThreads=false} drains them with platform threads instead.
+     */
+    private static void drive(String[] args) throws IOException, InterruptedException {
+        Path journalDirectory = args.length > 2 ? Path.of(args[2]) : null;
+        int workers = Integer.getInteger("parking.driver.workers", Runtime.getRuntime().availableProcessors());
+        boolean virtualThreads = Boolean.parseBoolean(System.getProperty("parking.driver.virtualThreads", "true"));
+        try (CommandDriver driver = new CommandDriver(journalDirectory, workers, virtualThreads)) {
+            DriverReport report = args[0].equals("replay")
+                    ? driver.replay(Path.of(args[1]))
+                    : driver.serve(Integer.parseInt(args[1]));
+            System.out.print(report);
+        }
+    }
+
+    /**
+     * Starts exporting metrics when {@code -Dparking.metrics.file=<path>} and/or
+     * {@code -Dparking.metrics.port=<port>} is set; {@code -Dparking.metrics.intervalMillis}
+     * controls how often (default 1000).
+     */
+    private static MetricsReporter startMetrics() throws IOException {
+        List<MetricsExporter> exporters = new ArrayList<>();
+        String file = System.getProperty("parking.metrics.file");
+        if (file != null) {
+            exporters.add(new FileMetricsExporter(Path.of(file)));
+        }
+        String port = System.getProperty("parking.metrics.port");
+        if (port != null) {
+            exporters.add(new HttpMetricsExporter(Integer.parseInt(port)));
+        }
+        if (exporters.isEmpty()) {
+            return null;
+        }
+        long interval = Long.getLong("parking.metrics.intervalMillis", 1000);
+        return new MetricsReporter(MetricsRegistry.getInstance(), exporters, interval);
+    }
+}
@@ -0,0 +1,25 @@
+package org.parking_lot.Metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Dumps each snapshot to a file, replacing it atomically so readers never see a partial dump.
+ */
+public class FileMetricsExporter implements MetricsExporter {
+    private final Path file;
+
+    public FileMetricsExporter(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public void export(MetricsSnapshot snapshot, String rendered) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(tmp, rendered, StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,40 @@
+package org.parking_lot.Metrics;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the latest snapshot at {@code http://localhost:<port>/metrics}.
+ * Requests read the last exported text and never touch the registry.
+ */
+public class HttpMetricsExporter implements MetricsExporter {
+    private final HttpServer server;
+    private volatile byte[] latest = new byte[0];
+
+    public HttpMetricsExporter(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = latest;
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @Override
+    public void export(MetricsSnapshot snapshot, String rendered) {
+        latest = rendered.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
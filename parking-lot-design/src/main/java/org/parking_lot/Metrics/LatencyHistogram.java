@@ -0,0 +1,94 @@
+package org.parking_lot.Metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets.
+ * <p>
+ * Values below {@code 2^SUB_BUCKET_BITS} get a bucket each; above that, every power of two is
+ * split into {@code 2^SUB_BUCKET_BITS} equal sub-buckets, so any recorded value is off by at most
+ * ~3% while the whole range of a {@code long} fits in a fixed 1920-slot array. Recording is a
+ * couple of shifts and one atomic increment, so it is safe to call on the hot path.
+ * </p>
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records one value, e.g. a latency in nanoseconds. Negative values are recorded as 0.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(bucketOf(v));
+        total.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    /**
+     * Takes a point-in-time summary. Concurrent recordings may be partly included.
+     */
+    public Summary summarize() {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        long maxValue = max.get();
+        return new Summary(count, count == 0 ? 0 : (double) sum.sum() / total.sum(),
+                percentile(snapshot, count, 0.50, maxValue),
+                percentile(snapshot, count, 0.90, maxValue),
+                percentile(snapshot, count, 0.99, maxValue),
+                percentile(snapshot, count, 0.999, maxValue),
+                maxValue);
+    }
+
+    private static long percentile(long[] snapshot, long count, double quantile, long maxValue) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Immutable summary of a histogram.
+     */
+    public record Summary(long count, double mean, long p50, long p90, long p99, long p999, long max) {
+    }
+}
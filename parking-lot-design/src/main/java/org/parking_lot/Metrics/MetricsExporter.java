@@ -0,0 +1,18 @@
+package org.parking_lot.Metrics;
+
+import java.io.IOException;
+
+/**
+ * Destination for metric snapshots. Exporters are only ever called from the
+ * {@link MetricsReporter} thread, never from request threads.
+ */
+public interface MetricsExporter {
+
+    /**
+     * @param rendered the snapshot in text form, including rates since the previous export.
+     */
+    void export(MetricsSnapshot snapshot, String rendered) throws IOException;
+
+    default void close() {
+    }
+}
@@ -0,0 +1,58 @@
+package org.parking_lot.Metrics;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically snapshots a {@link MetricsRegistry} on a background daemon thread and hands
+ * the result to every {@link MetricsExporter}, so slow exporters never block request threads.
+ */
+public class MetricsReporter implements Closeable {
+    private final MetricsRegistry registry;
+    private final List<MetricsExporter> exporters;
+    private final ScheduledExecutorService scheduler;
+    private MetricsSnapshot previous;
+
+    public MetricsReporter(MetricsRegistry registry, List<MetricsExporter> exporters, long intervalMillis) {
+        this.registry = registry;
+        this.exporters = List.copyOf(exporters);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "parking-lot-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::report, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Never throws: an exception escaping a scheduled task would silently cancel every later report.
+     */
+    private void report() {
+        MetricsSnapshot snapshot;
+        String rendered;
+        try {
+            snapshot = registry.snapshot();
+            rendered = snapshot.render(previous);
+        } catch (RuntimeException e) {
+            System.err.println("Metrics snapshot failed: " + e.getMessage());
+            return;
+        }
+        previous = snapshot;
+        for (MetricsExporter exporter : exporters) {
+            try {
+                exporter.export(snapshot, rendered);
+            } catch (Exception e) {
+                System.err.println("Metrics export failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        exporters.forEach(MetricsExporter::close);
+    }
+}
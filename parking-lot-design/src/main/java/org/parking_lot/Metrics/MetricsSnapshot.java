@@ -0,0 +1,67 @@
+package org.parking_lot.Metrics;
+
+import java.util.Map;
+
+/**
+ * Point-in-time values of every metric in a {@link MetricsRegistry}.
+ */
+public class MetricsSnapshot {
+    private final long timestampMillis;
+    private final Map<String, Long> counters;
+    private final Map<String, Long> gauges;
+    private final Map<String, LatencyHistogram.Summary> histograms;
+
+    MetricsSnapshot(long timestampMillis, Map<String, Long> counters, Map<String, Long> gauges,
+                    Map<String, LatencyHistogram.Summary> histograms) {
+        this.timestampMillis = timestampMillis;
+        this.counters = counters;
+        this.gauges = gauges;
+        this.histograms = histograms;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public Map<String, Long> getGauges() {
+        return gauges;
+    }
+
+    public Map<String, LatencyHistogram.Summary> getHistograms() {
+        return histograms;
+    }
+
+    /**
+     * Renders the snapshot as {@code name value} lines. When a previous snapshot is given,
+     * a {@code name.rate} line with the per-second rate since then is added for each counter.
+     *
+     * @param previous the snapshot exported before this one, or null.
+     * @return text form of the snapshot.
+     */
+    public String render(MetricsSnapshot previous) {
+        StringBuilder out = new StringBuilder();
+        out.append("timestamp_millis ").append(timestampMillis).append('\n');
+        counters.forEach((name, value) -> {
+            out.append(name).append(' ').append(value).append('\n');
+            if (previous != null && previous.counters.containsKey(name) && timestampMillis > previous.timestampMillis) {
+                double perSecond = (value - previous.counters.get(name)) * 1000.0 / (timestampMillis - previous.timestampMillis);
+                out.append(name).append(".rate ").append(String.format("%.2f", perSecond)).append('\n');
+            }
+        });
+        gauges.forEach((name, value) -> out.append(name).append(' ').append(value).append('\n'));
+        histograms.forEach((name, h) -> {
+            out.append(name).append(".count ").append(h.count()).append('\n');
+            out.append(name).append(".mean ").append(String.format("%.1f", h.mean())).append('\n');
+            out.append(name).append(".p50 ").append(h.p50()).append('\n');
+            out.append(name).append(".p90 ").append(h.p90()).append('\n');
+            out.append(name).append(".p99 ").append(h.p99()).append('\n');
+            out.append(name).append(".p999 ").append(h.p999()).append('\n');
+            out.append(name).append(".max ").append(h.max()).append('\n');
+        });
+        return out.toString();
+    }
+}
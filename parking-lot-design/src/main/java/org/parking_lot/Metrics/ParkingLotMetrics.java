@@ -0,0 +1,17 @@
+package org.parking_lot.Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The parking lot's own metrics, resolved once so the hot path never looks them up by name.
+ */
+public final class ParkingLotMetrics {
+    public static final String OCCUPANCY_PREFIX = "parking.occupancy.";
+
+    public static final LongAdder ENTRIES = MetricsRegistry.getInstance().counter("parking.entries");
+    public static final LongAdder EXITS = MetricsRegistry.getInstance().counter("parking.exits");
+    public static final LongAdder FAILED_ALLOCATIONS = MetricsRegistry.getInstance().counter("parking.allocation.failed");
+    public static final LatencyHistogram BOOKING_LATENCY_NANOS = MetricsRegistry.getInstance().histogram("parking.booking.latency_nanos");
+
+    private ParkingLotMetrics() {}
+}
@@ -0,0 +1,38 @@
+package org.parking_lot.Models;
+
+/**
+ * An entry gate of the garage. Its floor and slot locate it on the same grid as the
+ * parking spots, so the nearest free spot can be picked for vehicles entering through it.
+ */
+public class EntryGate {
+    private final String gateId;
+    private final int floor;
+    private final int slot;
+
+    public EntryGate(String gateId, int floor, int slot) {
+        this.gateId = gateId;
+        this.floor = floor;
+        this.slot = slot;
+    }
+
+    public String getGateId() {
+        return gateId;
+    }
+
+    public int getFloor() {
+        return floor;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return "EntryGate{" +
+                "gateId='" + gateId + '\'' +
+                ", floor=" + floor +
+                ", slot=" + slot +
+                '}';
+    }
+}
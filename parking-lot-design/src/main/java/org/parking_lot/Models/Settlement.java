@@ -0,0 +1,75 @@
+package org.parking_lot.Models;
+
+import org.parking_lot.enums.VehicleType;
+
+/**
+ * Result of settling a batch of exits.
+ * <p>
+ * Prices are kept in a primitive array in the same order as the tickets were passed in,
+ * with per-{@link VehicleType} totals indexed by ordinal. A ticket whose spot no longer
+ * exists or no longer holds its vehicle, e.g. one that was already settled, is left unsettled
+ * and its price is {@link Double#NaN}.
+ * </p>
+ */
+public class Settlement {
+    private final double[] prices;
+    private final double[] totalByType;
+    private final int[] countByType;
+    private final double total;
+    private final int unsettledCount;
+
+    public Settlement(double[] prices, double[] totalByType, int[] countByType, int unsettledCount) {
+        this.prices = prices;
+        this.totalByType = totalByType;
+        this.countByType = countByType;
+        this.unsettledCount = unsettledCount;
+        double sum = 0;
+        for (double byType : totalByType) {
+            sum += byType;
+        }
+        this.total = sum;
+    }
+
+    /**
+     * @return number of tickets in the batch.
+     */
+    public int size() {
+        return prices.length;
+    }
+
+    /**
+     * @param index position of the ticket in the batch.
+     * @return price of that ticket, or NaN if it could not be settled.
+     */
+    public double getPrice(int index) {
+        return prices[index];
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public double getTotal(VehicleType type) {
+        return totalByType[type.ordinal()];
+    }
+
+    /**
+     * @return number of tickets of that type that were settled.
+     */
+    public int getCount(VehicleType type) {
+        return countByType[type.ordinal()];
+    }
+
+    public int getUnsettledCount() {
+        return unsettledCount;
+    }
+
+    @Override
+    public String toString() {
+        return "Settlement{" +
+                "tickets=" + prices.length +
+                ", total=" + total +
+                ", unsettled=" + unsettledCount +
+                '}';
+    }
+}
@@ -1,20 +1,32 @@
 package org.parking_lot.Models;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.UUID;
 
 public class Ticket {
+    private static final long NOT_EXITED = -1L;
+
     private final String ticketId;
     private final String parkingSpotId;
     private final Vehicle vehicle;
-    private final LocalDateTime entryTime;
-    private LocalDateTime exitTime;
+    // times are kept as epoch millis so the exit path can price a ticket without allocating
+    private final long entryTimeMillis;
+    private long exitTimeMillis = NOT_EXITED;
 
     public Ticket(String parkingSpotId, Vehicle vehicle) {
         this.ticketId = UUID.randomUUID().toString();
         this.parkingSpotId = parkingSpotId;
         this.vehicle = vehicle;
-        this.entryTime = LocalDateTime.now();
+        this.entryTimeMillis = System.currentTimeMillis();
+    }
+
+    public Ticket(String ticketId, String parkingSpotId, Vehicle vehicle, long entryTimeMillis) {
+        this.ticketId = ticketId;
+        this.parkingSpotId = parkingSpotId;
+        this.vehicle = vehicle;
+        this.entryTimeMillis = entryTimeMillis;
     }
     
     public String getTicketId() {
@@ -30,15 +42,31 @@ public class Ticket {
     }
 
     public LocalDateTime getEntryTime() {
-        return entryTime;
+        return toLocalDateTime(entryTimeMillis);
     }
 
     public LocalDateTime getExitTime() {
-        return exitTime;
+        return exitTimeMillis == NOT_EXITED ? null : toLocalDateTime(exitTimeMillis);
+    }
+
+    public long getEntryTimeMillis() {
+        return entryTimeMillis;
+    }
+
+    public long getExitTimeMillis() {
+        return exitTimeMillis;
     }
     
     public void setExitTime(LocalDateTime exitTime) {
-        this.exitTime = exitTime;
+        this.exitTimeMillis = exitTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public void setExitTimeMillis(long exitTimeMillis) {
+        this.exitTimeMillis = exitTimeMillis;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
     }
     
     @Override
@@ -47,8 +75,8 @@ public class Ticket {
                 "ticketId='" + ticketId + '\'' +
                 ", parkingSpotId='" + parkingSpotId + '\'' +
                 ", vehicle=" + vehicle +
-                ", entryTime=" + entryTime +
-                ", exitTime=" + exitTime +
+                ", entryTime=" + getEntryTime() +
+                ", exitTime=" + getExitTime() +
                 '}';
     }
 
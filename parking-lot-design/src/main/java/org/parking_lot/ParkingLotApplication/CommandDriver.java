@@ -0,0 +1,259 @@
+package org.parking_lot.ParkingLotApplication;
+
+import org.parking_lot.Metrics.LatencyHistogram;
+import org.parking_lot.Models.Settlement;
+import org.parking_lot.Models.Ticket;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpotManagers.ParkingManagerStrategy;
+import org.parking_lot.enums.ApplicationInput;
+import org.parking_lot.enums.BookingMode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless driver that replays parking lot commands from a file or socket, for load tests and
+ * for replaying production traffic without the interactive menu.
+ * <p>
+ * Commands are parsed by a {@link CommandLineReader} on the calling thread and handed to a fixed
+ * number of worker lanes, each drained by its own platform or virtual thread. ENTRY and EXIT are
+ * routed by vehicle number, so the commands for one vehicle run in input order while different
+ * vehicles run in parallel; spot and gate changes run on the reading thread as soon as they are
+ * read, so the ENTRY lines after an ADD_GATE can use the gate. EXIT_ALL waits for every lane to
+ * finish the commands read before it and then settles all open tickets in one batch on the
+ * reading thread.
+ * Since the reading thread and the lanes change the lot at the same time, the managers are always
+ * switched to {@link BookingMode#CONCURRENT}, even with a single lane.
+ * Exits name the vehicle rather than the ticket, since ticket ids are only known at run time, so
+ * an ENTRY for a vehicle that already holds an open ticket fails instead of replacing it.
+ * </p>
+ * <p>
+ * The lot starts with whatever the journal restores, so scripts usually begin with ADD_SPOT lines.
+ * Gates are part of the lot's layout rather than its state and are not journaled, so a script
+ * that enters through gates declares them with ADD_GATE lines first.
+ * </p>
+ *
+ * @author Kartik Sethi
+ */
+public class CommandDriver implements Closeable {
+    private static final int LANE_CAPACITY = 1024;
+    private static final DriverCommand END_OF_INPUT = new DriverCommand(ApplicationInput.STOP, null, null, null);
+    private static final DriverCommand LANE_BARRIER = new DriverCommand(ApplicationInput.STOP, null, null, null);
+
+    private final ParkingLotOperations operations;
+    private final int workers;
+    private final boolean virtualThreads;
+    private final Map<String, Ticket> ticketsByVehicle = new ConcurrentHashMap<>();
+    private final Map<ApplicationInput, LatencyHistogram> latencyByInput = new EnumMap<>(ApplicationInput.class);
+    private final LongAdder failed = new LongAdder();
+    // counted down by each lane when it takes LANE_BARRIER; replaced by the reading thread before queuing it
+    private CountDownLatch lanesDrained;
+
+    /**
+     * @param journalDirectory directory for the journal and snapshots, or null to keep state in memory only.
+     * @param workers          number of worker lanes commands are spread over.
+     * @param virtualThreads   whether lanes are drained by virtual threads instead of platform threads.
+     */
+    public CommandDriver(Path journalDirectory, int workers, boolean virtualThreads) throws IOException {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        this.workers = workers;
+        this.virtualThreads = virtualThreads;
+        ParkingManagerStrategy.getInstance().setBookingMode(BookingMode.CONCURRENT);
+        this.operations = new ParkingLotOperations(journalDirectory);
+        for (Ticket ticket : operations.tickets().findAll()) {
+            ticketsByVehicle.put(ticket.getVehicle().getVehicleNumber(), ticket);
+        }
+        for (ApplicationInput input : ApplicationInput.values()) {
+            latencyByInput.put(input, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Runs every command in a file. The file is memory-mapped rather than read through a stream.
+     *
+     * @param file the command script.
+     * @return throughput and latency of the run.
+     */
+    public DriverReport replay(Path file) throws IOException, InterruptedException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return drive(reader -> reader.read(channel));
+        }
+    }
+
+    /**
+     * Waits for one client on the port and runs its commands until it disconnects or sends STOP.
+     *
+     * @param port the port to listen on.
+     * @return throughput and latency of the run.
+     */
+    public DriverReport serve(int port) throws IOException, InterruptedException {
+        try (ServerSocketChannel server = ServerSocketChannel.open().bind(new InetSocketAddress(port));
+             SocketChannel client = server.accept()) {
+            return drive(reader -> reader.read(client));
+        }
+    }
+
+    private DriverReport drive(CommandSource source) throws IOException, InterruptedException {
+        List<BlockingQueue<DriverCommand>> lanes = new ArrayList<>(workers);
+        List<Thread> threads = new ArrayList<>(workers);
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual().name("driver-", 0) : Thread.ofPlatform().name("driver-", 0);
+        for (int i = 0; i < workers; i++) {
+            BlockingQueue<DriverCommand> lane = new ArrayBlockingQueue<>(LANE_CAPACITY);
+            lanes.add(lane);
+            threads.add(builder.start(() -> drain(lane)));
+        }
+
+        long start = System.nanoTime();
+        CommandLineReader reader = new CommandLineReader(command -> dispatch(command, lanes));
+        try {
+            source.readInto(reader);
+        } finally {
+            for (BlockingQueue<DriverCommand> lane : lanes) {
+                lane.put(END_OF_INPUT);
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<ApplicationInput, LatencyHistogram.Summary> latencies = new EnumMap<>(ApplicationInput.class);
+        latencyByInput.forEach((input, histogram) -> latencies.put(input, histogram.summarize()));
+        return new DriverReport(elapsed, latencies, failed.sum(), reader.getMalformedLines());
+    }
+
+    private void dispatch(DriverCommand command, List<BlockingQueue<DriverCommand>> lanes) {
+        switch (command.input()) {
+            case ENTRY, EXIT -> {
+                BlockingQueue<DriverCommand> lane = lanes.get(Math.floorMod(command.vehicleNumber().hashCode(), workers));
+                try {
+                    lane.put(command);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while dispatching commands", e);
+                }
+            }
+            case ADD_SPOT, REMOVE_SPOT, ADD_GATE -> execute(command);
+            case EXIT_ALL -> {
+                awaitLanes(lanes);
+                execute(command);
+            }
+            case STOP -> {
+                // the reader stops after this line; the lanes drain what is already queued
+            }
+        }
+    }
+
+    /**
+     * Blocks the reading thread until every lane has run the commands queued on it so far.
+     */
+    private void awaitLanes(List<BlockingQueue<DriverCommand>> lanes) {
+        lanesDrained = new CountDownLatch(lanes.size());
+        try {
+            for (BlockingQueue<DriverCommand> lane : lanes) {
+                lane.put(LANE_BARRIER);
+            }
+            lanesDrained.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the lanes", e);
+        }
+    }
+
+    private void drain(BlockingQueue<DriverCommand> lane) {
+        try {
+            DriverCommand command;
+            while ((command = lane.take()) != END_OF_INPUT) {
+                if (command == LANE_BARRIER) {
+                    lanesDrained.countDown();
+                } else {
+                    execute(command);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void execute(DriverCommand command) {
+        long start = System.nanoTime();
+        try {
+            switch (command.input()) {
+                case ENTRY -> {
+                    // a vehicle's commands all run on one lane, so nothing can enter it in between
+                    if (ticketsByVehicle.containsKey(command.vehicleNumber())) {
+                        throw new IllegalArgumentException("Vehicle " + command.vehicleNumber() + " already has an open ticket");
+                    }
+                    Vehicle vehicle = new Vehicle(command.vehicleNumber(), command.vehicleType());
+                    Ticket ticket = command.argument() == null
+                            ? operations.enter(vehicle)
+                            : operations.enter(vehicle, command.argument());
+                    ticketsByVehicle.put(command.vehicleNumber(), ticket);
+                }
+                case EXIT -> {
+                    Ticket ticket = ticketsByVehicle.remove(command.vehicleNumber());
+                    if (ticket == null || operations.exit(ticket) == null) {
+                        throw new IllegalArgumentException("No open ticket for vehicle " + command.vehicleNumber());
+                    }
+                }
+                case ADD_SPOT -> {
+                    if (command.argument() == null) {
+                        operations.addSpot(command.vehicleType());
+                    } else {
+                        operations.addSpot(command.vehicleType(), Integer.parseInt(command.argument()));
+                    }
+                }
+                case REMOVE_SPOT -> operations.removeSpot(command.vehicleType(), command.argument());
+                case ADD_GATE -> operations.addGate(command.gate());
+                case EXIT_ALL -> {
+                    List<Ticket> open = new ArrayList<>(ticketsByVehicle.values());
+                    Settlement settlement = operations.exitAll(open);
+                    for (int i = 0; i < open.size(); i++) {
+                        if (!Double.isNaN(settlement.getPrice(i))) {
+                            ticketsByVehicle.remove(open.get(i).getVehicle().getVehicleNumber());
+                        }
+                    }
+                    if (settlement.getUnsettledCount() > 0) {
+                        throw new IllegalStateException(settlement.getUnsettledCount() + " tickets could not be settled");
+                    }
+                }
+                case STOP -> {
+                }
+            }
+        } catch (RuntimeException e) {
+            failed.increment();
+        } finally {
+            latencyByInput.get(command.input()).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Snapshots and closes the journal, if there is one.
+     */
+    @Override
+    public void close() throws IOException {
+        operations.close();
+    }
+
+    @FunctionalInterface
+    private interface CommandSource {
+        void readInto(CommandLineReader reader) throws IOException;
+    }
+}
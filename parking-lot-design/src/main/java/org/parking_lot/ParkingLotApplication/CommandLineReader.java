@@ -0,0 +1,226 @@
+package org.parking_lot.ParkingLotApplication;
+
+import org.parking_lot.Models.EntryGate;
+import org.parking_lot.enums.ApplicationInput;
+import org.parking_lot.enums.VehicleType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Parses {@link CommandDriver} scripts straight out of a {@link ByteBuffer}.
+ * <p>
+ * Files are memory-mapped window by window and sockets are read into one reusable direct
+ * buffer, so input bytes are never copied into intermediate {@code String}s or {@code char[]}s.
+ * Keywords and vehicle types are matched byte by byte; the only allocation per line is the
+ * {@link DriverCommand} itself and its vehicle number.
+ * </p>
+ * <p>
+ * Lines are ASCII, whitespace-separated, and blank lines or lines starting with {@code #} are
+ * skipped:
+ * <pre>
+ * ENTRY &lt;vehicleNumber&gt; &lt;TWO_WHEELER|FOUR_WHEELER&gt; [gateId]
+ * EXIT &lt;vehicleNumber&gt;
+ * ADD_SPOT &lt;TWO_WHEELER|FOUR_WHEELER&gt; [floor]
+ * REMOVE_SPOT &lt;TWO_WHEELER|FOUR_WHEELER&gt; &lt;spotId&gt;
+ * ADD_GATE &lt;gateId&gt; &lt;floor&gt; &lt;slot&gt;
+ * STOP
+ * </pre>
+ * </p>
+ */
+class CommandLineReader {
+    private static final int MAPPED_WINDOW = 256 << 20;
+    private static final int SOCKET_BUFFER = 64 << 10;
+
+    private static final ApplicationInput[] INPUTS = ApplicationInput.values();
+    private static final byte[][] INPUT_NAMES = names(INPUTS);
+    private static final VehicleType[] TYPES = VehicleType.values();
+    private static final byte[][] TYPE_NAMES = names(TYPES);
+
+    private final Consumer<DriverCommand> sink;
+    private byte[] scratch = new byte[256];
+    private final int[] tokenStart = new int[5];
+    private final int[] tokenEnd = new int[5];
+    private long lineNumber;
+    private long malformedLines;
+    private boolean stopped;
+
+    /**
+     * @param sink receives every parsed command, in input order, on the reading thread.
+     */
+    CommandLineReader(Consumer<DriverCommand> sink) {
+        this.sink = sink;
+    }
+
+    long getMalformedLines() {
+        return malformedLines;
+    }
+
+    /**
+     * Parses a whole file, mapping at most {@value #MAPPED_WINDOW} bytes at a time.
+     */
+    void read(FileChannel file) throws IOException {
+        long size = file.size();
+        long position = 0;
+        while (position < size && !stopped) {
+            long length = Math.min(MAPPED_WINDOW, size - position);
+            ByteBuffer window = file.map(FileChannel.MapMode.READ_ONLY, position, length);
+            boolean last = position + length == size;
+            int consumed = parseLines(window, last);
+            if (consumed == 0 && !last) {
+                throw new IOException("Line " + (lineNumber + 1) + " is longer than " + MAPPED_WINDOW + " bytes");
+            }
+            position += consumed;
+        }
+    }
+
+    /**
+     * Parses a stream, e.g. a socket, until end of input or a STOP command.
+     */
+    void read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(SOCKET_BUFFER);
+        while (!stopped) {
+            boolean last = channel.read(buffer) < 0;
+            buffer.flip();
+            int consumed = parseLines(buffer, last);
+            if (last) {
+                return;
+            }
+            buffer.position(consumed);
+            if (consumed == 0 && buffer.limit() == buffer.capacity()) {
+                throw new IOException("Line " + (lineNumber + 1) + " is longer than " + SOCKET_BUFFER + " bytes");
+            }
+            buffer.compact();
+        }
+    }
+
+    /**
+     * @return the index just past the last complete line parsed; everything when {@code last} is set.
+     */
+    private int parseLines(ByteBuffer buffer, boolean last) {
+        int start = buffer.position();
+        int limit = buffer.limit();
+        int lineStart = start;
+        for (int i = start; i < limit && !stopped; i++) {
+            if (buffer.get(i) == '\n') {
+                parseLineSafely(buffer, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        if (last && lineStart < limit && !stopped) {
+            parseLineSafely(buffer, lineStart, limit);
+            lineStart = limit;
+        }
+        return lineStart;
+    }
+
+    private void parseLineSafely(ByteBuffer buffer, int from, int to) {
+        try {
+            parseLine(buffer, from, to);
+        } catch (IllegalArgumentException e) {
+            malformedLines++;
+            System.err.println("Skipping " + e.getMessage());
+        }
+    }
+
+    private void parseLine(ByteBuffer buffer, int from, int to) {
+        lineNumber++;
+        int tokens = 0;
+        int i = from;
+        while (tokens < tokenStart.length) {
+            while (i < to && isSpace(buffer.get(i))) {
+                i++;
+            }
+            if (i == to) {
+                break;
+            }
+            tokenStart[tokens] = i;
+            while (i < to && !isSpace(buffer.get(i))) {
+                i++;
+            }
+            tokenEnd[tokens++] = i;
+        }
+        if (tokens == 0 || buffer.get(tokenStart[0]) == '#') {
+            return;
+        }
+
+        ApplicationInput input = INPUTS[match(buffer, 0, INPUT_NAMES)];
+        DriverCommand command = switch (input) {
+            case ENTRY -> new DriverCommand(input, text(buffer, 1, tokens), vehicleType(buffer, 2, tokens),
+                    tokens > 3 ? text(buffer, 3, tokens) : null);
+            case EXIT -> new DriverCommand(input, text(buffer, 1, tokens), null, null);
+            case ADD_SPOT -> new DriverCommand(input, null, vehicleType(buffer, 1, tokens),
+                    tokens > 2 ? text(buffer, 2, tokens) : null);
+            case REMOVE_SPOT -> new DriverCommand(input, null, vehicleType(buffer, 1, tokens), text(buffer, 2, tokens));
+            case ADD_GATE -> new DriverCommand(input, null, null, null, new EntryGate(text(buffer, 1, tokens),
+                    integer(buffer, 2, tokens), integer(buffer, 3, tokens)));
+            case EXIT_ALL, STOP -> new DriverCommand(input, null, null, null);
+        };
+        stopped = input == ApplicationInput.STOP;
+        sink.accept(command);
+    }
+
+    private VehicleType vehicleType(ByteBuffer buffer, int token, int tokens) {
+        requireToken(token, tokens);
+        return TYPES[match(buffer, token, TYPE_NAMES)];
+    }
+
+    private int match(ByteBuffer buffer, int token, byte[][] names) {
+        int length = tokenEnd[token] - tokenStart[token];
+        for (int n = 0; n < names.length; n++) {
+            byte[] name = names[n];
+            if (name.length != length) {
+                continue;
+            }
+            int j = 0;
+            while (j < length && (buffer.get(tokenStart[token] + j) | 0x20) == (name[j] | 0x20)) {
+                j++;
+            }
+            if (j == length) {
+                return n;
+            }
+        }
+        throw new IllegalArgumentException("Line " + lineNumber + ": unknown token '" + text(buffer, token, token + 1) + "'");
+    }
+
+    private String text(ByteBuffer buffer, int token, int tokens) {
+        requireToken(token, tokens);
+        int length = tokenEnd[token] - tokenStart[token];
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(tokenStart[token], scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    private int integer(ByteBuffer buffer, int token, int tokens) {
+        String text = text(buffer, token, tokens);
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": not a number '" + text + "'");
+        }
+    }
+
+    private void requireToken(int token, int tokens) {
+        if (token >= tokens) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": missing argument " + token);
+        }
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static byte[][] names(Enum<?>[] values) {
+        byte[][] names = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            names[i] = values[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,22 @@
+package org.parking_lot.ParkingLotApplication;
+
+import org.parking_lot.Models.EntryGate;
+import org.parking_lot.enums.ApplicationInput;
+import org.parking_lot.enums.VehicleType;
+
+/**
+ * One parsed line of a {@link CommandDriver} script.
+ *
+ * @param input         the command.
+ * @param vehicleNumber vehicle number for ENTRY and EXIT, otherwise null.
+ * @param vehicleType   vehicle type for ENTRY and ADD_SPOT, otherwise null.
+ * @param argument      gate id for ENTRY, floor for ADD_SPOT, spot id for REMOVE_SPOT; null when absent.
+ * @param gate          the gate to register for ADD_GATE, otherwise null.
+ */
+record DriverCommand(ApplicationInput input, String vehicleNumber, VehicleType vehicleType, String argument,
+                     EntryGate gate) {
+
+    DriverCommand(ApplicationInput input, String vehicleNumber, VehicleType vehicleType, String argument) {
+        this(input, vehicleNumber, vehicleType, argument, null);
+    }
+}
@@ -0,0 +1,63 @@
+package org.parking_lot.ParkingLotApplication;
+
+import org.parking_lot.Metrics.LatencyHistogram;
+import org.parking_lot.enums.ApplicationInput;
+
+import java.util.Map;
+
+/**
+ * Outcome of a {@link CommandDriver} run: throughput, failures and per-command latency.
+ * Latencies are the time spent executing a command, in nanoseconds.
+ */
+public class DriverReport {
+    private final long elapsedNanos;
+    private final Map<ApplicationInput, LatencyHistogram.Summary> latencyByInput;
+    private final long failed;
+    private final long malformedLines;
+
+    DriverReport(long elapsedNanos, Map<ApplicationInput, LatencyHistogram.Summary> latencyByInput,
+                 long failed, long malformedLines) {
+        this.elapsedNanos = elapsedNanos;
+        this.latencyByInput = latencyByInput;
+        this.failed = failed;
+        this.malformedLines = malformedLines;
+    }
+
+    public long getCommands() {
+        return latencyByInput.values().stream().mapToLong(LatencyHistogram.Summary::count).sum();
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getMalformedLines() {
+        return malformedLines;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getThroughputPerSecond() {
+        return elapsedNanos == 0 ? 0 : getCommands() * 1e9 / elapsedNanos;
+    }
+
+    public Map<ApplicationInput, LatencyHistogram.Summary> getLatencyByInput() {
+        return latencyByInput;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%d commands in %.3f s (%.0f/s), %d failed, %d malformed lines%n",
+                getCommands(), elapsedNanos / 1e9, getThroughputPerSecond(), failed, malformedLines));
+        latencyByInput.forEach((input, latency) -> {
+            if (latency.count() > 0) {
+                out.append(String.format("%-11s n=%d mean=%.0fns p50=%dns p99=%dns p999=%dns max=%dns%n",
+                        input, latency.count(), latency.mean(), latency.p50(), latency.p99(), latency.p999(), latency.max()));
+            }
+        });
+        return out.toString();
+    }
+}
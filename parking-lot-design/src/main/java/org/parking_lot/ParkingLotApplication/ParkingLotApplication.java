@@ -1,16 +1,16 @@
 package org.parking_lot.ParkingLotApplication;
 
+import org.parking_lot.Models.EntryGate;
+import org.parking_lot.Models.Settlement;
 import org.parking_lot.Models.Ticket;
 import org.parking_lot.Models.Vehicle;
-import org.parking_lot.Services.EntryService;
-import org.parking_lot.Services.ExitService;
+import org.parking_lot.Repositories.TicketRepository;
 import org.parking_lot.enums.ApplicationInput;
 import org.parking_lot.enums.VehicleType;
-import org.parking_lot.ParkingSpotManagers.ParkingManagerStrategy;
-import org.parking_lot.ServiceImpl.EntryServiceImpl;
-import org.parking_lot.ServiceImpl.ExitServiceImpl;
 
-import java.util.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Scanner;
 
 /**
  * Main application class that handles the command-line interface for the Parking Lot System.
@@ -26,34 +26,53 @@ import java.util.*;
  */
 public class ParkingLotApplication {
 
+    /**
+     * Id of the gate registered at the start of the ground floor, next to the default spots.
+     */
+    public static final String MAIN_GATE = "main";
+
     private final Scanner sc;
-    private final Set<Ticket> tickets = new HashSet<>();
-    private final EntryService entryService;
-    private final ExitService exitService;
-    private final ParkingManagerStrategy managerStrategy;
+    private final ParkingLotOperations operations;
+    private final TicketRepository tickets;
 
     /**
      * Constructs a ParkingLotApplication instance and starts the application flow.
      *
      * @param sc Scanner object used to read user input.
      */
-    public ParkingLotApplication(Scanner sc) {
+    public ParkingLotApplication(Scanner sc) throws IOException {
+        this(sc, null);
+    }
+
+    /**
+     * Constructs a ParkingLotApplication whose state is journaled to disk and starts the application flow.
+     * Any state left in the journal directory by a previous run is restored first.
+     *
+     * @param sc               Scanner object used to read user input.
+     * @param journalDirectory directory for the journal and snapshots, or null to keep state in memory only.
+     */
+    public ParkingLotApplication(Scanner sc, Path journalDirectory) throws IOException {
         this.sc = sc;
-        this.entryService = new EntryServiceImpl();
-        this.exitService = new ExitServiceImpl();
-        this.managerStrategy = ParkingManagerStrategy.getInstance();
+        this.operations = new ParkingLotOperations(journalDirectory);
+        this.tickets = operations.tickets();
         setUp();
         start();
     }
 
     /**
-     * Initializes the system with 10 default parking spots each for
-     * TWO_WHEELER and FOUR_WHEELER vehicles.
+     * Registers the {@value #MAIN_GATE} gate and initializes the system with 10 default parking
+     * spots each for TWO_WHEELER and FOUR_WHEELER vehicles, unless spots were restored from the journal.
      */
     private void setUp() {
+        operations.addGate(new EntryGate(MAIN_GATE, 0, 0));
+        int restored = operations.spotCount();
+        if (restored > 0) {
+            System.out.println("Restored " + restored + " spots and " + tickets.size() + " parked vehicles.");
+            return;
+        }
         for (int i = 0; i < 10; i++) {
-            managerStrategy.getManager(VehicleType.TWO_WHEELER).addParkingSpot();
-            managerStrategy.getManager(VehicleType.FOUR_WHEELER).addParkingSpot();
+            operations.addSpot(VehicleType.TWO_WHEELER);
+            operations.addSpot(VehicleType.FOUR_WHEELER);
         }
         System.out.println("Initialized 10 spots each for TWO_WHEELER and FOUR_WHEELER.");
     }
@@ -72,32 +91,49 @@ public class ParkingLotApplication {
                 switch (command) {
                     case STOP -> {
                         System.out.println("Shutting down...");
+                        operations.close();
                         return;
                     }
 
                     case ENTRY -> {
                         Vehicle vehicle = inputVehicle();
-                        Ticket ticket = entryService.enterVehicle(vehicle);
-                        tickets.add(ticket);
+                        System.out.println("Enter Gate ID (" + MAIN_GATE + ", or blank for any free spot):");
+                        String gateId = sc.nextLine().trim();
+                        Ticket ticket = gateId.isEmpty() ? operations.enter(vehicle) : operations.enter(vehicle, gateId);
                         System.out.println("Ticket issued: " + ticket);
                     }
 
                     case EXIT -> {
                         System.out.println("Enter Ticket ID to unpark:");
                         String ticketId = sc.nextLine();
-                        Ticket ticket = findTicket(ticketId);
+                        Ticket ticket = tickets.findById(ticketId);
                         if (ticket == null) {
                             System.out.println("Ticket not found.");
                             break;
                         }
-                        double price = exitService.exit(ticket);
+                        Double price = operations.exit(ticket);
+                        if (price == null) {
+                            System.out.println("Ticket not found.");
+                            break;
+                        }
                         System.out.println("Unparked. Total price: ₹" + price);
+                        System.out.println("Vehicles still parked of type " + ticket.getVehicle().getVehicleType()
+                                + ": " + tickets.count(ticket.getVehicle().getVehicleType()));
+                    }
+
+                    case EXIT_ALL -> {
+                        Settlement settlement = operations.exitAll(tickets.findAll());
+                        System.out.println("Unparked " + (settlement.size() - settlement.getUnsettledCount())
+                                + " vehicles. Total price: ₹" + settlement.getTotal());
+                        if (settlement.getUnsettledCount() > 0) {
+                            System.out.println(settlement.getUnsettledCount() + " tickets could not be settled.");
+                        }
                     }
 
                     case ADD_SPOT -> {
                         System.out.println("Enter Vehicle Type of Spot (TWO_WHEELER / FOUR_WHEELER):");
                         VehicleType type = VehicleType.valueOf(sc.nextLine().trim().toUpperCase());
-                        managerStrategy.getManager(type).addParkingSpot();
+                        operations.addSpot(type);
                         System.out.println("Spot added.");
                     }
 
@@ -106,10 +142,21 @@ public class ParkingLotApplication {
                         VehicleType type = VehicleType.valueOf(sc.nextLine().trim().toUpperCase());
                         System.out.println("Enter Spot ID to remove:");
                         String id = sc.nextLine();
-                        managerStrategy.getManager(type).removeParkingSpot(id);
+                        operations.removeSpot(type, id);
                         System.out.println("Spot removed.");
                     }
 
+                    case ADD_GATE -> {
+                        System.out.println("Enter Gate ID:");
+                        String gateId = sc.nextLine().trim();
+                        System.out.println("Enter Floor and Slot of the Gate:");
+                        int floor = sc.nextInt();
+                        int slot = sc.nextInt();
+                        sc.nextLine(); // consume newline
+                        operations.addGate(new EntryGate(gateId, floor, slot));
+                        System.out.println("Gate added.");
+                    }
+
                     default -> System.out.println("Unknown command.");
                 }
             } catch (Exception e) {
@@ -131,19 +178,6 @@ public class ParkingLotApplication {
         return new Vehicle(number, type);
     }
 
-    /**
-     * Finds a ticket from the current ticket set based on the given ticket ID.
-     *
-     * @param ticketId The ID of the ticket to be searched.
-     * @return The matching Ticket object, or null if not found.
-     */
-    private Ticket findTicket(String ticketId) {
-        return tickets.stream()
-                .filter(t -> t.getTicketId().equals(ticketId))
-                .findFirst()
-                .orElse(null);
-    }
-
     /**
      * Displays all the available user input options on the console.
      */
@@ -0,0 +1,228 @@
+package org.parking_lot.ParkingLotApplication;
+
+import org.parking_lot.Journal.JournalRecord;
+import org.parking_lot.Journal.ParkingLotJournal;
+import org.parking_lot.Models.EntryGate;
+import org.parking_lot.Models.Settlement;
+import org.parking_lot.Models.Ticket;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpotManagers.ParkingManagerStrategy;
+import org.parking_lot.ParkingSpotManagers.ParkingSpotManager;
+import org.parking_lot.ParkingSpots.ParkingSpot;
+import org.parking_lot.Repositories.TicketRepository;
+import org.parking_lot.ServiceImpl.EntryServiceImpl;
+import org.parking_lot.ServiceImpl.ExitServiceImpl;
+import org.parking_lot.Services.EntryService;
+import org.parking_lot.Services.ExitService;
+import org.parking_lot.enums.VehicleType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The lot's state-changing operations, shared by the interactive {@link ParkingLotApplication}
+ * and the headless {@link CommandDriver}. Every operation goes through the journal when one is
+ * configured, and all of them are safe to call from several threads.
+ *
+ * @author Kartik Sethi
+ */
+class ParkingLotOperations implements Closeable {
+
+    private final TicketRepository tickets = new TicketRepository();
+    private final EntryService entryService;
+    private final ExitService exitService;
+    private final ParkingManagerStrategy managerStrategy;
+    private final ParkingLotJournal journal;
+
+    /**
+     * @param journalDirectory directory for the journal and snapshots, or null to keep state in memory only.
+     *                         Any state left there by a previous run is restored first.
+     */
+    ParkingLotOperations(Path journalDirectory) throws IOException {
+        this.entryService = new EntryServiceImpl();
+        this.exitService = new ExitServiceImpl();
+        this.managerStrategy = ParkingManagerStrategy.getInstance();
+        this.journal = journalDirectory == null ? null : new ParkingLotJournal(journalDirectory, managerStrategy, tickets);
+    }
+
+    TicketRepository tickets() {
+        return tickets;
+    }
+
+    /**
+     * @return number of spots of every type, e.g. the ones restored from the journal.
+     */
+    int spotCount() {
+        int spots = 0;
+        for (VehicleType type : VehicleType.values()) {
+            spots += managerStrategy.getManager(type).getParkingSpots().size();
+        }
+        return spots;
+    }
+
+    /**
+     * Books a spot for the vehicle and stores its ticket.
+     *
+     * @param vehicle the entering vehicle.
+     * @return the issued ticket.
+     */
+    Ticket enter(Vehicle vehicle) {
+        return journaled(() -> {
+            Ticket ticket = entryService.enterVehicle(vehicle);
+            tickets.save(ticket);
+            return ticket;
+        }, JournalRecord::entry);
+    }
+
+    /**
+     * Books the spot nearest to an entry gate for the vehicle and stores its ticket.
+     *
+     * @param vehicle the entering vehicle.
+     * @param gateId  id of a registered entry gate.
+     * @return the issued ticket.
+     */
+    Ticket enter(Vehicle vehicle, String gateId) {
+        return journaled(() -> {
+            Ticket ticket = entryService.enterVehicle(vehicle, gateId);
+            tickets.save(ticket);
+            return ticket;
+        }, JournalRecord::entry);
+    }
+
+    /**
+     * Frees the ticket's spot and closes the ticket. Only one caller can close a given ticket.
+     *
+     * @param ticket the ticket of the exiting vehicle.
+     * @return the price to pay, or null if the ticket was already closed.
+     */
+    Double exit(Ticket ticket) {
+        return journaled(ticket.getParkingSpotId(), () -> {
+            if (tickets.remove(ticket.getTicketId()) == null) {
+                return null;
+            }
+            try {
+                return exitService.exit(ticket);
+            } catch (RuntimeException e) {
+                tickets.save(ticket); // keep the ticket so the exit can be retried
+                throw e;
+            }
+        }, price -> price == null ? null : JournalRecord.exit(ticket));
+    }
+
+    /**
+     * Closes many tickets at once, e.g. at shift close, freeing their spots in one pass per
+     * vehicle type. Each settled ticket is closed and journaled as {@link #exit(Ticket)} would;
+     * a ticket that another caller already closed is skipped, and one whose spot no longer holds
+     * its vehicle is left open.
+     *
+     * @param batch tickets of the exiting vehicles.
+     * @return prices in iteration order of {@code batch}, NaN for every ticket not settled by this call.
+     */
+    Settlement exitAll(Collection<Ticket> batch) {
+        Ticket[] requested = batch.toArray(new Ticket[0]);
+        boolean[] claimed = new boolean[requested.length];
+        List<Ticket> closing = new ArrayList<>(requested.length);
+        List<String> spotIds = new ArrayList<>(requested.length);
+        for (int i = 0; i < requested.length; i++) {
+            claimed[i] = tickets.remove(requested[i].getTicketId()) != null;
+            if (claimed[i]) {
+                closing.add(requested[i]);
+                spotIds.add(requested[i].getParkingSpotId());
+            }
+        }
+        Settlement settlement;
+        try {
+            settlement = journaledAll(spotIds, () -> exitService.exitAll(closing), settled -> {
+                List<JournalRecord> records = new ArrayList<>(closing.size());
+                for (int i = 0; i < closing.size(); i++) {
+                    if (!Double.isNaN(settled.getPrice(i))) {
+                        records.add(JournalRecord.exit(closing.get(i)));
+                    }
+                }
+                return records;
+            });
+        } catch (RuntimeException e) {
+            closing.forEach(tickets::save); // keep the tickets so the exits can be retried
+            throw e;
+        }
+
+        double[] prices = new double[requested.length];
+        double[] totalByType = new double[VehicleType.values().length];
+        int[] settledByType = new int[VehicleType.values().length];
+        int unsettled = 0;
+        for (int i = 0, k = 0; i < requested.length; i++) {
+            prices[i] = claimed[i] ? settlement.getPrice(k++) : Double.NaN;
+            if (Double.isNaN(prices[i])) {
+                if (claimed[i]) {
+                    tickets.save(requested[i]);
+                }
+                unsettled++;
+            }
+        }
+        for (VehicleType type : VehicleType.values()) {
+            totalByType[type.ordinal()] = settlement.getTotal(type);
+            settledByType[type.ordinal()] = settlement.getCount(type);
+        }
+        return new Settlement(prices, totalByType, settledByType, unsettled);
+    }
+
+    ParkingSpot addSpot(VehicleType type) {
+        return addSpot(type, 0);
+    }
+
+    ParkingSpot addSpot(VehicleType type, int floor) {
+        String spotId = UUID.randomUUID().toString();
+        return journaled(spotId, () -> managerStrategy.getManager(type).addParkingSpot(spotId, floor), JournalRecord::addSpot);
+    }
+
+    void removeSpot(VehicleType type, String spotId) {
+        ParkingSpotManager<? extends ParkingSpot> manager = managerStrategy.getManager(type);
+        journaled(spotId, () -> {
+            ParkingSpot spot = manager.getParkingSpotById(spotId);
+            if (spot != null) {
+                manager.removeParkingSpot(spotId);
+            }
+            return spot;
+        }, spot -> spot == null ? null : JournalRecord.removeSpot(spot));
+    }
+
+    /**
+     * Registers an entry gate for {@link #enter(Vehicle, String)}. Gates describe the lot's layout,
+     * not its state, so they are not journaled and are declared again after a restart.
+     *
+     * @param gate the gate to register.
+     */
+    void addGate(EntryGate gate) {
+        managerStrategy.addEntryGate(gate);
+    }
+
+    private <R> R journaled(Supplier<R> mutation, Function<R, JournalRecord> toRecord) {
+        return journal == null ? mutation.get() : journal.record(mutation, toRecord);
+    }
+
+    private <R> R journaled(String spotId, Supplier<R> mutation, Function<R, JournalRecord> toRecord) {
+        return journal == null ? mutation.get() : journal.record(spotId, mutation, toRecord);
+    }
+
+    private <R> R journaledAll(Collection<String> spotIds, Supplier<R> mutation, Function<R, List<JournalRecord>> toRecords) {
+        return journal == null ? mutation.get() : journal.recordAll(spotIds, mutation, toRecords);
+    }
+
+    /**
+     * Snapshots and closes the journal, if there is one.
+     */
+    @Override
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.snapshot();
+            journal.close();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package org.parking_lot.ParkingSpotManagers;
+
+import org.parking_lot.Models.EntryGate;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpots.ParkingSpot;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free {@link ParkingSpotIndex} for lots with several entry gates.
+ * <p>
+ * Free spots sit in a {@link ConcurrentLinkedQueue} and each spot is claimed with a CAS on
+ * its occupant ({@link ParkingSpot#tryParkVehicle(Vehicle)}), so two gates can never be
+ * handed the same spot and no gate ever waits on a global lock. A spot is only put back on
+ * the queue by the thread whose CAS freed it.
+ * </p>
+ * <p>
+ * Spots booked through {@link #claimNearest(Vehicle, EntryGate)} leave a stale entry in the
+ * queue, which fails its CAS and is dropped when polled. If gate bookings pile up stale
+ * entries faster than they are polled, the queue is compacted once it holds more than twice
+ * as many entries as there are spots.
+ * </p>
+ * <p>
+ * The {@link NearestSpotLocator} behind gate bookings is created by the first
+ * {@link #trackNearestSpots()}; until then claims and releases only touch the queue. It is
+ * published before the existing spots are copied into it, so a spot freed concurrently is
+ * either seen free by the copy or offered by the thread that freed it. A spot claimed during
+ * the copy may be offered once too often, which the locator's own CAS turns away.
+ * </p>
+ *
+ * @param <T> the type of parking spot held by this index
+ */
+class ConcurrentParkingSpotIndex<T extends ParkingSpot> implements ParkingSpotIndex<T> {
+    private final Map<String, T> spotsById = new ConcurrentHashMap<>();
+    private final Queue<T> freeSpots = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedSpots = new AtomicInteger();
+    // odd while a compaction holds spots out of the queue
+    private final AtomicInteger compactions = new AtomicInteger();
+    private volatile NearestSpotLocator<T> nearestSpots;
+
+    @Override
+    public void add(T spot) {
+        spotsById.put(spot.getId(), spot);
+        if (!spot.isOccupied()) {
+            NearestSpotLocator<T> locator = nearestSpots;
+            if (locator != null) {
+                locator.offer(spot);
+            }
+            enqueue(spot);
+        }
+    }
+
+    @Override
+    public T remove(String spotId) {
+        T spot = spotsById.remove(spotId);
+        NearestSpotLocator<T> locator = nearestSpots;
+        if (spot != null && locator != null) {
+            locator.discard(spot);
+        }
+        return spot;
+    }
+
+    @Override
+    public T get(String spotId) {
+        return spotsById.get(spotId);
+    }
+
+    @Override
+    public T peekFree() {
+        for (T spot : freeSpots) {
+            if (isRegistered(spot) && !spot.isOccupied()) {
+                return spot;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public T claim(Vehicle vehicle) {
+        int round;
+        do {
+            round = compactions.get();
+            T spot;
+            while ((spot = dequeue()) != null) {
+                if (!spot.tryParkVehicle(vehicle)) {
+                    continue;
+                }
+                if (isRegistered(spot)) {
+                    NearestSpotLocator<T> locator = nearestSpots;
+                    if (locator != null) {
+                        locator.discard(spot);
+                    }
+                    return spot;
+                }
+                // the spot was removed while queued; give it back and look further
+                spot.removeVehicle();
+            }
+            // a compaction may have been holding free spots out of the queue; look again once it is done
+            while ((compactions.get() & 1) != 0) {
+                Thread.onSpinWait();
+            }
+        } while (compactions.get() != round);
+        return null;
+    }
+
+    @Override
+    public void trackNearestSpots() {
+        if (nearestSpots != null) {
+            return;
+        }
+        synchronized (this) {
+            if (nearestSpots != null) {
+                return;
+            }
+            NearestSpotLocator<T> locator = new NearestSpotLocator<>();
+            nearestSpots = locator;
+            for (T spot : spotsById.values()) {
+                if (!spot.isOccupied()) {
+                    locator.offer(spot);
+                }
+            }
+        }
+    }
+
+    @Override
+    public T claimNearest(Vehicle vehicle, EntryGate gate) {
+        trackNearestSpots();
+        return nearestSpots.claimNearest(vehicle, gate, this::isRegistered);
+    }
+
+    @Override
+    public boolean vacate(T spot) {
+        if (!spot.tryRemoveVehicle()) {
+            return false;
+        }
+        if (isRegistered(spot)) {
+            // read after the CAS above, see the class comment
+            NearestSpotLocator<T> locator = nearestSpots;
+            if (locator != null) {
+                locator.offer(spot);
+            }
+            enqueue(spot);
+        }
+        if (queuedSpots.get() > 2 * spotsById.size() + 64) {
+            compact();
+        }
+        return true;
+    }
+
+    @Override
+    public Collection<T> spots() {
+        return spotsById.values();
+    }
+
+    private void enqueue(T spot) {
+        queuedSpots.incrementAndGet();
+        freeSpots.offer(spot);
+    }
+
+    private T dequeue() {
+        T spot = freeSpots.poll();
+        if (spot != null) {
+            queuedSpots.decrementAndGet();
+        }
+        return spot;
+    }
+
+    /**
+     * Cycles the queue once, keeping one entry per free spot and dropping the stale ones.
+     * Only one thread compacts at a time; the others carry on booking.
+     */
+    private void compact() {
+        int round = compactions.get();
+        if ((round & 1) != 0 || !compactions.compareAndSet(round, round + 1)) {
+            return;
+        }
+        try {
+            Set<T> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int i = queuedSpots.get(); i > 0; i--) {
+                T spot = dequeue();
+                if (spot == null) {
+                    break;
+                }
+                if (isRegistered(spot) && !spot.isOccupied() && kept.add(spot)) {
+                    enqueue(spot);
+                }
+            }
+        } finally {
+            compactions.incrementAndGet();
+        }
+    }
+
+    private boolean isRegistered(T spot) {
+        return spotsById.get(spot.getId()) == spot;
+    }
+}
@@ -2,13 +2,11 @@ package org.parking_lot.ParkingSpotManagers;
 
 import org.parking_lot.ParkingSpots.FourWheelerSpot;
 
-import java.util.ArrayList;
-
 public class FourWheelerParkingSpotManager extends ParkingSpotManager<FourWheelerSpot> {
     private static final FourWheelerParkingSpotManager INSTANCE = new FourWheelerParkingSpotManager();
 
     private FourWheelerParkingSpotManager(){
-        super(new ArrayList<>());
+        super();
     }
 
     public static FourWheelerParkingSpotManager getInstance() {
@@ -16,12 +14,12 @@ public class FourWheelerParkingSpotManager extends ParkingSpotManager<FourWheele
     }
 
     @Override
-    public void addParkingSpot() {
-        parkingSpots.add(new FourWheelerSpot()); // you'll need to make parkingSpots protected or use a getter
+    protected FourWheelerSpot newParkingSpot(String id, int floor, int slot) {
+        return new FourWheelerSpot(id, floor, slot);
     }
 
     @Override
     public void removeParkingSpot(String id) {
-        parkingSpots.removeIf(spot -> spot.getId().equals(id));
+        removeFromIndex(id);
     }
 }
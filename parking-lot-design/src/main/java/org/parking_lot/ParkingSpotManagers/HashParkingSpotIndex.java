@@ -0,0 +1,141 @@
+package org.parking_lot.ParkingSpotManagers;
+
+import org.parking_lot.Models.EntryGate;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpots.ParkingSpot;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single-threaded {@link ParkingSpotIndex}.
+ * <p>
+ * Keeps an id -> spot hash index together with a FIFO queue of free spots so that
+ * booking, clearing and removing a spot are all constant-time operations.
+ * Removed spots are not searched for in the free queue; they are dropped lazily the
+ * next time they reach its head, which keeps removal O(1) and booking amortized O(1).
+ * Gate-based bookings go through a {@link NearestSpotLocator} instead, which is only built
+ * once a gate booking is expected, so lots booked without gates never pay for its ordering.
+ * </p>
+ *
+ * @param <T> the type of parking spot held by this index
+ */
+class HashParkingSpotIndex<T extends ParkingSpot> implements ParkingSpotIndex<T> {
+    private final Map<String, T> spotsById = new HashMap<>();
+    private final Deque<T> freeSpots = new ArrayDeque<>();
+    // null until the first gate booking
+    private NearestSpotLocator<T> nearestSpots;
+
+    @Override
+    public void add(T spot) {
+        spotsById.put(spot.getId(), spot);
+        if (!spot.isOccupied()) {
+            freeSpots.offer(spot);
+            if (nearestSpots != null) {
+                nearestSpots.offer(spot);
+            }
+        }
+    }
+
+    @Override
+    public T remove(String spotId) {
+        T spot = spotsById.remove(spotId);
+        if (spot != null && nearestSpots != null) {
+            nearestSpots.discard(spot);
+        }
+        return spot;
+    }
+
+    @Override
+    public T get(String spotId) {
+        return spotsById.get(spotId);
+    }
+
+    @Override
+    public T peekFree() {
+        T spot = freeSpots.peek();
+        while (spot != null && !isLive(spot)) {
+            freeSpots.poll();
+            spot = freeSpots.peek();
+        }
+        return spot;
+    }
+
+    @Override
+    public T claim(Vehicle vehicle) {
+        T spot = peekFree();
+        if (spot != null) {
+            freeSpots.poll();
+            if (nearestSpots != null) {
+                nearestSpots.discard(spot);
+            }
+            spot.parkVehicle(vehicle);
+        }
+        return spot;
+    }
+
+    @Override
+    public void trackNearestSpots() {
+        if (nearestSpots != null) {
+            return;
+        }
+        nearestSpots = new NearestSpotLocator<>();
+        for (T spot : spotsById.values()) {
+            if (!spot.isOccupied()) {
+                nearestSpots.offer(spot);
+            }
+        }
+    }
+
+    @Override
+    public T claimNearest(Vehicle vehicle, EntryGate gate) {
+        trackNearestSpots();
+        // the spot's entry in the free queue goes stale and is skipped when it reaches the head
+        return nearestSpots.claimNearest(vehicle, gate, this::isRegistered);
+    }
+
+    @Override
+    public boolean vacate(T spot) {
+        if (!spot.isOccupied()) {
+            return false;
+        }
+        spot.removeVehicle();
+        freeSpots.offer(spot);
+        if (nearestSpots != null) {
+            nearestSpots.offer(spot);
+        }
+        if (freeSpots.size() > 2 * spotsById.size() + 64) {
+            compactFreeSpots();
+        }
+        return true;
+    }
+
+    @Override
+    public Collection<T> spots() {
+        return spotsById.values();
+    }
+
+    /**
+     * Spots booked through {@link #claimNearest(Vehicle, EntryGate)} leave stale entries in the
+     * free queue; once those outnumber the spots the queue is rebuilt, which is amortized O(1).
+     */
+    private void compactFreeSpots() {
+        freeSpots.clear();
+        for (T spot : spotsById.values()) {
+            if (!spot.isOccupied()) {
+                freeSpots.offer(spot);
+            }
+        }
+    }
+
+    private boolean isLive(T spot) {
+        return isRegistered(spot) && !spot.isOccupied();
+    }
+
+    private boolean isRegistered(T spot) {
+        return spotsById.get(spot.getId()) == spot;
+    }
+}
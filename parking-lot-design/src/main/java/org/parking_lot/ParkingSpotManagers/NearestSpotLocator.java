@@ -0,0 +1,120 @@
+package org.parking_lot.ParkingSpotManagers;
+
+import org.parking_lot.Models.EntryGate;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpots.ParkingSpot;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Finds the free spot nearest to an {@link EntryGate}.
+ * <p>
+ * Free spots are kept per floor in a skip list ordered by slot, so the nearest spot on one
+ * floor is a {@code ceiling}/{@code lower} lookup in O(log n). Floors are visited outward from
+ * the gate's floor and the walk stops as soon as the floor change alone costs more than the
+ * best spot found, so an allocation usually touches one or two floors.
+ * </p>
+ * <p>
+ * Distance is {@code |floor - gateFloor| * FLOOR_DISTANCE + |slot - gateSlot|}. Spots are
+ * claimed by removing them from their floor and then CAS-ing their occupant, so the locator is
+ * safe to use from many gates at once and alongside the index's own free queue.
+ * </p>
+ *
+ * @param <T> the type of parking spot
+ */
+class NearestSpotLocator<T extends ParkingSpot> {
+    /**
+     * Cost of driving up or down one floor, expressed in slots.
+     */
+    static final int FLOOR_DISTANCE = 50;
+
+    private final NavigableMap<Integer, ConcurrentSkipListMap<Integer, T>> freeSpotsByFloor = new ConcurrentSkipListMap<>();
+
+    /**
+     * Makes a free spot available to nearest-spot allocation.
+     */
+    void offer(T spot) {
+        freeSpotsByFloor.computeIfAbsent(spot.getFloor(), f -> new ConcurrentSkipListMap<>()).put(spot.getSlot(), spot);
+    }
+
+    /**
+     * Withdraws a spot that was booked through another path or removed from the lot.
+     */
+    void discard(T spot) {
+        ConcurrentSkipListMap<Integer, T> floor = freeSpotsByFloor.get(spot.getFloor());
+        if (floor != null) {
+            floor.remove(spot.getSlot(), spot);
+        }
+    }
+
+    /**
+     * Claims the free spot nearest to the gate and parks the vehicle in it.
+     *
+     * @param vehicle    the vehicle to park
+     * @param gate       the gate the vehicle entered through
+     * @param registered whether a spot still belongs to the lot
+     * @return the claimed spot, or null if no spot is free
+     */
+    T claimNearest(Vehicle vehicle, EntryGate gate, Predicate<T> registered) {
+        while (true) {
+            T spot = findNearest(gate);
+            if (spot == null) {
+                return null;
+            }
+            if (!freeSpotsByFloor.get(spot.getFloor()).remove(spot.getSlot(), spot)) {
+                continue; // another gate took it first
+            }
+            if (!spot.tryParkVehicle(vehicle)) {
+                continue; // booked through the free queue; drop the stale entry
+            }
+            if (registered.test(spot)) {
+                return spot;
+            }
+            spot.removeVehicle();
+        }
+    }
+
+    private T findNearest(EntryGate gate) {
+        T best = null;
+        long bestDistance = Long.MAX_VALUE;
+
+        for (Map.Entry<Integer, ConcurrentSkipListMap<Integer, T>> floor : freeSpotsByFloor.tailMap(gate.getFloor(), true).entrySet()) {
+            long floorDistance = (long) (floor.getKey() - gate.getFloor()) * FLOOR_DISTANCE;
+            if (floorDistance >= bestDistance) {
+                break;
+            }
+            T candidate = nearestOnFloor(floor.getValue(), gate.getSlot());
+            if (candidate != null && floorDistance + Math.abs(candidate.getSlot() - gate.getSlot()) < bestDistance) {
+                best = candidate;
+                bestDistance = floorDistance + Math.abs(candidate.getSlot() - gate.getSlot());
+            }
+        }
+        for (Map.Entry<Integer, ConcurrentSkipListMap<Integer, T>> floor : freeSpotsByFloor.headMap(gate.getFloor(), false).descendingMap().entrySet()) {
+            long floorDistance = (long) (gate.getFloor() - floor.getKey()) * FLOOR_DISTANCE;
+            if (floorDistance >= bestDistance) {
+                break;
+            }
+            T candidate = nearestOnFloor(floor.getValue(), gate.getSlot());
+            if (candidate != null && floorDistance + Math.abs(candidate.getSlot() - gate.getSlot()) < bestDistance) {
+                best = candidate;
+                bestDistance = floorDistance + Math.abs(candidate.getSlot() - gate.getSlot());
+            }
+        }
+        return best;
+    }
+
+    private T nearestOnFloor(ConcurrentSkipListMap<Integer, T> floor, int slot) {
+        Map.Entry<Integer, T> above = floor.ceilingEntry(slot);
+        Map.Entry<Integer, T> below = floor.lowerEntry(slot);
+        if (above == null) {
+            return below == null ? null : below.getValue();
+        }
+        if (below == null) {
+            return above.getValue();
+        }
+        return above.getKey() - slot <= slot - below.getKey() ? above.getValue() : below.getValue();
+    }
+}
@@ -1,15 +1,23 @@
 package org.parking_lot.ParkingSpotManagers;
 
+import org.parking_lot.Metrics.MetricsRegistry;
+import org.parking_lot.Metrics.ParkingLotMetrics;
+import org.parking_lot.Models.EntryGate;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.enums.BookingMode;
 import org.parking_lot.enums.VehicleType;
 import org.parking_lot.ParkingSpots.ParkingSpot;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class ParkingManagerStrategy {
 
     private static final ParkingManagerStrategy INSTANCE = new ParkingManagerStrategy();
 
     private final Map<VehicleType, ParkingSpotManager<? extends ParkingSpot>> map = new HashMap<>();
+    private final Map<String, EntryGate> gates = new ConcurrentHashMap<>();
 
     private ParkingManagerStrategy() {
         init();
@@ -22,9 +30,51 @@ public class ParkingManagerStrategy {
     private void init() {
         map.put(VehicleType.TWO_WHEELER, TwoWheelerParkingSpotManager.getInstance());
         map.put(VehicleType.FOUR_WHEELER, FourWheelerParkingSpotManager.getInstance());
+        // each manager counts its occupied spots as they are claimed and released, so a snapshot
+        // reads a counter instead of walking an index another thread may be changing
+        map.forEach((type, manager) -> MetricsRegistry.getInstance().gauge(ParkingLotMetrics.OCCUPANCY_PREFIX + type,
+                manager::getOccupiedSpotCount));
     }
 
     public ParkingSpotManager<? extends ParkingSpot> getManager(VehicleType type) {
         return map.get(type);
     }
+
+    /**
+     * Applies the booking mode to every manager, e.g. {@link BookingMode#CONCURRENT}
+     * when several entry gates call {@code EntryService.enterVehicle} in parallel.
+     */
+    public void setBookingMode(BookingMode mode) {
+        map.values().forEach(manager -> manager.setBookingMode(mode));
+    }
+
+    /**
+     * Registers an entry gate, or moves a gate that is already registered under the same id.
+     * The first gate turns on nearest-spot ordering in every manager.
+     *
+     * @param gate the gate vehicles can enter through
+     */
+    public void addEntryGate(EntryGate gate) {
+        map.values().forEach(ParkingSpotManager::enableNearestSpotBooking);
+        gates.put(gate.getGateId(), gate);
+    }
+
+    public EntryGate getEntryGate(String gateId) {
+        EntryGate gate = gates.get(gateId);
+        if (gate == null) {
+            throw new IllegalArgumentException("Entry gate not found: " + gateId);
+        }
+        return gate;
+    }
+
+    /**
+     * Books the spot nearest to the given gate, in logarithmic time in the number of free spots.
+     *
+     * @param vehicle the entering vehicle
+     * @param gateId  id of a gate registered with {@link #addEntryGate(EntryGate)}
+     * @return the booked spot
+     */
+    public ParkingSpot bookNearestParkingSpot(Vehicle vehicle, String gateId) {
+        return getManager(vehicle.getVehicleType()).bookNearestParkingSpot(vehicle, getEntryGate(gateId));
+    }
 }
@@ -0,0 +1,87 @@
+package org.parking_lot.ParkingSpotManagers;
+
+import org.parking_lot.Models.EntryGate;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpots.ParkingSpot;
+
+import java.util.Collection;
+
+/**
+ * Allocation engine backing a {@link ParkingSpotManager}.
+ * <p>
+ * Implementations keep an id -> spot index and a set of free spots so that booking,
+ * clearing and removing a spot do not scan the whole lot.
+ * </p>
+ *
+ * @param <T> the type of parking spot held by this index
+ */
+interface ParkingSpotIndex<T extends ParkingSpot> {
+
+    /**
+     * Registers a spot; free spots become available for booking.
+     *
+     * @param spot the spot to add
+     */
+    void add(T spot);
+
+    /**
+     * Removes a spot from the index.
+     *
+     * @param spotId id of the spot to remove
+     * @return the removed spot, or null if no spot has the given id
+     */
+    T remove(String spotId);
+
+    /**
+     * Looks up a spot by its id.
+     *
+     * @param spotId id of the spot
+     * @return the spot, or null if no spot has the given id
+     */
+    T get(String spotId);
+
+    /**
+     * Returns the next free spot without claiming it.
+     *
+     * @return the next free spot, or null if the lot is full
+     */
+    T peekFree();
+
+    /**
+     * Takes the next free spot and parks the vehicle in it.
+     *
+     * @param vehicle the vehicle to park
+     * @return the claimed spot, or null if the lot is full
+     */
+    T claim(Vehicle vehicle);
+
+    /**
+     * Starts keeping the free spots ordered by location, for {@link #claimNearest(Vehicle, EntryGate)}.
+     * Until then adding, claiming and freeing a spot do not pay for that ordering. Safe to call
+     * more than once and while spots are being booked.
+     */
+    void trackNearestSpots();
+
+    /**
+     * Takes the free spot nearest to the gate and parks the vehicle in it, calling
+     * {@link #trackNearestSpots()} first if nothing has yet.
+     *
+     * @param vehicle the vehicle to park
+     * @param gate    the gate the vehicle entered through
+     * @return the claimed spot, or null if the lot is full
+     */
+    T claimNearest(Vehicle vehicle, EntryGate gate);
+
+    /**
+     * Frees an occupied spot and makes it available for booking again.
+     *
+     * @param spot the spot to free
+     * @return true if the spot was occupied and is now free
+     */
+    boolean vacate(T spot);
+
+    /**
+     * @return every registered spot
+     */
+    Collection<T> spots();
+}
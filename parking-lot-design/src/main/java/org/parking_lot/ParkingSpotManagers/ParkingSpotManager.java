@@ -1,40 +1,268 @@
 package org.parking_lot.ParkingSpotManagers;
+import org.parking_lot.Metrics.ParkingLotMetrics;
+import org.parking_lot.Models.EntryGate;
 import org.parking_lot.ParkingSpots.ParkingSpot;
 import org.parking_lot.Models.Vehicle;
+import org.parking_lot.enums.BookingMode;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 public abstract class ParkingSpotManager<T extends ParkingSpot> {
-    protected final List<T> parkingSpots;
+    protected volatile ParkingSpotIndex<T> parkingSpots;
+    private volatile BookingMode bookingMode;
+    private volatile boolean nearestSpotBooking;
+    private final Map<Integer, AtomicInteger> nextSlotByFloor = new ConcurrentHashMap<>();
+    // kept up to date on every claim and release, so reading occupancy never walks the index
+    private final LongAdder occupiedSpots = new LongAdder();
 
-    public ParkingSpotManager(List<T> parkingSpots) {
-        this.parkingSpots = parkingSpots;
+    public ParkingSpotManager() {
+        this.parkingSpots = new HashParkingSpotIndex<>();
+        this.bookingMode = BookingMode.SINGLE_THREADED;
+    }
+
+    /**
+     * Switches how spots are booked, carrying every existing spot over to the new index.
+     * Meant to be called while the lot is being set up, before gates start booking.
+     *
+     * @param mode the booking mode to use from now on
+     */
+    public synchronized void setBookingMode(BookingMode mode) {
+        if (mode == bookingMode) {
+            return;
+        }
+        ParkingSpotIndex<T> index = switch (mode) {
+            case SINGLE_THREADED -> new HashParkingSpotIndex<>();
+            case CONCURRENT -> new ConcurrentParkingSpotIndex<>();
+        };
+        for (T spot : parkingSpots.spots()) {
+            index.add(spot);
+        }
+        if (nearestSpotBooking) {
+            index.trackNearestSpots();
+        }
+        parkingSpots = index;
+        bookingMode = mode;
+    }
+
+    public BookingMode getBookingMode() {
+        return bookingMode;
+    }
+
+    /**
+     * Starts ordering the free spots by location so {@link #bookNearestParkingSpot(Vehicle, EntryGate)}
+     * is logarithmic; called when the lot's first entry gate is registered. Lots without gates
+     * keep constant-time booking and releasing.
+     */
+    public synchronized void enableNearestSpotBooking() {
+        nearestSpotBooking = true;
+        parkingSpots.trackNearestSpots();
     }
 
     public T findParkingSpot() {
-        return parkingSpots.stream()
-                .filter(p -> !p.isOccupied())
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Sorry No Parking Space Available"));
+        T spot = parkingSpots.peekFree();
+        if (spot == null) {
+            throw new RuntimeException("Sorry No Parking Space Available");
+        }
+        return spot;
     }
 
     public T bookParkingSpot(Vehicle vehicle) {
-        T spot = findParkingSpot();
-        spot.parkVehicle(vehicle);
+        long start = System.nanoTime();
+        T spot = parkingSpots.claim(vehicle);
+        return booked(spot, start);
+    }
+
+    /**
+     * Books the free spot nearest to the gate the vehicle entered through.
+     *
+     * @param vehicle the entering vehicle
+     * @param gate    the gate it entered through
+     * @return the booked spot
+     */
+    public T bookNearestParkingSpot(Vehicle vehicle, EntryGate gate) {
+        long start = System.nanoTime();
+        T spot = parkingSpots.claimNearest(vehicle, gate);
+        return booked(spot, start);
+    }
+
+    private T booked(T spot, long startNanos) {
+        ParkingLotMetrics.BOOKING_LATENCY_NANOS.record(System.nanoTime() - startNanos);
+        if (spot == null) {
+            ParkingLotMetrics.FAILED_ALLOCATIONS.increment();
+            throw new RuntimeException("Sorry No Parking Space Available");
+        }
+        occupiedSpots.increment();
         return spot;
     }
 
     public void clearParkingSpotById(String spotId) {
-        for (T spot : parkingSpots) {
-            if (spot.getId().equals(spotId)) {
-                spot.removeVehicle();
-                return;
+        T spot = parkingSpots.get(spotId);
+        if (spot == null) {
+            throw new IllegalArgumentException("Parking Spot not found: " + spotId);
+        }
+        if (parkingSpots.vacate(spot)) {
+            occupiedSpots.decrement();
+        }
+    }
+
+    /**
+     * Clears many spots in a single pass over the index.
+     * <p>
+     * A spot is only cleared while it still holds the given vehicle, so a stale id, e.g. from a
+     * ticket that was already settled, never frees a spot another vehicle has booked since.
+     * </p>
+     *
+     * @param spotIds  ids of the spots to clear.
+     * @param vehicles vehicle expected in each spot.
+     * @param count    number of entries to read from {@code spotIds} and {@code vehicles}.
+     * @param cleared  set to whether this call freed each spot; unknown ids, free spots and spots
+     *                 holding another vehicle are skipped instead of failing the batch.
+     * @return number of spots this call freed.
+     */
+    public int clearParkingSpotsById(String[] spotIds, Vehicle[] vehicles, int count, boolean[] cleared) {
+        ParkingSpotIndex<T> index = parkingSpots;
+        int clearedCount = 0;
+        for (int i = 0; i < count; i++) {
+            T spot = index.get(spotIds[i]);
+            cleared[i] = spot != null && holds(spot, vehicles[i]) && index.vacate(spot);
+            if (cleared[i]) {
+                occupiedSpots.decrement();
+                clearedCount++;
             }
         }
-        throw new IllegalArgumentException("Parking Spot not found: " + spotId);
+        return clearedCount;
+    }
+
+    private static boolean holds(ParkingSpot spot, Vehicle vehicle) {
+        Vehicle occupant = spot.getVehicle();
+        return occupant != null && occupant.getVehicleNumber().equals(vehicle.getVehicleNumber());
+    }
+
+    public T getParkingSpotById(String spotId) {
+        return parkingSpots.get(spotId);
+    }
+
+    public Collection<T> getParkingSpots() {
+        return Collections.unmodifiableCollection(parkingSpots.spots());
+    }
+
+    /**
+     * Returns the number of occupied spots without scanning them, so it is safe to call from
+     * any thread, e.g. a metrics reporter, whatever the booking mode.
+     *
+     * @return the number of spots with a vehicle parked in them
+     */
+    public long getOccupiedSpotCount() {
+        return occupiedSpots.sum();
+    }
+
+    /**
+     * Recreates a spot with a known id, e.g. while rebuilding the lot after a restart.
+     * If the spot already exists only its occupant is updated.
+     *
+     * @param spotId  id of the spot
+     * @param vehicle vehicle parked in the spot, or null if it is free
+     * @return the restored spot
+     */
+    public T restoreParkingSpot(String spotId, Vehicle vehicle) {
+        T spot = parkingSpots.get(spotId);
+        if (spot != null) {
+            return restoreParkingSpot(spotId, spot.getFloor(), spot.getSlot(), vehicle);
+        }
+        return restoreParkingSpot(spotId, 0, nextSlot(0), vehicle);
+    }
+
+    /**
+     * Recreates a spot with a known id and location, e.g. while rebuilding the lot after a restart.
+     * If the spot already exists only its occupant is updated.
+     *
+     * @param spotId  id of the spot
+     * @param floor   floor of the spot
+     * @param slot    slot of the spot on its floor
+     * @param vehicle vehicle parked in the spot, or null if it is free
+     * @return the restored spot
+     */
+    public synchronized T restoreParkingSpot(String spotId, int floor, int slot, Vehicle vehicle) {
+        T spot = parkingSpots.get(spotId);
+        if (spot == null) {
+            spot = newParkingSpot(spotId, floor, slot);
+            nextSlotByFloor.computeIfAbsent(floor, f -> new AtomicInteger()).accumulateAndGet(slot + 1, Math::max);
+            spot.parkVehicle(vehicle);
+            parkingSpots.add(spot);
+            if (vehicle != null) {
+                occupiedSpots.increment();
+            }
+        } else if (vehicle == null) {
+            if (parkingSpots.vacate(spot)) {
+                occupiedSpots.decrement();
+            }
+        } else {
+            if (!spot.isOccupied()) {
+                occupiedSpots.increment();
+            }
+            spot.parkVehicle(vehicle);
+        }
+        return spot;
+    }
+
+    /**
+     * Adds a spot on the ground floor.
+     *
+     * @return the new spot
+     */
+    public T addParkingSpot() {
+        return addParkingSpot(0);
+    }
+
+    /**
+     * Adds a spot at the next free slot of the given floor.
+     *
+     * @param floor floor to add the spot on
+     * @return the new spot
+     */
+    public T addParkingSpot(int floor) {
+        return addParkingSpot(UUID.randomUUID().toString(), floor);
+    }
+
+    /**
+     * Adds a spot with a caller-chosen id at the next free slot of the given floor, e.g. so the
+     * journal can order the addition before anything else that touches the spot.
+     *
+     * @param spotId id of the new spot
+     * @param floor  floor to add the spot on
+     * @return the new spot
+     */
+    public T addParkingSpot(String spotId, int floor) {
+        T spot = newParkingSpot(spotId, floor, nextSlot(floor));
+        parkingSpots.add(spot);
+        return spot;
+    }
+
+    private int nextSlot(int floor) {
+        return nextSlotByFloor.computeIfAbsent(floor, f -> new AtomicInteger()).getAndIncrement();
+    }
+
+    /**
+     * Drops a spot from the index, and from the occupancy count if a vehicle is parked in it.
+     *
+     * @param id id of the spot
+     * @return the removed spot, or null if no spot has the given id
+     */
+    protected T removeFromIndex(String id) {
+        T spot = parkingSpots.remove(id);
+        if (spot != null && spot.isOccupied()) {
+            occupiedSpots.decrement();
+        }
+        return spot;
     }
 
-    public abstract void addParkingSpot();
+    protected abstract T newParkingSpot(String id, int floor, int slot);
 
     public abstract void removeParkingSpot(String id);
 }
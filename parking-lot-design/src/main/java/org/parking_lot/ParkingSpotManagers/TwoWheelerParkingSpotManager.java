@@ -3,14 +3,12 @@ package org.parking_lot.ParkingSpotManagers;
 import org.parking_lot.ParkingSpots.TwoWheelerSpot;
 import org.parking_lot.enums.VehicleType;
 
-import java.util.ArrayList;
-
 public class TwoWheelerParkingSpotManager extends ParkingSpotManager<TwoWheelerSpot> {
 
     private static final TwoWheelerParkingSpotManager INSTANCE = new TwoWheelerParkingSpotManager();
 
     TwoWheelerParkingSpotManager(){
-        super(new ArrayList<>());
+        super();
     }
 
     public static TwoWheelerParkingSpotManager getInstance() {
@@ -18,12 +16,12 @@ public class TwoWheelerParkingSpotManager extends ParkingSpotManager<TwoWheelerS
     }
 
     @Override
-    public void addParkingSpot() {
-        parkingSpots.add(new TwoWheelerSpot());
+    protected TwoWheelerSpot newParkingSpot(String id, int floor, int slot) {
+        return new TwoWheelerSpot(id, floor, slot);
     }
 
     @Override
     public void removeParkingSpot(String id) {
-        parkingSpots.removeIf(spot -> spot.getId().equals(id));
+        removeFromIndex(id);
     }
 }
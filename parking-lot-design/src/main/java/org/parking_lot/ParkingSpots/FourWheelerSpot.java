@@ -4,6 +4,14 @@ import org.parking_lot.enums.VehicleType;
 
 public class FourWheelerSpot extends ParkingSpot {
 
+    public FourWheelerSpot(int floor, int slot){
+        super(floor, slot);
+    }
+
+    public FourWheelerSpot(String id, int floor, int slot){
+        super(id, floor, slot);
+    }
+
     @Override
     public VehicleType getVehicleType(){
         return VehicleType.FOUR_WHEELER;
@@ -4,34 +4,69 @@ import org.parking_lot.Models.Vehicle;
 import org.parking_lot.enums.VehicleType;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 public abstract class ParkingSpot {
     private String id;
-    private Vehicle vehicle;
-    private boolean isOccupied;
-    private boolean floor;
+    // null while the spot is free; swapped with CAS so concurrent gates can't both claim it
+    private final AtomicReference<Vehicle> vehicle = new AtomicReference<>();
+    private final int floor;
+    // position along the floor's aisle; also the spot's distance from the floor's ramp, in slots
+    private final int slot;
 
-    ParkingSpot(){
-        id = UUID.randomUUID().toString();
+    ParkingSpot(int floor, int slot){
+        this(UUID.randomUUID().toString(), floor, slot);
+    }
+
+    ParkingSpot(String id, int floor, int slot){
+        this.id = id;
+        this.floor = floor;
+        this.slot = slot;
     }
 
     public String getId(){ return this.id;}
 
+    public int getFloor(){
+        return floor;
+    }
+
+    public int getSlot(){
+        return slot;
+    }
+
     public boolean isOccupied(){
-        return isOccupied;
+        return vehicle.get() != null;
+    }
+
+    public Vehicle getVehicle(){
+        return vehicle.get();
     }
 
     public void parkVehicle(Vehicle vehicle){
-        this.vehicle = vehicle;
-        updateIsOccupied();
+        this.vehicle.set(vehicle);
     }
 
     public void removeVehicle(){
-        this.vehicle = null;
+        this.vehicle.set(null);
+    }
+
+    /**
+     * Atomically parks the vehicle if the spot is currently free.
+     *
+     * @param vehicle the vehicle to park
+     * @return true if this call claimed the spot, false if it was already occupied
+     */
+    public boolean tryParkVehicle(Vehicle vehicle){
+        return this.vehicle.compareAndSet(null, vehicle);
     }
 
-    private void updateIsOccupied(){
-        this.isOccupied = vehicle != null;
+    /**
+     * Atomically frees the spot if it is currently occupied.
+     *
+     * @return true if this call freed the spot, false if it was already free
+     */
+    public boolean tryRemoveVehicle(){
+        return this.vehicle.getAndSet(null) != null;
     }
 
     public abstract VehicleType getVehicleType();
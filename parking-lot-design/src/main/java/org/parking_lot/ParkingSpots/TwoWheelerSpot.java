@@ -4,6 +4,14 @@ import org.parking_lot.enums.VehicleType;
 
 public class TwoWheelerSpot extends ParkingSpot {
 
+    public TwoWheelerSpot(int floor, int slot){
+        super(floor, slot);
+    }
+
+    public TwoWheelerSpot(String id, int floor, int slot){
+        super(id, floor, slot);
+    }
+
     @Override
     public VehicleType getVehicleType(){
         return VehicleType.TWO_WHEELER;
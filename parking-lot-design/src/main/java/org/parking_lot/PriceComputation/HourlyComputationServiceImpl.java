@@ -1,11 +1,8 @@
 package org.parking_lot.PriceComputation;
 
-import org.parking_lot.ParkingSpotManagers.FourWheelerParkingSpotManager;
-
-import java.time.Duration;
-import java.time.LocalDateTime;
-
 public class HourlyComputationServiceImpl implements PriceComputationService {
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+
     private final double hourlyRate;
 
     public HourlyComputationServiceImpl(double hourlyRate) {
@@ -13,11 +10,23 @@ public class HourlyComputationServiceImpl implements PriceComputationService {
     }
 
     @Override
-    public double calculate(LocalDateTime entryTime, LocalDateTime exitTime) {
-        long hours = Duration.between(entryTime, exitTime).toHours();
-        if (Duration.between(entryTime, exitTime).toMinutes() % 60 != 0) {
+    public double calculate(long entryTimeMillis, long exitTimeMillis) {
+        long minutes = (exitTimeMillis - entryTimeMillis) / MILLIS_PER_MINUTE;
+        long hours = minutes / 60;
+        if (minutes % 60 != 0) {
             hours++;
         }
         return hours * hourlyRate;
     }
+
+    @Override
+    public void calculateAll(long[] entryTimeMillis, long exitTimeMillis, double[] prices, int count) {
+        // branch-free form of calculate so the JIT can vectorize the loop; (r | -r) >>> 63 is 1
+        // exactly when a partial hour is left, which also holds for negative stays (clock skew)
+        for (int i = 0; i < count; i++) {
+            long minutes = (exitTimeMillis - entryTimeMillis[i]) / MILLIS_PER_MINUTE;
+            long remainder = minutes % 60;
+            prices[i] = (minutes / 60 + ((remainder | -remainder) >>> 63)) * hourlyRate;
+        }
+    }
 }
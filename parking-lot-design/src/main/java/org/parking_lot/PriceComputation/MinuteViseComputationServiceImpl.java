@@ -1,9 +1,7 @@
 package org.parking_lot.PriceComputation;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
-
 public class MinuteViseComputationServiceImpl implements PriceComputationService{
+    private static final long MILLIS_PER_MINUTE = 60_000L;
 
     private final double perMinuteRate;
 
@@ -12,8 +10,15 @@ public class MinuteViseComputationServiceImpl implements PriceComputationService
     }
 
     @Override
-    public double calculate(LocalDateTime entryTime, LocalDateTime exitTime) {
-        long minutes = Duration.between(entryTime, exitTime).toMinutes();
+    public double calculate(long entryTimeMillis, long exitTimeMillis) {
+        long minutes = (exitTimeMillis - entryTimeMillis) / MILLIS_PER_MINUTE;
         return minutes * perMinuteRate;
     }
+
+    @Override
+    public void calculateAll(long[] entryTimeMillis, long exitTimeMillis, double[] prices, int count) {
+        for (int i = 0; i < count; i++) {
+            prices[i] = ((exitTimeMillis - entryTimeMillis[i]) / MILLIS_PER_MINUTE) * perMinuteRate;
+        }
+    }
 }
@@ -2,17 +2,34 @@ package org.parking_lot.PriceComputation;
 
 import org.parking_lot.enums.PriceComputationType;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
 public class PriceComputationFactory {
 
     private static final PriceComputationFactory INSTANCE = new PriceComputationFactory();
 
-    private PriceComputationFactory() {}
+    // services are stateless, so one immutable instance per type is shared by every caller
+    private final Map<PriceComputationType, PriceComputationService> services;
+
+    private PriceComputationFactory() {
+        Map<PriceComputationType, PriceComputationService> map = new EnumMap<>(PriceComputationType.class);
+        for (PriceComputationType type : PriceComputationType.values()) {
+            map.put(type, create(type));
+        }
+        services = Collections.unmodifiableMap(map);
+    }
 
     public static PriceComputationFactory getInstance() {
         return INSTANCE;
     }
 
     public PriceComputationService getPriceComputation(PriceComputationType type) {
+        return services.get(type);
+    }
+
+    private static PriceComputationService create(PriceComputationType type) {
         return switch (type) {
             case HOURLY -> new HourlyComputationServiceImpl(40);
             case MINUTE -> new MinuteViseComputationServiceImpl(1);
@@ -1,7 +1,25 @@
 package org.parking_lot.PriceComputation;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 public interface PriceComputationService {
-    double calculate(LocalDateTime entryTime, LocalDateTime exitTime);
+
+    /**
+     * Prices a stay from epoch-millis timestamps; implementations must not allocate.
+     */
+    double calculate(long entryTimeMillis, long exitTimeMillis);
+
+    /**
+     * Prices {@code count} stays that all end at {@code exitTimeMillis}, writing into {@code prices}.
+     */
+    default void calculateAll(long[] entryTimeMillis, long exitTimeMillis, double[] prices, int count) {
+        for (int i = 0; i < count; i++) {
+            prices[i] = calculate(entryTimeMillis[i], exitTimeMillis);
+        }
+    }
+
+    default double calculate(LocalDateTime entryTime, LocalDateTime exitTime) {
+        return calculate(0L, Duration.between(entryTime, exitTime).toMillis());
+    }
 }
@@ -0,0 +1,93 @@
+package org.parking_lot.Repositories;
+
+import org.parking_lot.Models.Ticket;
+import org.parking_lot.enums.VehicleType;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe store of the tickets for vehicles currently parked in the lot.
+ * <p>
+ * Tickets are keyed by ticket id for constant-time lookup on exit, and are removed
+ * once the vehicle leaves so the store only ever holds the cars that are in the lot.
+ * Counts of open tickets are kept per {@link VehicleType}.
+ * </p>
+ *
+ * @author Kartik Sethi
+ */
+public class TicketRepository {
+
+    private final Map<String, Ticket> ticketsById = new ConcurrentHashMap<>();
+    private final Map<VehicleType, AtomicInteger> countsByType = new EnumMap<>(VehicleType.class);
+
+    public TicketRepository() {
+        for (VehicleType type : VehicleType.values()) {
+            countsByType.put(type, new AtomicInteger());
+        }
+    }
+
+    /**
+     * Stores a newly issued ticket.
+     *
+     * @param ticket the ticket to store.
+     */
+    public void save(Ticket ticket) {
+        if (ticketsById.putIfAbsent(ticket.getTicketId(), ticket) == null) {
+            countsByType.get(ticket.getVehicle().getVehicleType()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Finds an open ticket by its id.
+     *
+     * @param ticketId the id of the ticket.
+     * @return the matching ticket, or null if not found.
+     */
+    public Ticket findById(String ticketId) {
+        return ticketsById.get(ticketId);
+    }
+
+    /**
+     * Removes a ticket when its vehicle exits. Only one caller can remove a given ticket,
+     * so the same ticket cannot be used to exit twice.
+     *
+     * @param ticketId the id of the ticket.
+     * @return the removed ticket, or null if no open ticket has that id.
+     */
+    public Ticket remove(String ticketId) {
+        Ticket ticket = ticketsById.remove(ticketId);
+        if (ticket != null) {
+            countsByType.get(ticket.getVehicle().getVehicleType()).decrementAndGet();
+        }
+        return ticket;
+    }
+
+    /**
+     * Returns the number of open tickets for a vehicle type.
+     *
+     * @param type the vehicle type.
+     * @return number of vehicles of that type currently parked.
+     */
+    public int count(VehicleType type) {
+        return countsByType.get(type).get();
+    }
+
+    /**
+     * @return total number of open tickets.
+     */
+    public int size() {
+        return ticketsById.size();
+    }
+
+    /**
+     * @return an unmodifiable view of all open tickets.
+     */
+    public Collection<Ticket> findAll() {
+        return Collections.unmodifiableCollection(ticketsById.values());
+    }
+}
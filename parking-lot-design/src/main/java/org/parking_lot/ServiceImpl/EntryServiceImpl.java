@@ -1,6 +1,7 @@
 package org.parking_lot.ServiceImpl;
 
 import org.parking_lot.Costing.CostComputationFactory;
+import org.parking_lot.Metrics.ParkingLotMetrics;
 import org.parking_lot.Models.Ticket;
 import org.parking_lot.Models.Vehicle;
 import org.parking_lot.ParkingSpotManagers.ParkingManagerStrategy;
@@ -25,7 +26,14 @@ public class EntryServiceImpl implements EntryService {
         return ticket;
     }
 
+    @Override
+    public Ticket enterVehicle(Vehicle vehicle, String gateId){
+        ParkingSpot parkingSpot = managerStrategy.bookNearestParkingSpot(vehicle, gateId);
+        return generateTicket(vehicle, parkingSpot.getId());
+    }
+
     private Ticket generateTicket(Vehicle vehicle, String parkingSpotId) {
+        ParkingLotMetrics.ENTRIES.increment();
         Ticket ticket = new Ticket(parkingSpotId, vehicle);
         return ticket;
     }
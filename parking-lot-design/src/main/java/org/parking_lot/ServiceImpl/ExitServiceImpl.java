@@ -2,13 +2,17 @@ package org.parking_lot.ServiceImpl;
 
 import org.parking_lot.Costing.CostComputationFactory;
 import org.parking_lot.Costing.CostService;
+import org.parking_lot.Metrics.ParkingLotMetrics;
+import org.parking_lot.Models.Settlement;
 import org.parking_lot.Models.Ticket;
+import org.parking_lot.Models.Vehicle;
 import org.parking_lot.ParkingSpotManagers.ParkingManagerStrategy;
 import org.parking_lot.ParkingSpotManagers.ParkingSpotManager;
 import org.parking_lot.ParkingSpots.ParkingSpot;
 import org.parking_lot.Services.ExitService;
+import org.parking_lot.enums.VehicleType;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 
 public class ExitServiceImpl implements ExitService {
     private final ParkingManagerStrategy managerStrategy;
@@ -21,14 +25,87 @@ public class ExitServiceImpl implements ExitService {
 
     @Override
     public double exit(Ticket ticket) {
-        ticket.setExitTime(LocalDateTime.now());
+        ticket.setExitTimeMillis(System.currentTimeMillis());
 
         ParkingSpotManager<? extends ParkingSpot> manager =
                 managerStrategy.getManager(ticket.getVehicle().getVehicleType());
 
         manager.clearParkingSpotById(ticket.getParkingSpotId());
+        ParkingLotMetrics.EXITS.increment();
 
         CostService costService = costFactory.getCostComputation(ticket.getVehicle().getVehicleType());
-        return costService.calculate(ticket.getEntryTime(), ticket.getExitTime());
+        return costService.calculate(ticket.getEntryTimeMillis(), ticket.getExitTimeMillis());
+    }
+
+    /**
+     * Settles a batch of exits. Tickets are bucketed by {@link VehicleType} with a counting sort,
+     * then each bucket clears its spots in one pass through its manager and is priced by one
+     * loop over primitive arrays, instead of a manager lookup and pricing call per ticket.
+     * A ticket is only settled, and only gets its exit time, if this call frees its spot.
+     */
+    @Override
+    public Settlement exitAll(Collection<Ticket> tickets) {
+        long exitTimeMillis = System.currentTimeMillis();
+        Ticket[] batch = tickets.toArray(new Ticket[0]);
+        int size = batch.length;
+        VehicleType[] types = VehicleType.values();
+
+        // counting sort of ticket positions by vehicle type
+        int[] countByType = new int[types.length];
+        for (Ticket ticket : batch) {
+            countByType[ticket.getVehicle().getVehicleType().ordinal()]++;
+        }
+        int[] offsets = new int[types.length + 1];
+        for (int t = 0; t < types.length; t++) {
+            offsets[t + 1] = offsets[t] + countByType[t];
+        }
+        int[] order = new int[size];
+        int[] next = offsets.clone();
+        for (int i = 0; i < size; i++) {
+            order[next[batch[i].getVehicle().getVehicleType().ordinal()]++] = i;
+        }
+
+        double[] prices = new double[size];
+        double[] totalByType = new double[types.length];
+        int[] settledByType = new int[types.length];
+        String[] spotIds = new String[size];
+        Vehicle[] vehicles = new Vehicle[size];
+        long[] entryTimes = new long[size];
+        double[] bucketPrices = new double[size];
+        boolean[] cleared = new boolean[size];
+        int unsettled = 0;
+
+        for (VehicleType type : types) {
+            int from = offsets[type.ordinal()];
+            int count = countByType[type.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            for (int j = 0; j < count; j++) {
+                Ticket ticket = batch[order[from + j]];
+                spotIds[j] = ticket.getParkingSpotId();
+                vehicles[j] = ticket.getVehicle();
+                entryTimes[j] = ticket.getEntryTimeMillis();
+            }
+
+            managerStrategy.getManager(type).clearParkingSpotsById(spotIds, vehicles, count, cleared);
+            costFactory.getCostComputation(type).calculateAll(entryTimes, exitTimeMillis, bucketPrices, count);
+
+            double total = 0;
+            for (int j = 0; j < count; j++) {
+                if (cleared[j]) {
+                    batch[order[from + j]].setExitTimeMillis(exitTimeMillis);
+                    prices[order[from + j]] = bucketPrices[j];
+                    total += bucketPrices[j];
+                    settledByType[type.ordinal()]++;
+                } else {
+                    prices[order[from + j]] = Double.NaN;
+                    unsettled++;
+                }
+            }
+            totalByType[type.ordinal()] = total;
+        }
+        ParkingLotMetrics.EXITS.add(size - unsettled);
+        return new Settlement(prices, totalByType, settledByType, unsettled);
     }
 }
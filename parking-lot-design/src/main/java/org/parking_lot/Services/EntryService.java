@@ -5,4 +5,13 @@ import org.parking_lot.Models.Vehicle;
 
 public interface EntryService {
     Ticket enterVehicle(Vehicle vehicle);
+
+    /**
+     * Parks the vehicle in the free spot nearest to the gate it entered through.
+     *
+     * @param vehicle the entering vehicle.
+     * @param gateId  id of the entry gate.
+     * @return the issued ticket.
+     */
+    Ticket enterVehicle(Vehicle vehicle, String gateId);
 }
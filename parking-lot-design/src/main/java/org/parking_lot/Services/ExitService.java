@@ -1,8 +1,18 @@
 package org.parking_lot.Services;
 
+import org.parking_lot.Models.Settlement;
 import org.parking_lot.Models.Ticket;
 
+import java.util.Collection;
+
 public interface ExitService {
     double exit(Ticket ticket);
-}
 
+    /**
+     * Settles many exits at once, e.g. at shift close.
+     *
+     * @param tickets tickets of the exiting vehicles.
+     * @return prices in iteration order of {@code tickets}, plus totals.
+     */
+    Settlement exitAll(Collection<Ticket> tickets);
+}
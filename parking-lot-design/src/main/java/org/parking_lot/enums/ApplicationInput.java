@@ -28,6 +28,16 @@ public enum ApplicationInput {
      */
     REMOVE_SPOT("Remove Parking Spot", 3),
 
+    /**
+     * Registers an entry gate, so vehicles entering through it get the nearest free spot.
+     */
+    ADD_GATE("Add Entry Gate", 4),
+
+    /**
+     * Settles the exits of every parked vehicle at once, e.g. at shift close.
+     */
+    EXIT_ALL("Settle All Exits", 5),
+
     /**
      * Stops or terminates the application.
      */
@@ -0,0 +1,17 @@
+package org.parking_lot.enums;
+
+/**
+ * How a {@code ParkingSpotManager} books and frees spots.
+ */
+public enum BookingMode {
+
+    /**
+     * Plain hash index and free queue; callers must not book from several threads at once.
+     */
+    SINGLE_THREADED,
+
+    /**
+     * Lock-free index where each spot is claimed with a CAS, so many entry gates can book in parallel.
+     */
+    CONCURRENT
+}
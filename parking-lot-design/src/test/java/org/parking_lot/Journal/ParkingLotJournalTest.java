@@ -0,0 +1,264 @@
+package org.parking_lot.Journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.parking_lot.Models.Ticket;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpotManagers.ParkingManagerStrategy;
+import org.parking_lot.ParkingSpotManagers.ParkingSpotManager;
+import org.parking_lot.ParkingSpots.ParkingSpot;
+import org.parking_lot.Repositories.TicketRepository;
+import org.parking_lot.enums.VehicleType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Journals traffic, drops the in-memory state as a crash would and checks that a new
+ * {@link ParkingLotJournal} on the same directory rebuilds it.
+ */
+public class ParkingLotJournalTest {
+    private static final long NEVER = 3_600_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ParkingManagerStrategy managers = ParkingManagerStrategy.getInstance();
+    private Path directory;
+    private TicketRepository tickets;
+    private ParkingLotJournal journal;
+
+    @Before
+    public void setUp() throws IOException {
+        wipeSpots();
+        directory = folder.getRoot().toPath();
+        tickets = new TicketRepository();
+        journal = open(tickets);
+    }
+
+    @After
+    public void tearDown() {
+        wipeSpots();
+    }
+
+    @Test
+    public void journalTailIsReplayedAfterCrash() throws IOException {
+        ParkingSpot first = addSpot(VehicleType.TWO_WHEELER);
+        ParkingSpot second = addSpot(VehicleType.TWO_WHEELER);
+        ParkingSpot car = addSpot(VehicleType.FOUR_WHEELER);
+        Ticket a = enter(new Vehicle("A", VehicleType.TWO_WHEELER));
+        Ticket b = enter(new Vehicle("B", VehicleType.TWO_WHEELER));
+        Ticket c = enter(new Vehicle("C", VehicleType.FOUR_WHEELER));
+        exit(a);
+        Ticket d = enter(new Vehicle("D", VehicleType.TWO_WHEELER));
+        ParkingSpot removed = addSpot(VehicleType.TWO_WHEELER);
+        removeSpot(removed);
+
+        TicketRepository recovered = crashAndRecover();
+
+        assertEquals(3, recovered.size());
+        assertNull(recovered.findById(a.getTicketId()));
+        assertOpen(recovered, b);
+        assertOpen(recovered, c);
+        assertOpen(recovered, d);
+        assertEquals(a.getParkingSpotId(), d.getParkingSpotId());
+        assertEquals(2, spots(VehicleType.TWO_WHEELER).size());
+        assertEquals(1, spots(VehicleType.FOUR_WHEELER).size());
+        assertNull(manager(VehicleType.TWO_WHEELER).getParkingSpotById(removed.getId()));
+        assertTrue(manager(VehicleType.TWO_WHEELER).getParkingSpotById(first.getId()).isOccupied());
+        assertTrue(manager(VehicleType.TWO_WHEELER).getParkingSpotById(second.getId()).isOccupied());
+        assertEquals(car.getSlot(), manager(VehicleType.FOUR_WHEELER).getParkingSpotById(car.getId()).getSlot());
+    }
+
+    @Test
+    public void snapshotPlusTailIsRecoveredAfterCrash() throws IOException {
+        addSpot(VehicleType.TWO_WHEELER);
+        addSpot(VehicleType.TWO_WHEELER);
+        Ticket a = enter(new Vehicle("A", VehicleType.TWO_WHEELER));
+        Ticket b = enter(new Vehicle("B", VehicleType.TWO_WHEELER));
+        journal.snapshot();
+        exit(b);
+        Ticket c = enter(new Vehicle("C", VehicleType.TWO_WHEELER));
+
+        TicketRepository recovered = crashAndRecover();
+
+        assertEquals(2, recovered.size());
+        assertOpen(recovered, a);
+        assertOpen(recovered, c);
+        assertNull(recovered.findById(b.getTicketId()));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.filter(p -> p.getFileName().toString().startsWith("journal-")).count());
+        }
+    }
+
+    @Test
+    public void tornRecordIsDroppedAndLaterRecordsAppendAfterTheLastGoodOne() throws IOException {
+        addSpot(VehicleType.TWO_WHEELER);
+        addSpot(VehicleType.TWO_WHEELER);
+        Ticket a = enter(new Vehicle("A", VehicleType.TWO_WHEELER));
+        journal.sync();
+        Path wal;
+        try (Stream<Path> files = Files.list(directory)) {
+            wal = files.filter(p -> p.getFileName().toString().startsWith("journal-")).findFirst().orElseThrow();
+        }
+        Files.write(wal, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        tickets = crashAndRecover();
+        assertOpen(tickets, a);
+        Ticket b = enter(new Vehicle("B", VehicleType.TWO_WHEELER));
+
+        TicketRepository recovered = crashAndRecover();
+        assertEquals(2, recovered.size());
+        assertOpen(recovered, a);
+        assertOpen(recovered, b);
+    }
+
+    @Test
+    public void concurrentTrafficAndSnapshotsAreRecoveredAfterCrash() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            addSpot(VehicleType.TWO_WHEELER);
+        }
+        int gates = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(gates + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<?>> gateTasks = new ArrayList<>();
+        for (int g = 0; g < gates; g++) {
+            int gate = g;
+            gateTasks.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    Ticket ticket = tryEnter(new Vehicle(gate + "-" + i, VehicleType.TWO_WHEELER));
+                    if (ticket != null && i % 3 != 0) {
+                        exit(ticket);
+                    }
+                }
+                return null;
+            }));
+        }
+        Future<?> snapshots = pool.submit(() -> {
+            start.await();
+            while (running.get()) {
+                journal.snapshot();
+            }
+            return null;
+        });
+        start.countDown();
+        for (Future<?> task : gateTasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        snapshots.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+        List<Ticket> open = new ArrayList<>(tickets.findAll());
+
+        TicketRepository recovered = crashAndRecover();
+
+        assertEquals(open.size(), recovered.size());
+        for (Ticket ticket : open) {
+            assertOpen(recovered, ticket);
+        }
+        assertEquals(open.size(), manager(VehicleType.TWO_WHEELER).getOccupiedSpotCount());
+    }
+
+    /**
+     * Leaves the current journal open and unflushed by {@code close()}, forgets every spot and
+     * ticket, and opens a fresh journal on the same directory.
+     */
+    private TicketRepository crashAndRecover() throws IOException {
+        wipeSpots();
+        tickets = new TicketRepository();
+        journal = open(tickets);
+        return tickets;
+    }
+
+    private ParkingLotJournal open(TicketRepository repository) throws IOException {
+        return new ParkingLotJournal(directory, managers, repository, 512, NEVER, NEVER);
+    }
+
+    private ParkingSpot addSpot(VehicleType type) {
+        String spotId = UUID.randomUUID().toString();
+        return journal.record(spotId, () -> manager(type).addParkingSpot(spotId, 0), JournalRecord::addSpot);
+    }
+
+    private void removeSpot(ParkingSpot spot) {
+        journal.record(spot.getId(), () -> {
+            manager(spot.getVehicleType()).removeParkingSpot(spot.getId());
+            return spot;
+        }, JournalRecord::removeSpot);
+    }
+
+    private Ticket enter(Vehicle vehicle) {
+        return journal.record(() -> {
+            ParkingSpot spot = manager(vehicle.getVehicleType()).bookParkingSpot(vehicle);
+            Ticket ticket = new Ticket(spot.getId(), vehicle);
+            tickets.save(ticket);
+            return ticket;
+        }, JournalRecord::entry);
+    }
+
+    private Ticket tryEnter(Vehicle vehicle) {
+        try {
+            return enter(vehicle);
+        } catch (RuntimeException full) {
+            return null;
+        }
+    }
+
+    private void exit(Ticket ticket) {
+        journal.record(ticket.getParkingSpotId(), () -> {
+            tickets.remove(ticket.getTicketId());
+            manager(ticket.getVehicle().getVehicleType()).clearParkingSpotById(ticket.getParkingSpotId());
+            return ticket;
+        }, JournalRecord::exit);
+    }
+
+    private void assertOpen(TicketRepository repository, Ticket expected) {
+        Ticket ticket = repository.findById(expected.getTicketId());
+        assertNotNull(ticket);
+        assertEquals(expected.getParkingSpotId(), ticket.getParkingSpotId());
+        assertEquals(expected.getEntryTimeMillis(), ticket.getEntryTimeMillis());
+        assertEquals(expected.getVehicle().getVehicleNumber(), ticket.getVehicle().getVehicleNumber());
+        ParkingSpot spot = manager(expected.getVehicle().getVehicleType()).getParkingSpotById(expected.getParkingSpotId());
+        assertNotNull(spot);
+        assertEquals(expected.getVehicle().getVehicleNumber(), spot.getVehicle().getVehicleNumber());
+    }
+
+    private ParkingSpotManager<? extends ParkingSpot> manager(VehicleType type) {
+        return managers.getManager(type);
+    }
+
+    private List<? extends ParkingSpot> spots(VehicleType type) {
+        return new ArrayList<>(manager(type).getParkingSpots());
+    }
+
+    private void wipeSpots() {
+        for (VehicleType type : VehicleType.values()) {
+            for (ParkingSpot spot : spots(type)) {
+                manager(type).removeParkingSpot(spot.getId());
+            }
+            assertFalse(manager(type).getParkingSpots().iterator().hasNext());
+        }
+    }
+}
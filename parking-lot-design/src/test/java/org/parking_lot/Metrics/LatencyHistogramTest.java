@@ -0,0 +1,94 @@
+package org.parking_lot.Metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Bucket boundaries and percentiles of the log-linear {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTest {
+    private static final int BUCKETS = 1920;
+
+    @Test
+    public void smallValuesAreExact() {
+        for (long value = 0; value < 64; value++) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertEquals(value, LatencyHistogram.upperBoundOf(bucket));
+        }
+        assertEquals(32, LatencyHistogram.bucketOf(32));
+        assertEquals(64, LatencyHistogram.bucketOf(64));
+        assertEquals(64, LatencyHistogram.bucketOf(65));
+        assertEquals(65, LatencyHistogram.upperBoundOf(64));
+    }
+
+    @Test
+    public void bucketsTileTheWholeLongRange() {
+        int last = LatencyHistogram.bucketOf(Long.MAX_VALUE);
+        assertTrue(last < BUCKETS);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(last));
+        for (int bucket = 0; bucket < last; bucket++) {
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(upper));
+            assertEquals("bucket after " + bucket, bucket + 1, LatencyHistogram.bucketOf(upper + 1));
+        }
+    }
+
+    @Test
+    public void bucketsAreNarrowerThanOneThirtySecondOfTheirValues() {
+        for (long value = 64; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 7) {
+            long upper = LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(value));
+            assertTrue(value + " -> " + upper, upper >= value);
+            assertTrue(value + " -> " + upper, upper - value <= value / 32);
+        }
+    }
+
+    @Test
+    public void percentilesFollowTheRecordedDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        LatencyHistogram.Summary summary = histogram.summarize();
+
+        assertEquals(1000, summary.count());
+        assertEquals(500.5, summary.mean(), 1e-9);
+        assertEquals(upperBound(500), summary.p50());
+        assertEquals(upperBound(900), summary.p90());
+        assertEquals(upperBound(990), summary.p99());
+        // 999 shares a bucket with values up to 1007, but no percentile is reported above the max
+        assertEquals(1000, summary.p999());
+        assertEquals(1000, summary.max());
+    }
+
+    @Test
+    public void percentilesNeverExceedTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+
+        LatencyHistogram.Summary summary = histogram.summarize();
+
+        assertEquals(1000, summary.p50());
+        assertEquals(1000, summary.p999());
+        assertEquals(1000, summary.max());
+    }
+
+    @Test
+    public void emptyAndNegativeRecordings() {
+        LatencyHistogram.Summary empty = new LatencyHistogram().summarize();
+        assertEquals(new LatencyHistogram.Summary(0, 0, 0, 0, 0, 0, 0), empty);
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        LatencyHistogram.Summary summary = histogram.summarize();
+        assertEquals(1, summary.count());
+        assertEquals(0, summary.p50());
+        assertEquals(0, summary.max());
+    }
+
+    private static long upperBound(long value) {
+        return LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(value));
+    }
+}
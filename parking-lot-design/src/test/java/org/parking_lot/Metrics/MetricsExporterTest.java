@@ -0,0 +1,85 @@
+package org.parking_lot.Metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The file and HTTP exporters, and a {@link MetricsReporter} that keeps reporting when an exporter fails.
+ */
+public class MetricsExporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MetricsSnapshot snapshot = new MetricsSnapshot(1_000, Map.of(), Map.of(), Map.of());
+
+    @Test
+    public void fileExporterReplacesTheWholeFile() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("metrics.txt");
+        FileMetricsExporter exporter = new FileMetricsExporter(file);
+
+        exporter.export(snapshot, "first 1\nsecond 2\n");
+        exporter.export(snapshot, "third 3\n");
+
+        assertEquals("third 3\n", Files.readString(file));
+        assertFalse(Files.exists(file.resolveSibling("metrics.txt.tmp")));
+    }
+
+    @Test
+    public void httpExporterServesTheLatestExport() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        HttpMetricsExporter exporter = new HttpMetricsExporter(port);
+        try {
+            exporter.export(snapshot, "old 1\n");
+            exporter.export(snapshot, "entries 2\n");
+
+            HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + port + "/metrics").toURL().openConnection();
+            assertEquals(200, connection.getResponseCode());
+            try (InputStream body = connection.getInputStream()) {
+                assertEquals("entries 2\n", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        } finally {
+            exporter.close();
+        }
+    }
+
+    @Test
+    public void reporterKeepsExportingAfterAnExporterFails() throws InterruptedException {
+        CountDownLatch reports = new CountDownLatch(3);
+        MetricsExporter failing = (snapshot, rendered) -> {
+            throw new IOException("disk full");
+        };
+        MetricsExporter counting = (snapshot, rendered) -> {
+            assertTrue(rendered.startsWith("timestamp_millis "));
+            reports.countDown();
+        };
+
+        MetricsReporter reporter = new MetricsReporter(MetricsRegistry.getInstance(), List.of(failing, counting), 10);
+        try {
+            assertTrue(reports.await(5, TimeUnit.SECONDS));
+        } finally {
+            reporter.close();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.parking_lot.Metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snapshots and rendering of the shared {@link MetricsRegistry}; every test uses its own metric names.
+ */
+public class MetricsRegistryTest {
+    private final MetricsRegistry registry = MetricsRegistry.getInstance();
+
+    @Test
+    public void metricsAreCreatedOncePerName() {
+        assertSame(registry.counter("test.registry.counter"), registry.counter("test.registry.counter"));
+        assertSame(registry.histogram("test.registry.histogram"), registry.histogram("test.registry.histogram"));
+    }
+
+    @Test
+    public void snapshotsReadEveryKindOfMetric() {
+        registry.counter("test.snapshot.counter").add(3);
+        registry.histogram("test.snapshot.latency").record(40);
+        AtomicLong gauge = new AtomicLong(7);
+        registry.gauge("test.snapshot.gauge", gauge::get);
+
+        MetricsSnapshot first = registry.snapshot();
+        gauge.set(9);
+        MetricsSnapshot second = registry.snapshot();
+
+        assertEquals(Long.valueOf(3), first.getCounters().get("test.snapshot.counter"));
+        assertEquals(Long.valueOf(7), first.getGauges().get("test.snapshot.gauge"));
+        assertEquals(Long.valueOf(9), second.getGauges().get("test.snapshot.gauge"));
+        assertEquals(40, first.getHistograms().get("test.snapshot.latency").max());
+    }
+
+    @Test
+    public void renderAddsCounterRatesSinceThePreviousSnapshot() {
+        MetricsSnapshot previous = snapshot(1_000, 10);
+        MetricsSnapshot current = snapshot(3_000, 30);
+
+        String rendered = current.render(previous);
+
+        assertTrue(rendered, rendered.contains("timestamp_millis 3000\n"));
+        assertTrue(rendered, rendered.contains("entries 30\n"));
+        assertTrue(rendered, rendered.contains("entries.rate " + String.format("%.2f", 10.0) + "\n"));
+        assertTrue(rendered, rendered.contains("latency.p99 250\n"));
+        assertTrue(rendered, current.render(null).indexOf(".rate") < 0);
+    }
+
+    private static MetricsSnapshot snapshot(long timestampMillis, long entries) {
+        Map<String, Long> counters = new HashMap<>();
+        counters.put("entries", entries);
+        Map<String, LatencyHistogram.Summary> histograms = new HashMap<>();
+        histograms.put("latency", new LatencyHistogram.Summary(4, 100, 50, 200, 250, 250, 250));
+        return new MetricsSnapshot(timestampMillis, counters, Map.of(), histograms);
+    }
+}
@@ -0,0 +1,202 @@
+package org.parking_lot.ParkingLotApplication;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.parking_lot.ParkingSpotManagers.ParkingManagerStrategy;
+import org.parking_lot.ParkingSpotManagers.ParkingSpotManager;
+import org.parking_lot.ParkingSpots.ParkingSpot;
+import org.parking_lot.enums.ApplicationInput;
+import org.parking_lot.enums.BookingMode;
+import org.parking_lot.enums.VehicleType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * Replays scripts through {@link CommandDriver} and checks the resulting lot and report.
+ */
+public class CommandDriverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        wipeSpots();
+    }
+
+    @After
+    public void tearDown() {
+        wipeSpots();
+    }
+
+    @Test
+    public void replaysEntriesAndExitsOnOneLane() throws Exception {
+        assertReplay(1, false);
+    }
+
+    @Test
+    public void replaysEntriesAndExitsOnManyLanes() throws Exception {
+        assertReplay(4, false);
+    }
+
+    @Test
+    public void replaysOnVirtualThreads() throws Exception {
+        assertReplay(4, true);
+    }
+
+    @Test
+    public void managersAreConcurrentEvenWithOneLane() throws Exception {
+        try (CommandDriver ignored = new CommandDriver(null, 1, false)) {
+            for (VehicleType type : VehicleType.values()) {
+                assertEquals(BookingMode.CONCURRENT, manager(type).getBookingMode());
+            }
+        }
+    }
+
+    @Test
+    public void manyVehiclesAcrossLanesAllEnterAndLeave() throws Exception {
+        int vehicles = 2_000;
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < vehicles; i++) {
+            script.append("ADD_SPOT TWO_WHEELER\n");
+        }
+        for (int i = 0; i < vehicles; i++) {
+            script.append("ENTRY V").append(i).append(" TWO_WHEELER\n");
+        }
+        for (int i = 0; i < vehicles; i++) {
+            script.append("EXIT V").append(i).append('\n');
+        }
+
+        DriverReport report;
+        try (CommandDriver driver = new CommandDriver(null, 8, false)) {
+            report = driver.replay(write(script.toString()));
+        }
+
+        assertEquals(0, report.getFailed());
+        assertEquals(vehicles, report.getLatencyByInput().get(ApplicationInput.ENTRY).count());
+        assertEquals(vehicles, report.getLatencyByInput().get(ApplicationInput.EXIT).count());
+        assertEquals(0, manager(VehicleType.TWO_WHEELER).getOccupiedSpotCount());
+    }
+
+    @Test
+    public void entriesThroughAGateGetTheNearestSpot() throws Exception {
+        Path script = write(String.join("\n",
+                "ADD_SPOT FOUR_WHEELER 0",
+                "ADD_SPOT FOUR_WHEELER 0",
+                "ADD_SPOT FOUR_WHEELER 3",
+                "ADD_GATE roof 3 0",
+                "ENTRY A FOUR_WHEELER roof",
+                "ENTRY B FOUR_WHEELER roof",
+                "ENTRY C FOUR_WHEELER nowhere",
+                ""));
+
+        DriverReport report;
+        try (CommandDriver driver = new CommandDriver(null, 2, false)) {
+            report = driver.replay(script);
+        }
+
+        // C names an unknown gate
+        assertEquals(1, report.getFailed());
+        int[] occupiedByFloor = new int[4];
+        for (ParkingSpot spot : manager(VehicleType.FOUR_WHEELER).getParkingSpots()) {
+            if (spot.isOccupied()) {
+                occupiedByFloor[spot.getFloor()]++;
+            }
+        }
+        // A and B run on their own lanes, so either may take the spot on the gate's floor, but one of them does
+        assertEquals(1, occupiedByFloor[3]);
+        assertEquals(1, occupiedByFloor[0]);
+        assertEquals(3, ParkingManagerStrategy.getInstance().getEntryGate("roof").getFloor());
+    }
+
+    @Test
+    public void exitAllSettlesEveryParkedVehicleAndIsJournaled() throws Exception {
+        Path journal = folder.newFolder("journal").toPath();
+        Path script = write(String.join("\n",
+                "ADD_SPOT TWO_WHEELER",
+                "ADD_SPOT TWO_WHEELER",
+                "ADD_SPOT FOUR_WHEELER",
+                "ENTRY A TWO_WHEELER",
+                "ENTRY B TWO_WHEELER",
+                "ENTRY C FOUR_WHEELER",
+                "EXIT_ALL",
+                "EXIT A",
+                "ENTRY D TWO_WHEELER",
+                ""));
+
+        DriverReport report;
+        try (CommandDriver driver = new CommandDriver(journal, 4, false)) {
+            report = driver.replay(script);
+        }
+
+        // A was already settled by EXIT_ALL
+        assertEquals(1, report.getFailed());
+        assertEquals(1, report.getLatencyByInput().get(ApplicationInput.EXIT_ALL).count());
+        assertEquals(1, manager(VehicleType.TWO_WHEELER).getOccupiedSpotCount());
+        assertEquals(0, manager(VehicleType.FOUR_WHEELER).getOccupiedSpotCount());
+
+        wipeSpots();
+        try (CommandDriver ignored = new CommandDriver(journal, 1, false)) {
+            assertEquals(2, manager(VehicleType.TWO_WHEELER).getParkingSpots().size());
+            assertEquals(1, manager(VehicleType.TWO_WHEELER).getOccupiedSpotCount());
+            assertEquals(0, manager(VehicleType.FOUR_WHEELER).getOccupiedSpotCount());
+        }
+    }
+
+    private void assertReplay(int workers, boolean virtualThreads) throws Exception {
+        Path script = write(String.join("\n",
+                "ADD_SPOT TWO_WHEELER",
+                "ADD_SPOT TWO_WHEELER",
+                "ADD_SPOT FOUR_WHEELER",
+                "ENTRY A TWO_WHEELER",
+                "ENTRY A TWO_WHEELER",
+                "ENTRY B TWO_WHEELER",
+                "ENTRY C FOUR_WHEELER",
+                "EXIT A",
+                "EXIT A",
+                "EXIT NOBODY",
+                "ENTRY A TWO_WHEELER",
+                "NOT_A_COMMAND",
+                ""));
+
+        DriverReport report;
+        try (CommandDriver driver = new CommandDriver(null, workers, virtualThreads)) {
+            report = driver.replay(script);
+        }
+
+        // the second ENTRY A, the second EXIT A and EXIT NOBODY fail
+        assertEquals(3, report.getFailed());
+        assertEquals(1, report.getMalformedLines());
+        assertEquals(11, report.getCommands());
+        assertEquals(2, manager(VehicleType.TWO_WHEELER).getOccupiedSpotCount());
+        assertEquals(1, manager(VehicleType.FOUR_WHEELER).getOccupiedSpotCount());
+    }
+
+    private Path write(String script) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.writeString(file, script, StandardCharsets.US_ASCII);
+        return file;
+    }
+
+    private static ParkingSpotManager<? extends ParkingSpot> manager(VehicleType type) {
+        return ParkingManagerStrategy.getInstance().getManager(type);
+    }
+
+    private static void wipeSpots() {
+        for (VehicleType type : VehicleType.values()) {
+            ParkingSpotManager<? extends ParkingSpot> manager = manager(type);
+            for (ParkingSpot spot : new ArrayList<>(manager.getParkingSpots())) {
+                manager.removeParkingSpot(spot.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.parking_lot.ParkingLotApplication;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.parking_lot.Models.EntryGate;
+import org.parking_lot.enums.ApplicationInput;
+import org.parking_lot.enums.VehicleType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses {@link CommandDriver} scripts from a stream and from a memory-mapped file.
+ */
+public class CommandLineReaderTest {
+    private static final String SCRIPT = String.join("\n",
+            "# set up the lot",
+            "ADD_SPOT TWO_WHEELER",
+            "add_spot four_wheeler 3",
+            "",
+            "  ENTRY\tKA-01  TWO_WHEELER  ",
+            "ENTRY KA-02 FOUR_WHEELER gate-1\r",
+            "EXIT KA-01",
+            "REMOVE_SPOT TWO_WHEELER 4f1c",
+            "STOP",
+            "ENTRY KA-03 TWO_WHEELER");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void parsesEveryCommandFromAStreamAndStopsAtStop() throws IOException {
+        List<DriverCommand> commands = new ArrayList<>();
+        CommandLineReader reader = new CommandLineReader(commands::add);
+        reader.read(Channels.newChannel(new ByteArrayInputStream(SCRIPT.getBytes(StandardCharsets.US_ASCII))));
+
+        assertScript(commands);
+        assertEquals(0, reader.getMalformedLines());
+    }
+
+    @Test
+    public void parsesEveryCommandFromAMappedFile() throws IOException {
+        Path file = folder.newFile("script.txt").toPath();
+        Files.writeString(file, SCRIPT, StandardCharsets.US_ASCII);
+        List<DriverCommand> commands = new ArrayList<>();
+        CommandLineReader reader = new CommandLineReader(commands::add);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            reader.read(channel);
+        }
+
+        assertScript(commands);
+    }
+
+    @Test
+    public void lastLineWithoutNewlineIsParsed() throws IOException {
+        List<DriverCommand> commands = new ArrayList<>();
+        new CommandLineReader(commands::add).read(stream("EXIT KA-01\nEXIT KA-02"));
+
+        assertEquals(2, commands.size());
+        assertEquals("KA-02", commands.get(1).vehicleNumber());
+    }
+
+    @Test
+    public void malformedLinesAreCountedAndSkipped() throws IOException {
+        List<DriverCommand> commands = new ArrayList<>();
+        CommandLineReader reader = new CommandLineReader(commands::add);
+        reader.read(stream("PARK KA-01\nENTRY KA-01\nENTRY KA-01 BICYCLE\nADD_SPOT\nEXIT KA-01\n"));
+
+        assertEquals(4, reader.getMalformedLines());
+        assertEquals(1, commands.size());
+        assertEquals(ApplicationInput.EXIT, commands.get(0).input());
+    }
+
+    @Test
+    public void tokensLongerThanTheScratchBufferAreKeptWhole() throws IOException {
+        String vehicleNumber = "V".repeat(1000);
+        List<DriverCommand> commands = new ArrayList<>();
+        new CommandLineReader(commands::add).read(stream("EXIT " + vehicleNumber + "\nEXIT short\n"));
+
+        assertEquals(vehicleNumber, commands.get(0).vehicleNumber());
+        assertEquals("short", commands.get(1).vehicleNumber());
+    }
+
+    @Test
+    public void addGateLinesCarryTheGate() throws IOException {
+        List<DriverCommand> commands = new ArrayList<>();
+        CommandLineReader reader = new CommandLineReader(commands::add);
+        reader.read(stream("ADD_GATE north 2 -3\nADD_GATE south x 1\nADD_GATE east 1\n"));
+
+        assertEquals(2, reader.getMalformedLines());
+        assertEquals(1, commands.size());
+        assertEquals(ApplicationInput.ADD_GATE, commands.get(0).input());
+        assertNull(commands.get(0).argument());
+        EntryGate gate = commands.get(0).gate();
+        assertEquals("north", gate.getGateId());
+        assertEquals(2, gate.getFloor());
+        assertEquals(-3, gate.getSlot());
+    }
+
+    private static void assertScript(List<DriverCommand> commands) {
+        assertEquals(List.of(
+                new DriverCommand(ApplicationInput.ADD_SPOT, null, VehicleType.TWO_WHEELER, null),
+                new DriverCommand(ApplicationInput.ADD_SPOT, null, VehicleType.FOUR_WHEELER, "3"),
+                new DriverCommand(ApplicationInput.ENTRY, "KA-01", VehicleType.TWO_WHEELER, null),
+                new DriverCommand(ApplicationInput.ENTRY, "KA-02", VehicleType.FOUR_WHEELER, "gate-1"),
+                new DriverCommand(ApplicationInput.EXIT, "KA-01", null, null),
+                new DriverCommand(ApplicationInput.REMOVE_SPOT, null, VehicleType.TWO_WHEELER, "4f1c"),
+                new DriverCommand(ApplicationInput.STOP, null, null, null)), commands);
+    }
+
+    private static ReadableByteChannel stream(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,130 @@
+package org.parking_lot.ParkingSpotManagers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpots.TwoWheelerSpot;
+import org.parking_lot.enums.BookingMode;
+import org.parking_lot.enums.VehicleType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multi-gate stress test for {@link BookingMode#CONCURRENT}.
+ */
+public class ConcurrentBookingStressTest {
+    private static final int SPOTS = 256;
+    private static final int OPS_PER_THREAD = 50_000;
+
+    private TwoWheelerParkingSpotManager newManager(int spots) {
+        TwoWheelerParkingSpotManager manager = new TwoWheelerParkingSpotManager();
+        manager.setBookingMode(BookingMode.CONCURRENT);
+        for (int i = 0; i < spots; i++) {
+            manager.addParkingSpot();
+        }
+        return manager;
+    }
+
+    /**
+     * Many gates race for a lot that is too small: exactly one vehicle must win each spot.
+     */
+    @Test
+    public void everySpotIsBookedExactlyOnceWhenGatesRace() throws Exception {
+        TwoWheelerParkingSpotManager manager = newManager(SPOTS);
+        int gates = 16;
+        Set<String> bookedSpots = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(gates);
+        List<Future<?>> workers = new ArrayList<>(gates);
+        for (int g = 0; g < gates; g++) {
+            int gate = g;
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < SPOTS; i++) {
+                    try {
+                        TwoWheelerSpot spot = manager.bookParkingSpot(new Vehicle(gate + "-" + i, VehicleType.TWO_WHEELER));
+                        if (!bookedSpots.add(spot.getId())) {
+                            duplicates.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        awaitAll(pool, workers);
+
+        assertEquals(0, duplicates.get());
+        assertEquals(SPOTS, bookedSpots.size());
+        assertEquals(gates * SPOTS - SPOTS, rejected.get());
+        assertEquals(SPOTS, manager.getOccupiedSpotCount());
+    }
+
+    /**
+     * Gates book and release spots in a tight loop; no spot may ever be held by two vehicles at once.
+     */
+    @Test
+    public void noDoubleBookingUnderChurn() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= Math.max(8, cores); threads <<= 1) {
+            TwoWheelerParkingSpotManager manager = newManager(SPOTS);
+            ConcurrentHashMap<String, Vehicle> holders = new ConcurrentHashMap<>();
+            AtomicInteger duplicates = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                Vehicle vehicle = new Vehicle("gate-" + t, VehicleType.TWO_WHEELER);
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        TwoWheelerSpot spot = manager.bookParkingSpot(vehicle);
+                        if (holders.putIfAbsent(spot.getId(), vehicle) != null) {
+                            duplicates.incrementAndGet();
+                        }
+                        holders.remove(spot.getId(), vehicle);
+                        manager.clearParkingSpotById(spot.getId());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            awaitAll(pool, workers);
+
+            assertEquals(0, duplicates.get());
+            for (TwoWheelerSpot spot : manager.parkingSpots.spots()) {
+                assertFalse(spot.isOccupied());
+            }
+            assertEquals(0, manager.getOccupiedSpotCount());
+        }
+    }
+
+    /**
+     * Fails the test if a worker threw or the pool did not finish in time.
+     */
+    private static void awaitAll(ExecutorService pool, List<Future<?>> workers) throws Exception {
+        pool.shutdown();
+        assertTrue("workers did not finish in time", pool.awaitTermination(1, TimeUnit.MINUTES));
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+    }
+}
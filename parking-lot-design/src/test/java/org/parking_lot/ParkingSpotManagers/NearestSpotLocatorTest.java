@@ -0,0 +1,162 @@
+package org.parking_lot.ParkingSpotManagers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.parking_lot.Models.EntryGate;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpots.FourWheelerSpot;
+import org.parking_lot.enums.VehicleType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearest-spot allocation through both {@link ParkingSpotIndex} implementations.
+ */
+public class NearestSpotLocatorTest {
+    private static final int FLOOR = NearestSpotLocator.FLOOR_DISTANCE;
+
+    @Test
+    public void sameFloorBeatsACloserSlotOneFloorAway() {
+        ParkingSpotIndex<FourWheelerSpot> index = new HashParkingSpotIndex<>();
+        FourWheelerSpot sameFloor = add(index, 1, 10 + FLOOR - 1);
+        add(index, 2, 10);
+
+        assertSame(sameFloor, index.claimNearest(vehicle("A"), new EntryGate("g", 1, 10)));
+    }
+
+    @Test
+    public void emptyGateFloorFallsBackToTheClosestFloor() {
+        ParkingSpotIndex<FourWheelerSpot> index = new HashParkingSpotIndex<>();
+        FourWheelerSpot below = add(index, 0, 30);
+        add(index, 3, 10);
+
+        assertSame(below, index.claimNearest(vehicle("A"), new EntryGate("g", 1, 10)));
+    }
+
+    @Test
+    public void tiesGoToTheHigherSlotThenTheUpperFloor() {
+        ParkingSpotIndex<FourWheelerSpot> index = new HashParkingSpotIndex<>();
+        FourWheelerSpot lowerSlot = add(index, 1, 8);
+        FourWheelerSpot higherSlot = add(index, 1, 12);
+        EntryGate gate = new EntryGate("g", 1, 10);
+
+        assertSame(higherSlot, index.claimNearest(vehicle("A"), gate));
+        assertSame(lowerSlot, index.claimNearest(vehicle("B"), gate));
+
+        FourWheelerSpot downstairs = add(index, 0, 10);
+        FourWheelerSpot upstairs = add(index, 2, 10);
+        assertSame(upstairs, index.claimNearest(vehicle("C"), gate));
+        assertSame(downstairs, index.claimNearest(vehicle("D"), gate));
+    }
+
+    @Test
+    public void fullFloorSendsVehiclesToTheNextFloor() {
+        ParkingSpotIndex<FourWheelerSpot> index = new ConcurrentParkingSpotIndex<>();
+        for (int slot = 0; slot < 5; slot++) {
+            add(index, 0, slot);
+        }
+        FourWheelerSpot upstairs = add(index, 1, 0);
+        EntryGate gate = new EntryGate("g", 0, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, index.claimNearest(vehicle("A" + i), gate).getFloor());
+        }
+        assertSame(upstairs, index.claimNearest(vehicle("B"), gate));
+        assertNull(index.claimNearest(vehicle("C"), gate));
+    }
+
+    @Test
+    public void vacatedSpotsAreOfferedAgain() {
+        assertVacatedSpotsAreOfferedAgain(new HashParkingSpotIndex<>());
+        assertVacatedSpotsAreOfferedAgain(new ConcurrentParkingSpotIndex<>());
+    }
+
+    @Test
+    public void spotsBookedWithoutAGateAreNotOfferedTwice() {
+        assertSpotsBookedWithoutAGateAreNotOfferedTwice(new HashParkingSpotIndex<>());
+        assertSpotsBookedWithoutAGateAreNotOfferedTwice(new ConcurrentParkingSpotIndex<>());
+    }
+
+    @Test
+    public void concurrentClaimsOnOneNearestSpotHandItOutOnce() throws Exception {
+        int threads = 8;
+        for (int round = 0; round < 200; round++) {
+            ParkingSpotIndex<FourWheelerSpot> index = new ConcurrentParkingSpotIndex<>();
+            FourWheelerSpot nearest = add(index, 0, 0);
+            for (int slot = 1; slot < threads; slot++) {
+                add(index, 0, slot);
+            }
+            index.trackNearestSpots();
+            EntryGate gate = new EntryGate("g", 0, 0);
+
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<FourWheelerSpot>> claims = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Vehicle vehicle = vehicle("T" + t);
+                claims.add(pool.submit(() -> {
+                    start.await();
+                    return index.claimNearest(vehicle, gate);
+                }));
+            }
+            start.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+            Set<FourWheelerSpot> claimed = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<FourWheelerSpot> claim : claims) {
+                FourWheelerSpot spot = claim.get();
+                assertTrue("spot handed out twice: " + spot, claimed.add(spot));
+            }
+            assertTrue(claimed.contains(nearest));
+            assertEquals(threads, claimed.size());
+        }
+    }
+
+    private static void assertVacatedSpotsAreOfferedAgain(ParkingSpotIndex<FourWheelerSpot> index) {
+        FourWheelerSpot nearest = add(index, 0, 1);
+        FourWheelerSpot farther = add(index, 0, 5);
+        EntryGate gate = new EntryGate("g", 0, 0);
+
+        assertSame(nearest, index.claimNearest(vehicle("A"), gate));
+        assertTrue(index.vacate(nearest));
+        assertSame(nearest, index.claimNearest(vehicle("B"), gate));
+        assertSame(farther, index.claimNearest(vehicle("C"), gate));
+        assertNull(index.claimNearest(vehicle("D"), gate));
+    }
+
+    private static void assertSpotsBookedWithoutAGateAreNotOfferedTwice(ParkingSpotIndex<FourWheelerSpot> index) {
+        FourWheelerSpot first = add(index, 0, 0);
+        FourWheelerSpot second = add(index, 0, 1);
+        index.trackNearestSpots();
+        EntryGate gate = new EntryGate("g", 0, 0);
+
+        assertSame(first, index.claim(vehicle("A")));
+        assertSame(second, index.claimNearest(vehicle("B"), gate));
+        assertNull(index.claim(vehicle("C")));
+        assertNull(index.claimNearest(vehicle("D"), gate));
+    }
+
+    private static FourWheelerSpot add(ParkingSpotIndex<FourWheelerSpot> index, int floor, int slot) {
+        FourWheelerSpot spot = new FourWheelerSpot(floor, slot);
+        index.add(spot);
+        return spot;
+    }
+
+    private static Vehicle vehicle(String number) {
+        return new Vehicle(number, VehicleType.FOUR_WHEELER);
+    }
+}
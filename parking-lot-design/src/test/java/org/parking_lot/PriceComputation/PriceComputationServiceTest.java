@@ -0,0 +1,44 @@
+package org.parking_lot.PriceComputation;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * The batch pricing loops must agree with {@code calculate} for every stay, including
+ * negative ones caused by clock skew.
+ */
+public class PriceComputationServiceTest {
+    private static final long EXIT = 1_700_000_000_000L;
+
+    @Test
+    public void hourlyBatchMatchesSingleCalculation() {
+        assertBatchMatches(new HourlyComputationServiceImpl(20));
+    }
+
+    @Test
+    public void minuteBatchMatchesSingleCalculation() {
+        assertBatchMatches(new MinuteViseComputationServiceImpl(0.5));
+    }
+
+    @Test
+    public void hourlyChargesAPartialHourAsAWholeOne() {
+        PriceComputationService hourly = new HourlyComputationServiceImpl(20);
+        assertEquals(20, hourly.calculate(EXIT - 30 * 60_000L, EXIT), 0);
+        assertEquals(40, hourly.calculate(EXIT - 61 * 60_000L, EXIT), 0);
+        assertEquals(20, hourly.calculate(EXIT + 30 * 60_000L, EXIT), 0);
+    }
+
+    private static void assertBatchMatches(PriceComputationService service) {
+        int count = 0;
+        long[] entries = new long[2 * 300 + 1];
+        for (long minutes = -300; minutes <= 300; minutes++) {
+            entries[count++] = EXIT - minutes * 60_000L - 17_000;
+        }
+        double[] prices = new double[count];
+        service.calculateAll(entries, EXIT, prices, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals("stay of " + (EXIT - entries[i]) + " ms", service.calculate(entries[i], EXIT), prices[i], 0);
+        }
+    }
+}
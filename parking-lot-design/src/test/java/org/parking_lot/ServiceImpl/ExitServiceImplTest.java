@@ -0,0 +1,139 @@
+package org.parking_lot.ServiceImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.parking_lot.Models.Settlement;
+import org.parking_lot.Models.Ticket;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpotManagers.ParkingManagerStrategy;
+import org.parking_lot.ParkingSpotManagers.ParkingSpotManager;
+import org.parking_lot.ParkingSpots.ParkingSpot;
+import org.parking_lot.enums.VehicleType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Checks {@link ExitServiceImpl#exitAll} against one {@link ExitServiceImpl#exit} per ticket.
+ */
+public class ExitServiceImplTest {
+    private static final int TICKETS = 300;
+
+    private final ExitServiceImpl exitService = new ExitServiceImpl();
+
+    @Before
+    public void setUp() {
+        wipeSpots();
+    }
+
+    @After
+    public void tearDown() {
+        wipeSpots();
+    }
+
+    @Test
+    public void batchPricesMatchPerTicketExitsForMixedVehicleTypes() {
+        // stays end 30 s into a minute, so both runs see the same whole minutes
+        long now = System.currentTimeMillis();
+        long[] entryTimes = new long[TICKETS];
+        VehicleType[] types = new VehicleType[TICKETS];
+        for (int i = 0; i < TICKETS; i++) {
+            entryTimes[i] = now - (i * 7L % 500) * 60_000 - 30_000;
+            types[i] = i % 3 == 0 ? VehicleType.FOUR_WHEELER : VehicleType.TWO_WHEELER;
+        }
+
+        List<Ticket> single = park(entryTimes, types);
+        double[] expected = new double[TICKETS];
+        for (int i = 0; i < TICKETS; i++) {
+            expected[i] = exitService.exit(single.get(i));
+        }
+
+        List<Ticket> batch = park(entryTimes, types);
+        Settlement settlement = exitService.exitAll(batch);
+
+        assertEquals(TICKETS, settlement.size());
+        assertEquals(0, settlement.getUnsettledCount());
+        double twoWheelers = 0;
+        double fourWheelers = 0;
+        for (int i = 0; i < TICKETS; i++) {
+            assertEquals("ticket " + i, expected[i], settlement.getPrice(i), 0);
+            assertTrue(batch.get(i).getExitTimeMillis() >= now);
+            if (types[i] == VehicleType.TWO_WHEELER) {
+                twoWheelers += expected[i];
+            } else {
+                fourWheelers += expected[i];
+            }
+        }
+        assertEquals(twoWheelers, settlement.getTotal(VehicleType.TWO_WHEELER), 1e-6);
+        assertEquals(fourWheelers, settlement.getTotal(VehicleType.FOUR_WHEELER), 1e-6);
+        assertEquals(TICKETS / 3, settlement.getCount(VehicleType.FOUR_WHEELER));
+        assertEquals(TICKETS - TICKETS / 3, settlement.getCount(VehicleType.TWO_WHEELER));
+        assertEquals(0, manager(VehicleType.TWO_WHEELER).getOccupiedSpotCount());
+        assertEquals(0, manager(VehicleType.FOUR_WHEELER).getOccupiedSpotCount());
+    }
+
+    @Test
+    public void ticketSettledTwiceIsOnlyChargedOnce() {
+        List<Ticket> tickets = park(new long[]{System.currentTimeMillis() - 3_600_000},
+                new VehicleType[]{VehicleType.FOUR_WHEELER});
+        Settlement first = exitService.exitAll(tickets);
+        long exitTime = tickets.get(0).getExitTimeMillis();
+
+        Settlement second = exitService.exitAll(tickets);
+
+        assertEquals(0, first.getUnsettledCount());
+        assertEquals(1, second.getUnsettledCount());
+        assertTrue(Double.isNaN(second.getPrice(0)));
+        assertEquals(0, second.getTotal(), 0);
+        assertEquals(exitTime, tickets.get(0).getExitTimeMillis());
+    }
+
+    @Test
+    public void staleTicketLeavesTheNextVehicleParked() {
+        ParkingSpotManager<? extends ParkingSpot> manager = manager(VehicleType.TWO_WHEELER);
+        ParkingSpot spot = manager.addParkingSpot();
+        Vehicle first = new Vehicle("FIRST", VehicleType.TWO_WHEELER);
+        Ticket stale = new Ticket(manager.bookParkingSpot(first).getId(), first);
+        manager.clearParkingSpotById(spot.getId());
+        manager.bookParkingSpot(new Vehicle("SECOND", VehicleType.TWO_WHEELER));
+
+        Settlement settlement = exitService.exitAll(List.of(stale));
+
+        assertEquals(1, settlement.getUnsettledCount());
+        assertTrue(spot.isOccupied());
+        assertEquals("SECOND", spot.getVehicle().getVehicleNumber());
+        assertEquals(1, manager.getOccupiedSpotCount());
+        assertFalse(stale.getExitTimeMillis() > 0);
+    }
+
+    private List<Ticket> park(long[] entryTimes, VehicleType[] types) {
+        List<Ticket> tickets = new ArrayList<>(entryTimes.length);
+        for (int i = 0; i < entryTimes.length; i++) {
+            ParkingSpotManager<? extends ParkingSpot> manager = manager(types[i]);
+            manager.addParkingSpot();
+            Vehicle vehicle = new Vehicle(types[i] + "-" + i, types[i]);
+            ParkingSpot spot = manager.bookParkingSpot(vehicle);
+            tickets.add(new Ticket(UUID.randomUUID().toString(), spot.getId(), vehicle, entryTimes[i]));
+        }
+        return tickets;
+    }
+
+    private static ParkingSpotManager<? extends ParkingSpot> manager(VehicleType type) {
+        return ParkingManagerStrategy.getInstance().getManager(type);
+    }
+
+    private static void wipeSpots() {
+        for (VehicleType type : VehicleType.values()) {
+            ParkingSpotManager<? extends ParkingSpot> manager = manager(type);
+            for (ParkingSpot spot : new ArrayList<>(manager.getParkingSpots())) {
+                manager.removeParkingSpot(spot.getId());
+            }
+        }
+    }
+}
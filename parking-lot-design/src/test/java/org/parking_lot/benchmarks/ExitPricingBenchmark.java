@@ -0,0 +1,94 @@
+package org.parking_lot.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.parking_lot.Costing.CostComputationFactory;
+import org.parking_lot.Models.Ticket;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpotManagers.ParkingManagerStrategy;
+import org.parking_lot.ParkingSpotManagers.ParkingSpotManager;
+import org.parking_lot.ParkingSpots.ParkingSpot;
+import org.parking_lot.ServiceImpl.ExitServiceImpl;
+import org.parking_lot.enums.VehicleType;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exit-path pricing cost. Run {@link #main(String[])} to get {@code gc.alloc.rate.norm}
+ * (bytes allocated per call) next to the timings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExitPricingBenchmark {
+
+    @Param({"TWO_WHEELER", "FOUR_WHEELER"})
+    private VehicleType vehicleType;
+
+    private CostComputationFactory costFactory;
+    private ParkingSpotManager<? extends ParkingSpot> manager;
+    private ExitServiceImpl exitService;
+    private Vehicle vehicle;
+    private Ticket ticket;
+    private long entryTimeMillis;
+    private long exitTimeMillis;
+    private LocalDateTime entryTime;
+    private LocalDateTime exitTime;
+
+    @Setup
+    public void setUp() {
+        costFactory = CostComputationFactory.getInstance();
+        manager = ParkingManagerStrategy.getInstance().getManager(vehicleType);
+        exitService = new ExitServiceImpl();
+        vehicle = new Vehicle("KA01AB1234", vehicleType);
+
+        // a single spot, so every booking in exitPath gets the spot the ticket points at
+        ParkingSpot spot = manager.addParkingSpot();
+        ticket = new Ticket(spot.getId(), vehicle);
+
+        exitTimeMillis = System.currentTimeMillis();
+        entryTimeMillis = exitTimeMillis - TimeUnit.MINUTES.toMillis(137);
+        exitTime = LocalDateTime.now();
+        entryTime = exitTime.minusMinutes(137);
+    }
+
+    @Benchmark
+    public double pricingFromEpochMillis() {
+        return costFactory.getCostComputation(vehicleType).calculate(entryTimeMillis, exitTimeMillis);
+    }
+
+    @Benchmark
+    public double pricingFromLocalDateTime() {
+        return costFactory.getCostComputation(vehicleType).calculate(entryTime, exitTime);
+    }
+
+    @Benchmark
+    public double exitPath() {
+        manager.bookParkingSpot(vehicle);
+        return exitService.exit(ticket);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ExitPricingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,119 @@
+package org.parking_lot.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.parking_lot.Models.Ticket;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpotManagers.ParkingManagerStrategy;
+import org.parking_lot.ParkingSpotManagers.ParkingSpotManager;
+import org.parking_lot.ParkingSpots.ParkingSpot;
+import org.parking_lot.ServiceImpl.EntryServiceImpl;
+import org.parking_lot.ServiceImpl.ExitServiceImpl;
+import org.parking_lot.enums.BookingMode;
+import org.parking_lot.enums.VehicleType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entry, exit and spot lookup against lots of different sizes. Every fork builds a fresh lot,
+ * so lot sizes never share state. Thread counts are swept by {@link HotPathBenchmarkRunner}.
+ * Every benchmark runs against {@link BookingMode#CONCURRENT}, the mode meant for many gates;
+ * {@link #bookAndClear} reports operations per second, so its results across the runner's
+ * {@code threads-N.json} files show how booking throughput scales with the number of gates.
+ * <p>
+ * The lot is half full before measuring, but always keeps at least {@value #MAX_THREADS} spots
+ * per type free so every benchmark thread can hold a spot without running the lot out.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotPathBenchmark {
+    static final int MAX_THREADS = 64;
+
+    @State(Scope.Benchmark)
+    public static class Lot {
+        @Param({"100", "10000", "1000000"})
+        private int lotSize;
+
+        private ParkingManagerStrategy strategy;
+        private ParkingSpotManager<? extends ParkingSpot> manager;
+        private EntryServiceImpl entryService;
+        private ExitServiceImpl exitService;
+        private final AtomicInteger nextThread = new AtomicInteger();
+
+        @Setup
+        public void build() {
+            strategy = ParkingManagerStrategy.getInstance();
+            strategy.setBookingMode(BookingMode.CONCURRENT);
+            entryService = new EntryServiceImpl();
+            for (VehicleType type : VehicleType.values()) {
+                ParkingSpotManager<? extends ParkingSpot> typeManager = strategy.getManager(type);
+                int spots = lotSize / VehicleType.values().length;
+                for (int i = 0; i < spots; i++) {
+                    typeManager.addParkingSpot(i / 1000);
+                }
+                int parked = Math.max(0, Math.min(spots / 2, spots - MAX_THREADS));
+                for (int i = 0; i < parked; i++) {
+                    entryService.enterVehicle(new Vehicle("PARKED-" + type + "-" + i, type));
+                }
+            }
+            manager = strategy.getManager(VehicleType.FOUR_WHEELER);
+            exitService = new ExitServiceImpl();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Driver {
+        private Vehicle vehicle;
+        private ParkingSpotManager<? extends ParkingSpot> manager;
+
+        @Setup
+        public void pickVehicle(Lot lot) {
+            int thread = lot.nextThread.getAndIncrement();
+            VehicleType type = VehicleType.values()[thread % VehicleType.values().length];
+            vehicle = new Vehicle("BENCH-" + thread, type);
+            manager = lot.strategy.getManager(type);
+        }
+    }
+
+    /**
+     * One car in and out: {@code EntryServiceImpl.enterVehicle} followed by {@code ExitServiceImpl.exit},
+     * so the lot's occupancy stays put however long the benchmark runs.
+     */
+    @Benchmark
+    public double enterAndExit(Lot lot, Driver driver) {
+        Ticket ticket = lot.entryService.enterVehicle(driver.vehicle);
+        return lot.exitService.exit(ticket);
+    }
+
+    /**
+     * Books a spot and frees it again straight through the vehicle type's manager, the loop
+     * {@code ConcurrentBookingStressTest} checks for correctness, without tickets or pricing.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public ParkingSpot bookAndClear(Driver driver) {
+        ParkingSpot spot = driver.manager.bookParkingSpot(driver.vehicle);
+        driver.manager.clearParkingSpotById(spot.getId());
+        return spot;
+    }
+
+    @Benchmark
+    public ParkingSpot findParkingSpot(Lot lot) {
+        return lot.manager.findParkingSpot();
+    }
+}
@@ -0,0 +1,38 @@
+package org.parking_lot.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs {@link HotPathBenchmark} and {@link PricingChainBenchmark} once per thread count and
+ * writes one JSON result file per count to {@code target/jmh/}, for tracking regressions and
+ * for sizing hardware.
+ * <p>
+ * Usage: {@code mvn -Pbenchmarks test-compile exec:exec [-Dbenchmark.threads=1,8] [-Dbenchmark.include=HotPath]}.
+ * By default thread counts 1 to {@value HotPathBenchmark#MAX_THREADS} are swept in powers of two.
+ * </p>
+ */
+public class HotPathBenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String threads = args.length > 0 ? args[0] : "1,2,4,8,16,32,64";
+        String include = args.length > 1 ? args[1] : "HotPathBenchmark|PricingChainBenchmark";
+        new File("target/jmh").mkdirs();
+        for (String count : threads.split(",")) {
+            int threadCount = Integer.parseInt(count.trim());
+            if (threadCount > HotPathBenchmark.MAX_THREADS) {
+                throw new IllegalArgumentException("At most " + HotPathBenchmark.MAX_THREADS + " threads are supported");
+            }
+            new Runner(new OptionsBuilder()
+                    .include(include)
+                    .threads(threadCount)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("target/jmh/threads-" + threadCount + ".json")
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.parking_lot.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.parking_lot.Costing.CostComputationFactory;
+import org.parking_lot.enums.VehicleType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole pricing chain as the exit path runs it: {@code CostComputationFactory} lookup, the
+ * vehicle's cost service and its price computation. Vehicle types and stay lengths rotate so the
+ * JIT cannot fold the call to a constant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingChainBenchmark {
+    private static final int STAYS = 1024;
+
+    private final VehicleType[] types = new VehicleType[STAYS];
+    private final long[] entryTimes = new long[STAYS];
+    private long exitTime;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        exitTime = System.currentTimeMillis();
+        for (int i = 0; i < STAYS; i++) {
+            types[i] = VehicleType.values()[i % VehicleType.values().length];
+            entryTimes[i] = exitTime - TimeUnit.MINUTES.toMillis(i * 7L % 1440);
+        }
+    }
+
+    @Benchmark
+    public double pricingChain() {
+        int i = next++ & (STAYS - 1);
+        return CostComputationFactory.getInstance().getCostComputation(types[i]).calculate(entryTimes[i], exitTime);
+    }
+}
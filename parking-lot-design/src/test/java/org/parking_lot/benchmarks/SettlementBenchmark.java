@@ -0,0 +1,89 @@
+package org.parking_lot.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.parking_lot.Models.Settlement;
+import org.parking_lot.Models.Ticket;
+import org.parking_lot.Models.Vehicle;
+import org.parking_lot.ParkingSpotManagers.ParkingManagerStrategy;
+import org.parking_lot.ServiceImpl.EntryServiceImpl;
+import org.parking_lot.ServiceImpl.ExitServiceImpl;
+import org.parking_lot.enums.VehicleType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-of-day settlement: one {@code exit} call per ticket against a single {@code exitAll} call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SettlementBenchmark {
+
+    @Param({"1000", "10000"})
+    private int batchSize;
+
+    private EntryServiceImpl entryService;
+    private ExitServiceImpl exitService;
+    private List<Vehicle> vehicles;
+    private List<Ticket> tickets;
+
+    @Setup(Level.Trial)
+    public void setUpLot() {
+        ParkingManagerStrategy strategy = ParkingManagerStrategy.getInstance();
+        vehicles = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            VehicleType type = i % 2 == 0 ? VehicleType.TWO_WHEELER : VehicleType.FOUR_WHEELER;
+            strategy.getManager(type).addParkingSpot();
+            vehicles.add(new Vehicle("KA01-" + i, type));
+        }
+        entryService = new EntryServiceImpl();
+        exitService = new ExitServiceImpl();
+    }
+
+    @Setup(Level.Invocation)
+    public void parkEveryone() {
+        tickets = new ArrayList<>(batchSize);
+        for (Vehicle vehicle : vehicles) {
+            tickets.add(entryService.enterVehicle(vehicle));
+        }
+    }
+
+    @Benchmark
+    public double exitOneByOne() {
+        double total = 0;
+        for (Ticket ticket : tickets) {
+            total += exitService.exit(ticket);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Settlement exitAll() {
+        return exitService.exitAll(tickets);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SettlementBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,299 @@
+package com.singleton.SingletonComponents;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The high-throughput back end of {@link SingletonThreadSafePrinter}.
+ * <p>
+ * Callers never take a lock: each print is appended to a multi-producer, single-consumer linked
+ * queue with one atomic swap. A dedicated daemon thread drains the queue into a
+ * {@link GatheringBuffer} and writes that to a {@link PrintSink} whenever the {@link FlushPolicy}
+ * says so, so a burst of prints costs a handful of system calls instead of one per print.
+ * </p>
+ * <p>
+ * Callers do not wake the writer either: once idle it sleeps until the oldest waiting text is
+ * due, or for {@value #IDLE_PARK_MILLIS} ms when nothing is waiting. {@link #flush()} wakes it at once.
+ * </p>
+ * <p>
+ * Ordering is the same as with the lock: every print comes out whole, prints from one thread come
+ * out in the order they were made, and prints from different threads come out in the order they
+ * entered the queue.
+ * </p>
+ *
+ * @author Kartik Sethi
+ */
+final class BatchingPrintWriter {
+
+    /**
+     * Default number of bytes that may wait before they are written.
+     */
+    static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Default longest time printed text waits before it is written.
+     */
+    static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(10);
+
+    private static final int SPINS_BEFORE_PARKING = 100;
+
+    /**
+     * How long the idle writer sleeps when no text is waiting, or when the policy has no interval.
+     */
+    private static final long IDLE_PARK_MILLIS = 10;
+
+    /**
+     * {@link CustomSystem#out} encodes with the default charset, so queued text is encoded the same way
+     * whichever sink it goes to.
+     */
+    private static final Charset CHARSET = Charset.defaultCharset();
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(CHARSET);
+
+    private final GatheringBuffer buffer;
+    private final FlushPolicy policy;
+    /**
+     * When the oldest text in {@link #buffer} was queued; only meaningful while bytes are pending.
+     */
+    private long pendingSinceNanos;
+    private final AtomicReference<Node> tail;
+    private Node head;
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile boolean terminated;
+    /**
+     * Set once {@link #close()} has closed the sink; nodes linked after that are not written.
+     */
+    private boolean sinkClosed;
+    private volatile boolean failed;
+
+    /**
+     * @param sink   where printed text is written; the writer closes it in {@link #close()}
+     * @param policy when waiting text is written to the sink
+     */
+    BatchingPrintWriter(PrintSink sink, FlushPolicy policy) {
+        this.buffer = new GatheringBuffer(sink);
+        this.policy = policy;
+        this.head = new Node(null, false, null);
+        this.tail = new AtomicReference<>(head);
+        this.writer = new Thread(this::drain, "printer-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues text for the writer thread.
+     *
+     * @param text    the text, already converted to a {@code String} on the caller's thread
+     * @param newline whether a line separator follows the text
+     * @return false if the writer has been closed and the text was not queued
+     */
+    boolean offer(String text, boolean newline) {
+        return enqueue(new Node(text, newline, null));
+    }
+
+    /**
+     * Queues bytes that are already encoded, such as a {@link CachedClock} timestamp line.
+     *
+     * @param bytes the bytes to write; must not be modified afterwards
+     * @return false if the writer has been closed and the bytes were not queued
+     */
+    boolean offer(byte[] bytes) {
+        Node node = new Node(null, false, null);
+        node.bytes = bytes;
+        return enqueue(node);
+    }
+
+    /**
+     * Waits until everything queued so far has been written to the sink.
+     *
+     * @return false if the writer has been closed
+     */
+    boolean flush() {
+        CountDownLatch written = new CountDownLatch(1);
+        if (!enqueue(new Node(null, false, written))) {
+            return false;
+        }
+        try {
+            written.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    /**
+     * Writes everything already queued, then stops the writer thread and closes the sink. Later
+     * offers are refused.
+     */
+    void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (true) {
+            try {
+                writer.join();
+                break;
+            } catch (InterruptedException e) {
+                // the sink must not be closed while the writer may still be using it
+                interrupted = true;
+            }
+        }
+        synchronized (this) {
+            writeRemaining();
+            try {
+                buffer.close();
+            } catch (IOException e) {
+                failed = true;
+            }
+            sinkClosed = true;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return whether writing to or flushing the sink has failed; the text involved was dropped
+     */
+    boolean hasFailed() {
+        return failed;
+    }
+
+    private boolean enqueue(Node node) {
+        if (closed) {
+            return false;
+        }
+        Node previous = tail.getAndSet(node);
+        previous.next = node;
+        if (closed) {
+            // the writer may have finished its last drain before our node was linked; write it ourselves
+            while (!terminated) {
+                Thread.onSpinWait();
+            }
+            synchronized (this) {
+                if (!sinkClosed) {
+                    writeRemaining();
+                    return true;
+                }
+                // close() either wrote the node already or stopped short of it; in that case the caller prints it
+                return node.done;
+            }
+        }
+        if (node.written != null) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    private void drain() {
+        int idle = 0;
+        while (true) {
+            Node next = head.next;
+            if (next != null) {
+                head = next;
+                write(next);
+                idle = 0;
+                flushIfDue();
+                continue;
+            }
+            if (closed && tail.get() == head) {
+                break;
+            }
+            long waitNanos = flushIfDue();
+            if (++idle < SPINS_BEFORE_PARKING) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(this, waitNanos);
+            }
+        }
+        flushBuffer();
+        synchronized (this) {
+            terminated = true;
+        }
+    }
+
+    /**
+     * Flushes the buffer if the policy says the waiting text is due.
+     *
+     * @return how long the writer may sleep before the waiting text is due
+     */
+    private long flushIfDue() {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(IDLE_PARK_MILLIS);
+        if (buffer.pendingBytes() == 0) {
+            return Math.min(idleNanos, policy.maxDelayNanos());
+        }
+        long waited = System.nanoTime() - pendingSinceNanos;
+        if (policy.isDue(buffer.pendingBytes(), waited)) {
+            flushBuffer();
+            return Math.min(idleNanos, policy.maxDelayNanos());
+        }
+        return Math.min(idleNanos, policy.maxDelayNanos() - waited);
+    }
+
+    /**
+     * Writes nodes linked after the writer thread stopped; callers hold this object's monitor.
+     */
+    private void writeRemaining() {
+        Node next;
+        while ((next = head.next) != null) {
+            head = next;
+            write(next);
+        }
+        flushBuffer();
+    }
+
+    private void write(Node node) {
+        if (node.written != null) {
+            flushBuffer();
+            node.done = true;
+            node.written.countDown();
+            return;
+        }
+        if (buffer.pendingBytes() == 0) {
+            pendingSinceNanos = System.nanoTime();
+        }
+        try {
+            buffer.append(node.bytes != null ? node.bytes : node.text.getBytes(CHARSET));
+            if (node.newline) {
+                buffer.append(LINE_SEPARATOR);
+            }
+        } catch (IOException e) {
+            // like a PrintStream, record the failure and keep going
+            failed = true;
+        }
+        node.text = null;
+        node.bytes = null;
+        node.done = true;
+    }
+
+    private void flushBuffer() {
+        try {
+            buffer.flush();
+        } catch (IOException e) {
+            failed = true;
+        }
+    }
+
+    /**
+     * A queued print, or a flush request when {@code written} is set.
+     */
+    private static final class Node {
+        private String text;
+        private byte[] bytes;
+        private final boolean newline;
+        private final CountDownLatch written;
+        private boolean done;
+        private volatile Node next;
+
+        private Node(String text, boolean newline, CountDownLatch written) {
+            this.text = text;
+            this.newline = newline;
+            this.written = written;
+        }
+    }
+}
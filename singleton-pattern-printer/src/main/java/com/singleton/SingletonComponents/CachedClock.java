@@ -0,0 +1,159 @@
+package com.singleton.SingletonComponents;
+
+import java.nio.charset.Charset;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A coarse-grained clock whose current time is already rendered as text.
+ * <p>
+ * A daemon ticker thread wakes once per tick (a millisecond or a second), renders the local
+ * time once, and publishes it as a {@code String} and as encoded bytes. Reading the time is then
+ * a volatile read, and printing it is a single array copy, however many threads print how often;
+ * no thread formats a date on the printing path.
+ * </p>
+ * <p>
+ * The price is accuracy: the time read is the start of the current tick and may lag the real
+ * clock by a tick plus however late the ticker thread is scheduled. Each clock's ticker starts
+ * on the clock's first use and runs for the life of the JVM.
+ * </p>
+ *
+ * @author Kartik Sethi
+ */
+public final class CachedClock {
+
+    /**
+     * How often the clock ticks, and how the time is rendered.
+     */
+    public enum Resolution {
+        /**
+         * Ticks every millisecond; renders e.g. {@code 2024-05-01T13:45:07.042}.
+         */
+        MILLISECONDS(1, "uuuu-MM-dd'T'HH:mm:ss.SSS"),
+        /**
+         * Ticks every second; renders e.g. {@code 2024-05-01T13:45:07}.
+         */
+        SECONDS(1000, "uuuu-MM-dd'T'HH:mm:ss");
+
+        private final long tickMillis;
+        private final String pattern;
+
+        Resolution(long tickMillis, String pattern) {
+            this.tickMillis = tickMillis;
+            this.pattern = pattern;
+        }
+    }
+
+    /**
+     * Matches the encoding of {@link CustomSystem#out} and the printer's writer.
+     */
+    private static final Charset CHARSET = Charset.defaultCharset();
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(CHARSET);
+
+    private final long tickMillis;
+    private final DateTimeFormatter formatter;
+    private volatile Tick current;
+
+    private CachedClock(Resolution resolution) {
+        this.tickMillis = resolution.tickMillis;
+        this.formatter = DateTimeFormatter.ofPattern(resolution.pattern).withZone(ZoneId.systemDefault());
+        this.current = render(System.currentTimeMillis());
+        Thread ticker = new Thread(this::tick, "cached-clock-" + resolution.name().toLowerCase());
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /**
+     * @return the clock that ticks every millisecond, started on the first call
+     */
+    public static CachedClock milliseconds() {
+        return MillisecondClock.INSTANCE;
+    }
+
+    /**
+     * @return the clock that ticks every second, started on the first call
+     */
+    public static CachedClock seconds() {
+        return SecondClock.INSTANCE;
+    }
+
+    /**
+     * @param resolution how often the clock ticks
+     * @return the clock with that resolution
+     */
+    public static CachedClock of(Resolution resolution) {
+        return resolution == Resolution.MILLISECONDS ? milliseconds() : seconds();
+    }
+
+    /**
+     * @return the start of the current tick, in milliseconds since the epoch
+     */
+    public long currentTimeMillis() {
+        return current.epochMillis;
+    }
+
+    /**
+     * @return the current local time, rendered once per tick
+     */
+    public String timestamp() {
+        return current.text;
+    }
+
+    /**
+     * Copies the rendered current time into {@code out}.
+     *
+     * @param out    the destination; needs room for the timestamp at {@code offset}
+     * @param offset where the timestamp starts
+     * @return the index just past the copied timestamp
+     */
+    public int copyTimestamp(byte[] out, int offset) {
+        byte[] bytes = current.bytes;
+        System.arraycopy(bytes, 0, out, offset, bytes.length);
+        return offset + bytes.length;
+    }
+
+    /**
+     * @return the rendered current time followed by a line separator, encoded like
+     * {@link CustomSystem#out}; shared by all callers, so it must not be modified
+     */
+    byte[] timestampLine() {
+        return current.line;
+    }
+
+    private void tick() {
+        while (true) {
+            long now = System.currentTimeMillis();
+            long tickStart = now - Math.floorMod(now, tickMillis);
+            if (tickStart != current.epochMillis) {
+                current = render(tickStart);
+            }
+            LockSupport.parkNanos(this, (tickStart + tickMillis - now) * 1_000_000L);
+        }
+    }
+
+    private Tick render(long epochMillis) {
+        long tickStart = epochMillis - Math.floorMod(epochMillis, tickMillis);
+        String text = formatter.format(Instant.ofEpochMilli(tickStart));
+        byte[] bytes = text.getBytes(CHARSET);
+        byte[] line = new byte[bytes.length + LINE_SEPARATOR.length];
+        System.arraycopy(bytes, 0, line, 0, bytes.length);
+        System.arraycopy(LINE_SEPARATOR, 0, line, bytes.length, LINE_SEPARATOR.length);
+        return new Tick(tickStart, text, bytes, line);
+    }
+
+    /**
+     * One rendering of the time; never modified once published.
+     */
+    private record Tick(long epochMillis, String text, byte[] bytes, byte[] line) {
+    }
+
+    private static final class MillisecondClock {
+        private static final CachedClock INSTANCE = new CachedClock(Resolution.MILLISECONDS);
+    }
+
+    private static final class SecondClock {
+        private static final CachedClock INSTANCE = new CachedClock(Resolution.SECONDS);
+    }
+}
@@ -3,7 +3,6 @@ package com.singleton.SingletonComponents;
 import java.io.FileDescriptor;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
-import java.time.LocalDateTime;
 
 /**
  * This class demonstrates the Singleton Design Pattern by providing a custom
@@ -53,14 +52,16 @@ public final class CustomSystem {
 
     /**
      * Prints the current timestamp to the console in the format
-     * {@code yyyy-MM-ddTHH:mm:ss}.
+     * {@code yyyy-MM-ddTHH:mm:ss.SSS}.
      * <p>
      * This method mimics the behavior of printing to the console, similar to
-     * {@code System.out.println()}.
+     * {@code System.out.println()}. The line is taken ready-made from
+     * {@link CachedClock#milliseconds()}, so no date is formatted here and the
+     * line is written in one piece.
      * </p>
      */
     public static void printTimeStamp() {
-        LocalDateTime dateTime = LocalDateTime.now();
-        out.println(dateTime);
+        byte[] line = CachedClock.milliseconds().timestampLine();
+        out.write(line, 0, line.length);
     }
 }
@@ -0,0 +1,63 @@
+package com.singleton.SingletonComponents;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link PrintSink} backed by a {@link FileChannel}: a file, or the console through
+ * {@link #stdout()}. Batches are written with one gathering write each.
+ * <p>
+ * A {@code FileChannel} is closed when a thread blocked in it is interrupted. The printer only
+ * writes to its sink from its own writer thread, which is never interrupted, so an interrupted
+ * caller cannot close the console or a log file by accident.
+ * </p>
+ *
+ * @author Kartik Sethi
+ */
+public final class FileChannelSink extends GatheringChannelSink {
+
+    private final FileChannel channel;
+    private final boolean force;
+
+    private FileChannelSink(FileChannel channel, boolean closeChannel, boolean force) {
+        super(channel, closeChannel);
+        this.channel = channel;
+        this.force = force;
+    }
+
+    /**
+     * Opens a sink that writes to standard output, like {@link CustomSystem#out}. Closing the sink
+     * leaves standard output open.
+     *
+     * @return a sink writing to {@link FileDescriptor#out}
+     */
+    public static FileChannelSink stdout() {
+        return new FileChannelSink(new FileOutputStream(FileDescriptor.out).getChannel(), false, false);
+    }
+
+    /**
+     * Opens a sink that appends to a file, creating it if needed.
+     *
+     * @param file  the file to append to
+     * @param force whether each flush also waits until the written bytes reach the storage
+     *              device, so that printed text survives a crash of the machine
+     * @return a sink owning the file's channel; closing the sink closes the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static FileChannelSink open(Path file, boolean force) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        return new FileChannelSink(channel, true, force);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (force) {
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.singleton.SingletonComponents;
+
+import java.time.Duration;
+
+/**
+ * When text printed to a {@link PrintSink} is written out: once enough bytes are waiting, once
+ * the oldest waiting text is old enough, or whichever comes first.
+ * <p>
+ * A larger threshold means fewer, larger writes; a shorter interval means printed text shows up
+ * sooner. Text printed under a bytes-only policy can wait until {@link SingletonThreadSafePrinter#flush()}
+ * or shutdown if little is printed, so console output usually wants an interval as well.
+ * </p>
+ *
+ * @author Kartik Sethi
+ */
+public final class FlushPolicy {
+
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final long maxPendingBytes;
+    private final long maxDelayNanos;
+
+    private FlushPolicy(long maxPendingBytes, long maxDelayNanos) {
+        this.maxPendingBytes = maxPendingBytes;
+        this.maxDelayNanos = maxDelayNanos;
+    }
+
+    /**
+     * @param maxPendingBytes bytes that may wait before they are written; 1 writes every print at once
+     * @return a policy that writes once that many bytes are waiting
+     */
+    public static FlushPolicy bytes(long maxPendingBytes) {
+        return new FlushPolicy(checkBytes(maxPendingBytes), UNLIMITED);
+    }
+
+    /**
+     * @param maxDelay longest time printed text may wait before it is written
+     * @return a policy that writes waiting text once the oldest of it is that old
+     */
+    public static FlushPolicy interval(Duration maxDelay) {
+        return new FlushPolicy(UNLIMITED, checkDelay(maxDelay));
+    }
+
+    /**
+     * @return a policy that writes when either limit is reached
+     * @see #bytes(long)
+     * @see #interval(Duration)
+     */
+    public static FlushPolicy bytesOrInterval(long maxPendingBytes, Duration maxDelay) {
+        return new FlushPolicy(checkBytes(maxPendingBytes), checkDelay(maxDelay));
+    }
+
+    /**
+     * @return whether text should be written, given how much is waiting and for how long
+     */
+    boolean isDue(long pendingBytes, long pendingNanos) {
+        return pendingBytes >= maxPendingBytes || pendingNanos >= maxDelayNanos;
+    }
+
+    /**
+     * @return the longest time text may wait, or {@link Long#MAX_VALUE} if only the byte count matters
+     */
+    long maxDelayNanos() {
+        return maxDelayNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder("FlushPolicy[");
+        if (maxPendingBytes != UNLIMITED) {
+            description.append(maxPendingBytes).append(" bytes");
+        }
+        if (maxDelayNanos != UNLIMITED) {
+            description.append(maxPendingBytes != UNLIMITED ? " or " : "").append(Duration.ofNanos(maxDelayNanos));
+        }
+        return description.append(']').toString();
+    }
+
+    private static long checkBytes(long maxPendingBytes) {
+        if (maxPendingBytes <= 0) {
+            throw new IllegalArgumentException("Byte threshold must be positive: " + maxPendingBytes);
+        }
+        return maxPendingBytes;
+    }
+
+    private static long checkDelay(Duration maxDelay) {
+        if (maxDelay.isNegative() || maxDelay.isZero()) {
+            throw new IllegalArgumentException("Flush interval must be positive: " + maxDelay);
+        }
+        return maxDelay.toNanos();
+    }
+}
@@ -0,0 +1,135 @@
+package com.singleton.SingletonComponents;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Collects printed bytes as a list of buffers and writes them to a {@link PrintSink} in one call.
+ * <p>
+ * Short texts are copied into reusable chunks, so a batch of small prints goes out as a few
+ * large buffers. Long texts are not copied at all: their byte arrays are wrapped and queued as
+ * buffers of their own, and the sink's gathering write picks them up in place.
+ * </p>
+ * <p>
+ * Not thread-safe; the printer's writer thread owns it.
+ * </p>
+ *
+ * @author Kartik Sethi
+ */
+final class GatheringBuffer {
+
+    /**
+     * Buffers handed to the sink in one call; matches {@code IOV_MAX} on Linux, the most a single
+     * {@code writev} takes.
+     */
+    static final int MAX_SEGMENTS = 1024;
+
+    private static final int CHUNK_SIZE = 1 << 13;
+
+    /**
+     * Texts at least this long are written from their own array instead of being copied.
+     */
+    private static final int COPY_THRESHOLD = 1 << 10;
+
+    /**
+     * Chunks kept for reuse after a write; any beyond this are left to the garbage collector.
+     */
+    private static final int MAX_FREE_CHUNKS = 16;
+
+    private final PrintSink sink;
+    private final ByteBuffer[] segments = new ByteBuffer[MAX_SEGMENTS];
+    private int segmentCount;
+    private final ArrayDeque<ByteBuffer> usedChunks = new ArrayDeque<>();
+    private final ArrayDeque<ByteBuffer> freeChunks = new ArrayDeque<>();
+    private ByteBuffer chunk;
+    private long pendingBytes;
+
+    GatheringBuffer(PrintSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Adds bytes after those already pending. May write to the sink if too many buffers are pending.
+     * The array must not be modified afterwards.
+     */
+    void append(byte[] bytes) throws IOException {
+        if (bytes.length >= COPY_THRESHOLD) {
+            sealChunk();
+            addSegment(ByteBuffer.wrap(bytes));
+        } else {
+            if (chunk == null || chunk.remaining() < bytes.length) {
+                sealChunk();
+                chunk = takeChunk();
+            }
+            chunk.put(bytes);
+        }
+        pendingBytes += bytes.length;
+    }
+
+    /**
+     * @return the number of bytes appended since the last write
+     */
+    long pendingBytes() {
+        return pendingBytes;
+    }
+
+    /**
+     * Writes all pending bytes to the sink, then flushes the sink.
+     */
+    void flush() throws IOException {
+        sealChunk();
+        writeSegments();
+        sink.flush();
+    }
+
+    void close() throws IOException {
+        sink.close();
+    }
+
+    private void addSegment(ByteBuffer segment) throws IOException {
+        if (segmentCount == MAX_SEGMENTS) {
+            writeSegments();
+        }
+        segments[segmentCount++] = segment;
+    }
+
+    private void sealChunk() throws IOException {
+        if (chunk != null) {
+            ByteBuffer sealed = chunk.flip();
+            chunk = null;
+            addSegment(sealed);
+            usedChunks.add(sealed);
+        }
+    }
+
+    private ByteBuffer takeChunk() {
+        ByteBuffer free = freeChunks.poll();
+        return free != null ? free : ByteBuffer.allocate(CHUNK_SIZE);
+    }
+
+    private void writeSegments() throws IOException {
+        long batchBytes = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            batchBytes += segments[i].remaining();
+        }
+        try {
+            if (segmentCount > 0) {
+                sink.write(segments, 0, segmentCount);
+            }
+        } finally {
+            // after a failed write the batch is dropped rather than retried forever
+            for (int i = 0; i < segmentCount; i++) {
+                segments[i] = null;
+            }
+            segmentCount = 0;
+            pendingBytes -= batchBytes;
+            ByteBuffer used;
+            while ((used = usedChunks.poll()) != null) {
+                if (freeChunks.size() < MAX_FREE_CHUNKS) {
+                    freeChunks.add(used.clear());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.singleton.SingletonComponents;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Objects;
+
+/**
+ * A {@link PrintSink} that writes each batch to a {@link GatheringByteChannel} with
+ * {@link GatheringByteChannel#write(ByteBuffer[], int, int)}, so the buffers of a batch go out in
+ * one system call (e.g. {@code writev}) without first being copied into one array.
+ * <p>
+ * Suits any gathering channel, such as a pipe or a socket. For files and the console use
+ * {@link FileChannelSink}.
+ * </p>
+ *
+ * @author Kartik Sethi
+ */
+public class GatheringChannelSink implements PrintSink {
+
+    private final GatheringByteChannel channel;
+    private final boolean closeChannel;
+
+    /**
+     * @param channel      the channel to write to
+     * @param closeChannel whether closing this sink closes the channel
+     */
+    public GatheringChannelSink(GatheringByteChannel channel, boolean closeChannel) {
+        this.channel = Objects.requireNonNull(channel, "channel");
+        this.closeChannel = closeChannel;
+    }
+
+    @Override
+    public void write(ByteBuffer[] buffers, int offset, int length) throws IOException {
+        int end = offset + length;
+        while (offset < end) {
+            channel.write(buffers, offset, end - offset);
+            // a channel may write only part of the batch, e.g. a non-blocking pipe that is full
+            while (offset < end && !buffers[offset].hasRemaining()) {
+                offset++;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closeChannel) {
+            channel.close();
+        }
+    }
+}
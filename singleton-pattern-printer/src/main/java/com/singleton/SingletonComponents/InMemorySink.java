@@ -0,0 +1,77 @@
+package com.singleton.SingletonComponents;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * A {@link PrintSink} that keeps everything printed in memory, for capturing a printer's output
+ * in tests or handing it on in one piece.
+ * <p>
+ * Reading methods are thread-safe; call {@link SingletonThreadSafePrinter#flush()} first to be
+ * sure the text printed so far has arrived.
+ * </p>
+ *
+ * @author Kartik Sethi
+ */
+public final class InMemorySink implements PrintSink {
+
+    private byte[] bytes;
+    private int size;
+
+    public InMemorySink() {
+        this(1 << 12);
+    }
+
+    /**
+     * @param initialCapacity bytes to allocate up front; the sink grows as needed
+     */
+    public InMemorySink(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative: " + initialCapacity);
+        }
+        this.bytes = new byte[initialCapacity];
+    }
+
+    @Override
+    public synchronized void write(ByteBuffer[] buffers, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            ByteBuffer buffer = buffers[i];
+            int remaining = buffer.remaining();
+            if (size + remaining > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size + remaining, bytes.length * 2));
+            }
+            buffer.get(bytes, size, remaining);
+            size += remaining;
+        }
+    }
+
+    /**
+     * @return the number of bytes written so far
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return a copy of the bytes written so far
+     */
+    public synchronized byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    /**
+     * Discards the bytes written so far.
+     */
+    public synchronized void reset() {
+        size = 0;
+    }
+
+    /**
+     * @return the text written so far, decoded with the default charset the printer encodes with
+     */
+    @Override
+    public synchronized String toString() {
+        return new String(bytes, 0, size, Charset.defaultCharset());
+    }
+}
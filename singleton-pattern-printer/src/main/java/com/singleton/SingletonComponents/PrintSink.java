@@ -0,0 +1,50 @@
+package com.singleton.SingletonComponents;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Destination for the bytes printed through {@link SingletonThreadSafePrinter#setSink(PrintSink, FlushPolicy)}.
+ * <p>
+ * The printer collects printed text into a handful of buffers and hands them over in one call,
+ * so a sink that can write several buffers at once (e.g. with a gathering write) turns a batch of
+ * prints into a single system call. Sinks are only ever called from one thread at a time.
+ * </p>
+ *
+ * @author Kartik Sethi
+ * @see FileChannelSink
+ * @see GatheringChannelSink
+ * @see InMemorySink
+ */
+public interface PrintSink extends Closeable {
+
+    /**
+     * Writes the remaining bytes of each buffer, in order. Returns only once every buffer has
+     * been written in full.
+     *
+     * @param buffers the buffers to write
+     * @param offset  index of the first buffer to write
+     * @param length  number of buffers to write
+     * @throws IOException if the bytes could not be written
+     */
+    void write(ByteBuffer[] buffers, int offset, int length) throws IOException;
+
+    /**
+     * Called after each batch has been written, when the flush policy says printed text is due.
+     * Does nothing unless the sink holds bytes back itself.
+     *
+     * @throws IOException if the bytes could not be flushed
+     */
+    default void flush() throws IOException {
+    }
+
+    /**
+     * Releases the sink once the printer stops using it. Does nothing by default.
+     *
+     * @throws IOException if the sink could not be closed
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -1,6 +1,7 @@
 package com.singleton.SingletonComponents;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.Objects;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -18,6 +19,13 @@ import java.util.concurrent.locks.ReentrantLock;
  * {@link ReentrantLock}, and the singleton
  * instance is lazily initialized to avoid unnecessary creation of the object.
  * </p>
+ * <p>
+ * In high-throughput mode ({@link #enableHighThroughput()}, or the {@code printer.highThroughput}
+ * system property) print operations take no lock at all: they are queued and written in large
+ * batches by a dedicated writer thread. Every print still comes out whole, and prints from one
+ * thread still come out in the order they were made. The batches go to standard output, or to
+ * any other {@link PrintSink} set with {@link #setSink(PrintSink, FlushPolicy)}.
+ * </p>
  * 
  * <strong>Usage Example:</strong>
  * 
@@ -33,22 +41,29 @@ import java.util.concurrent.locks.ReentrantLock;
 public final class SingletonThreadSafePrinter {
 
     /**
-     * The single instance of the {@code SingletonThreadSafePrinter} class.
-     * This field is volatile to ensure thread-safe lazy initialization.
+     * The lock object used to ensure thread safety when performing print operations.
      */
-    private static transient volatile SingletonThreadSafePrinter INSTANCE;
+    private static final transient ReentrantLock lock = new ReentrantLock();
 
     /**
-     * The lock object used to ensure thread safety when accessing the singleton
-     * instance or performing print operations.
+     * The queue and writer thread of high-throughput mode, or null when every print writes
+     * directly under {@link #lock}.
      */
-    private static final transient ReentrantLock lock = new ReentrantLock();
+    private transient volatile BatchingPrintWriter batchingWriter;
+
+    /**
+     * Whether the shutdown hook that writes out queued prints has been registered.
+     */
+    private transient boolean shutdownHookAdded;
 
     /**
      * Private constructor to prevent direct instantiation and enforce the Singleton
      * pattern.
      */
     private SingletonThreadSafePrinter() {
+        if (Boolean.getBoolean("printer.highThroughput")) {
+            enableHighThroughput();
+        }
     }
 
     /**
@@ -61,17 +76,19 @@ public final class SingletonThreadSafePrinter {
      * @return the single instance of {@code SingletonThreadSafePrinter}.
      */
     public static SingletonThreadSafePrinter instance() {
-        if (INSTANCE == null) {
-            lock.lock();
-            try {
-                if (INSTANCE == null) {
-                    INSTANCE = new SingletonThreadSafePrinter();
-                }
-            } finally {
-                lock.unlock();
-            }
-        }
-        return INSTANCE;
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Holds the single instance of the {@code SingletonThreadSafePrinter} class.
+     * <p>
+     * The JVM initializes this class, and so creates the instance, the first time
+     * {@link #instance()} reads it, and guarantees that happens exactly once. Later calls are a
+     * plain read of a constant and take no lock.
+     * </p>
+     */
+    private static final class Holder {
+        private static final SingletonThreadSafePrinter INSTANCE = new SingletonThreadSafePrinter();
     }
 
     /**
@@ -85,9 +102,17 @@ public final class SingletonThreadSafePrinter {
      *          custom objects.
      */
     public void print(Object s) {
+        BatchingPrintWriter batching = batchingWriter;
+        if (batching != null && batching.offer(String.valueOf(s), false)) {
+            return;
+        }
         lock.lock();
         try {
-            CustomSystem.out.print(s);
+            // the writer was replaced or closed after we read it; under the lock it is settled
+            batching = batchingWriter;
+            if (batching == null || !batching.offer(String.valueOf(s), false)) {
+                CustomSystem.out.print(s);
+            }
         } finally {
             lock.unlock();
         }
@@ -104,9 +129,16 @@ public final class SingletonThreadSafePrinter {
      *          custom objects.
      */
     public void println(Object s) {
+        BatchingPrintWriter batching = batchingWriter;
+        if (batching != null && batching.offer(String.valueOf(s), true)) {
+            return;
+        }
         lock.lock();
         try {
-            CustomSystem.out.println(s);
+            batching = batchingWriter;
+            if (batching == null || !batching.offer(String.valueOf(s), true)) {
+                CustomSystem.out.println(s);
+            }
         } finally {
             lock.unlock();
         }
@@ -115,8 +147,8 @@ public final class SingletonThreadSafePrinter {
     /**
      * Prints the current timestamp to the console.
      * <p>
-     * This method prints the current date and time in the format defined by
-     * {@link LocalDateTime#now()}.
+     * This method prints the current date and time to the millisecond, as rendered
+     * by {@link CachedClock#milliseconds()}.
      * </p>
      * <p>
      * This method is thread-safe and ensures that the timestamp is printed without
@@ -124,11 +156,140 @@ public final class SingletonThreadSafePrinter {
      * </p>
      */
     public void printTimeStamp() {
+        BatchingPrintWriter batching = batchingWriter;
+        if (batching != null && batching.offer(CachedClock.milliseconds().timestampLine())) {
+            return;
+        }
+        lock.lock();
+        try {
+            batching = batchingWriter;
+            if (batching == null || !batching.offer(CachedClock.milliseconds().timestampLine())) {
+                CustomSystem.printTimeStamp();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Switches to high-throughput mode with a {@value BatchingPrintWriter#DEFAULT_BUFFER_SIZE}-byte
+     * buffer flushed at least every 10 ms.
+     *
+     * @see #enableHighThroughput(int, Duration)
+     */
+    public void enableHighThroughput() {
+        enableHighThroughput(BatchingPrintWriter.DEFAULT_BUFFER_SIZE, BatchingPrintWriter.DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Switches to high-throughput mode: callers queue their prints without taking a lock, and a
+     * writer thread writes them to standard output in batches. A batch is written once
+     * {@code bufferSize} bytes are waiting or the oldest of them has waited for
+     * {@code flushInterval}, and when the JVM shuts down. Does nothing if the mode is already on.
+     *
+     * @param bufferSize    bytes buffered before the text is written out
+     * @param flushInterval longest time printed text is held back
+     */
+    public void enableHighThroughput(int bufferSize, Duration flushInterval) {
+        FlushPolicy policy = FlushPolicy.bytesOrInterval(bufferSize, flushInterval);
         lock.lock();
         try {
-            CustomSystem.printTimeStamp();
+            if (batchingWriter == null) {
+                startWriter(FileChannelSink.stdout(), policy);
+            }
         } finally {
             lock.unlock();
         }
     }
+
+    /**
+     * Sends all further prints to the given sink, written in batches by a writer thread as the
+     * flush policy says. This switches high-throughput mode on; if it was already on, the text
+     * queued so far still goes to the previous sink, which is then closed.
+     * <p>
+     * The printer owns the sink from now on and closes it in {@link #disableHighThroughput()},
+     * when another sink is set, or when the JVM shuts down.
+     * </p>
+     *
+     * @param sink   where printed text goes, e.g. {@link FileChannelSink#open(java.nio.file.Path, boolean)}
+     * @param policy when waiting text is written to the sink
+     */
+    public void setSink(PrintSink sink, FlushPolicy policy) {
+        Objects.requireNonNull(sink, "sink");
+        Objects.requireNonNull(policy, "policy");
+        lock.lock();
+        try {
+            closeWriter();
+            startWriter(sink, policy);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Callers hold {@link #lock}.
+     */
+    private void startWriter(PrintSink sink, FlushPolicy policy) {
+        batchingWriter = new BatchingPrintWriter(sink, policy);
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::disableHighThroughput, "printer-shutdown"));
+            shutdownHookAdded = true;
+        }
+    }
+
+    /**
+     * Goes back to printing directly to {@link CustomSystem#out} under the lock after writing
+     * everything already queued and closing the sink. Does nothing if high-throughput mode is off.
+     */
+    public void disableHighThroughput() {
+        lock.lock();
+        try {
+            closeWriter();
+            batchingWriter = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes out and closes the current writer, if any. Callers hold {@link #lock}, so a print
+     * turned away by the closed writer waits on the lock for its replacement instead of
+     * overtaking text the old writer still holds.
+     */
+    private void closeWriter() {
+        BatchingPrintWriter batching = batchingWriter;
+        if (batching != null) {
+            batching.close();
+        }
+    }
+
+    /**
+     * @return whether prints are queued for a writer thread
+     */
+    public boolean isHighThroughput() {
+        return batchingWriter != null;
+    }
+
+    /**
+     * Waits until everything printed so far has been written to {@link CustomSystem#out}, or to
+     * the sink in high-throughput mode. Prints are written immediately unless high-throughput
+     * mode is on.
+     */
+    public void flush() {
+        BatchingPrintWriter batching = batchingWriter;
+        if (batching == null || !batching.flush()) {
+            CustomSystem.out.flush();
+        }
+    }
+
+    /**
+     * Like {@link java.io.PrintStream#checkError()}: print operations never throw, so this is how
+     * a caller finds out that printed text was lost.
+     *
+     * @return whether writing to {@link CustomSystem#out} or to the current sink has failed
+     */
+    public boolean checkError() {
+        BatchingPrintWriter batching = batchingWriter;
+        return (batching != null && batching.hasFailed()) || CustomSystem.out.checkError();
+    }
 }
@@ -0,0 +1,72 @@
+package com.singleton.SingletonComponents;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * {@link CachedClock} ticks on its own and renders the tick it reports.
+ */
+public class CachedClockTest {
+    private static final String SECONDS_PATTERN = "\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}";
+
+    @Test
+    public void oneClockPerResolution() {
+        assertSame(CachedClock.milliseconds(), CachedClock.of(CachedClock.Resolution.MILLISECONDS));
+        assertSame(CachedClock.seconds(), CachedClock.of(CachedClock.Resolution.SECONDS));
+        assertNotSame(CachedClock.milliseconds(), CachedClock.seconds());
+    }
+
+    @Test
+    public void secondsClockRendersTheStartOfTheCurrentSecond() {
+        CachedClock clock = CachedClock.seconds();
+        long millis;
+        String text;
+        do {
+            // retry if the clock ticked between the two reads
+            millis = clock.currentTimeMillis();
+            text = clock.timestamp();
+        } while (millis != clock.currentTimeMillis());
+
+        assertEquals(0, millis % 1000);
+        assertTrue(Math.abs(System.currentTimeMillis() - millis) < 2000);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss")
+                .withZone(ZoneId.systemDefault());
+        assertEquals(formatter.format(Instant.ofEpochMilli(millis)), text);
+    }
+
+    @Test
+    public void millisecondClockAdvances() throws InterruptedException {
+        CachedClock clock = CachedClock.milliseconds();
+        long start = clock.currentTimeMillis();
+        for (int i = 0; i < 1000 && clock.currentTimeMillis() == start; i++) {
+            Thread.sleep(1);
+        }
+
+        assertTrue(clock.currentTimeMillis() > start);
+    }
+
+    @Test
+    public void timestampBytesMatchTheRenderedText() {
+        CachedClock clock = CachedClock.seconds();
+        byte[] out = new byte[64];
+        out[0] = '>';
+
+        int end = clock.copyTimestamp(out, 1);
+        String copied = new String(out, 1, end - 1, Charset.defaultCharset());
+        String line = new String(clock.timestampLine(), Charset.defaultCharset());
+
+        assertEquals('>', out[0]);
+        assertTrue(copied, copied.matches(SECONDS_PATTERN));
+        assertTrue(line, line.endsWith(System.lineSeparator()));
+        assertTrue(line, line.substring(0, line.length() - System.lineSeparator().length()).matches(SECONDS_PATTERN));
+    }
+}
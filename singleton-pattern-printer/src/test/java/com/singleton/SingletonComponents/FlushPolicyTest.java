@@ -0,0 +1,55 @@
+package com.singleton.SingletonComponents;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+/**
+ * When each kind of {@link FlushPolicy} says waiting text is due.
+ */
+public class FlushPolicyTest {
+    private static final long FIVE_MILLIS = Duration.ofMillis(5).toNanos();
+
+    @Test
+    public void bytesPolicyIgnoresHowLongTextWaits() {
+        FlushPolicy policy = FlushPolicy.bytes(100);
+
+        assertFalse(policy.isDue(99, Long.MAX_VALUE - 1));
+        assertTrue(policy.isDue(100, 0));
+        assertEquals(Long.MAX_VALUE, policy.maxDelayNanos());
+        assertEquals("FlushPolicy[100 bytes]", policy.toString());
+    }
+
+    @Test
+    public void intervalPolicyIgnoresHowMuchTextWaits() {
+        FlushPolicy policy = FlushPolicy.interval(Duration.ofMillis(5));
+
+        assertFalse(policy.isDue(Long.MAX_VALUE - 1, FIVE_MILLIS - 1));
+        assertTrue(policy.isDue(1, FIVE_MILLIS));
+        assertEquals(FIVE_MILLIS, policy.maxDelayNanos());
+        assertEquals("FlushPolicy[PT0.005S]", policy.toString());
+    }
+
+    @Test
+    public void bytesOrIntervalPolicyIsDueAtEitherLimit() {
+        FlushPolicy policy = FlushPolicy.bytesOrInterval(100, Duration.ofMillis(5));
+
+        assertFalse(policy.isDue(99, FIVE_MILLIS - 1));
+        assertTrue(policy.isDue(100, 0));
+        assertTrue(policy.isDue(1, FIVE_MILLIS));
+        assertEquals("FlushPolicy[100 bytes or PT0.005S]", policy.toString());
+    }
+
+    @Test
+    public void limitsMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> FlushPolicy.bytes(0));
+        assertThrows(IllegalArgumentException.class, () -> FlushPolicy.bytes(-1));
+        assertThrows(IllegalArgumentException.class, () -> FlushPolicy.interval(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> FlushPolicy.bytesOrInterval(1, Duration.ofMillis(-1)));
+    }
+}
@@ -0,0 +1,141 @@
+package com.singleton.SingletonComponents;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * How {@link GatheringBuffer} copies, recycles and hands buffers to its sink.
+ */
+public class GatheringBufferTest {
+
+    @Test
+    public void shortTextsShareARecycledChunk() throws IOException {
+        CapturingSink sink = new CapturingSink();
+        GatheringBuffer buffer = new GatheringBuffer(sink);
+
+        buffer.append(bytes("ab"));
+        buffer.append(bytes("cd"));
+        buffer.flush();
+        buffer.append(bytes("ef"));
+        buffer.flush();
+
+        assertEquals(2, sink.writes.size());
+        assertEquals(1, sink.writes.get(0).size());
+        assertSame(sink.writes.get(0).get(0), sink.writes.get(1).get(0));
+        assertEquals("abcdef", sink.text());
+        assertEquals(2, sink.flushes);
+    }
+
+    @Test
+    public void longTextsAreWrittenFromTheirOwnArray() throws IOException {
+        CapturingSink sink = new CapturingSink();
+        GatheringBuffer buffer = new GatheringBuffer(sink);
+        byte[] large = new byte[1024];
+        Arrays.fill(large, (byte) 'L');
+
+        buffer.append(bytes("<"));
+        buffer.append(large);
+        buffer.append(bytes(">"));
+        assertEquals(1026, buffer.pendingBytes());
+        buffer.flush();
+
+        assertEquals(0, buffer.pendingBytes());
+        List<byte[]> segments = sink.writes.get(0);
+        assertEquals(3, segments.size());
+        assertSame(large, segments.get(1));
+        assertEquals("<" + "L".repeat(1024) + ">", sink.text());
+    }
+
+    @Test
+    public void moreThanMaxSegmentsAreWrittenInSeveralCalls() throws IOException {
+        CapturingSink sink = new CapturingSink();
+        GatheringBuffer buffer = new GatheringBuffer(sink);
+        int count = 2 * GatheringBuffer.MAX_SEGMENTS + 100;
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int i = 0; i < count; i++) {
+            byte[] large = new byte[1024];
+            Arrays.fill(large, (byte) i);
+            buffer.append(large);
+            expected.writeBytes(large);
+        }
+
+        assertEquals(2, sink.writes.size());
+        assertEquals(100 * 1024L, buffer.pendingBytes());
+        buffer.flush();
+
+        assertEquals(3, sink.writes.size());
+        assertEquals(GatheringBuffer.MAX_SEGMENTS, sink.writes.get(0).size());
+        assertEquals(GatheringBuffer.MAX_SEGMENTS, sink.writes.get(1).size());
+        assertEquals(100, sink.writes.get(2).size());
+        assertArrayEquals(expected.toByteArray(), sink.bytes.toByteArray());
+    }
+
+    @Test
+    public void failedWriteDropsTheBatch() throws IOException {
+        CapturingSink sink = new CapturingSink();
+        GatheringBuffer buffer = new GatheringBuffer(sink);
+        sink.failure = new IOException("disk full");
+
+        buffer.append(bytes("lost"));
+        assertThrows(IOException.class, buffer::flush);
+        assertEquals(0, buffer.pendingBytes());
+
+        sink.failure = null;
+        buffer.append(bytes("kept"));
+        buffer.flush();
+
+        assertEquals("kept", sink.text());
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Records the backing array of every buffer in each write, so tests can tell copies from
+     * buffers handed over in place.
+     */
+    private static final class CapturingSink implements PrintSink {
+        private final List<List<byte[]>> writes = new ArrayList<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private IOException failure;
+        private int flushes;
+
+        @Override
+        public void write(ByteBuffer[] buffers, int offset, int length) throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            List<byte[]> arrays = new ArrayList<>();
+            for (int i = offset; i < offset + length; i++) {
+                ByteBuffer buffer = buffers[i];
+                arrays.add(buffer.array());
+                byte[] chunk = new byte[buffer.remaining()];
+                buffer.get(chunk);
+                bytes.writeBytes(chunk);
+            }
+            writes.add(arrays);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        String text() {
+            return bytes.toString(StandardCharsets.US_ASCII);
+        }
+    }
+}
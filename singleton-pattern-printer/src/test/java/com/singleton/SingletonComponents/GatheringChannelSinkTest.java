@@ -0,0 +1,113 @@
+package com.singleton.SingletonComponents;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link GatheringChannelSink} keeps writing until a channel that takes part of a batch at a
+ * time has taken all of it.
+ */
+public class GatheringChannelSinkTest {
+
+    @Test
+    public void partialWritesAreResumedWhereTheyStopped() throws IOException {
+        TricklingChannel channel = new TricklingChannel(3);
+        ByteBuffer skipped = buffer("skipped");
+        ByteBuffer[] buffers = {skipped, buffer("hello "), buffer(""), buffer("gathering "), buffer("world")};
+
+        new GatheringChannelSink(channel, true).write(buffers, 1, 4);
+
+        assertEquals("hello gathering world", channel.text());
+        assertTrue(channel.calls > 1);
+        assertEquals(7, skipped.remaining());
+        for (int i = 1; i < buffers.length; i++) {
+            assertFalse(buffers[i].hasRemaining());
+        }
+    }
+
+    @Test
+    public void writesThatTakeNothingAreRetried() throws IOException {
+        TricklingChannel channel = new TricklingChannel(0, 2);
+
+        new GatheringChannelSink(channel, true).write(new ByteBuffer[]{buffer("full "), buffer("pipe")}, 0, 2);
+
+        assertEquals("full pipe", channel.text());
+    }
+
+    @Test
+    public void closesTheChannelOnlyIfItOwnsIt() throws IOException {
+        TricklingChannel kept = new TricklingChannel(1);
+        new GatheringChannelSink(kept, false).close();
+        assertTrue(kept.isOpen());
+
+        TricklingChannel owned = new TricklingChannel(1);
+        new GatheringChannelSink(owned, true).close();
+        assertFalse(owned.isOpen());
+    }
+
+    private static ByteBuffer buffer(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * A channel that takes at most the next of its limits per call, like a non-blocking pipe
+     * that keeps filling up.
+     */
+    private static final class TricklingChannel implements GatheringByteChannel {
+        private final int[] limits;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private int calls;
+        private boolean open = true;
+
+        private TricklingChannel(int... limits) {
+            this.limits = limits;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            long limit = limits[calls++ % limits.length];
+            long written = 0;
+            for (int i = offset; i < offset + length && written < limit; i++) {
+                int n = (int) Math.min(srcs[i].remaining(), limit - written);
+                byte[] part = new byte[n];
+                srcs[i].get(part);
+                bytes.writeBytes(part);
+                written += n;
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            return (int) write(new ByteBuffer[]{src}, 0, 1);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        String text() {
+            return bytes.toString(StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.singleton.SingletonComponents;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * High-throughput mode of {@link SingletonThreadSafePrinter}, captured with an {@link InMemorySink}.
+ */
+public class SingletonThreadSafePrinterTest {
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final SingletonThreadSafePrinter printer = SingletonThreadSafePrinter.instance();
+
+    @Before
+    public void setUp() {
+        printer.disableHighThroughput();
+    }
+
+    @After
+    public void tearDown() {
+        printer.disableHighThroughput();
+    }
+
+    @Test
+    public void concurrentPrintsKeepEachThreadsOrder() throws InterruptedException {
+        RecordingSink sink = new RecordingSink();
+        printer.setSink(sink, FlushPolicy.bytesOrInterval(1 << 12, Duration.ofMillis(1)));
+
+        List<Thread> threads = startPrinting(8, 20_000);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        printer.flush();
+
+        assertEveryThreadInOrder(sink.toString(), 8, 20_000);
+        assertFalse(printer.checkError());
+    }
+
+    @Test
+    public void flushWaitsUntilPrintsReachTheSink() {
+        RecordingSink sink = new RecordingSink();
+        printer.setSink(sink, FlushPolicy.bytes(Long.MAX_VALUE));
+
+        printer.print("spot ");
+        printer.println(42);
+        printer.printTimeStamp();
+        assertEquals(0, sink.size());
+
+        printer.flush();
+
+        String[] lines = sink.toString().split(NEWLINE, -1);
+        assertEquals(3, lines.length);
+        assertEquals("spot 42", lines[0]);
+        assertTrue(lines[1], lines[1].matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}"));
+        assertEquals("", lines[2]);
+        assertTrue(printer.isHighThroughput());
+    }
+
+    @Test
+    public void switchingSinksLosesAndReordersNothing() throws InterruptedException {
+        List<RecordingSink> sinks = new ArrayList<>();
+        FlushPolicy policy = FlushPolicy.bytesOrInterval(1 << 12, Duration.ofMillis(1));
+        sinks.add(new RecordingSink());
+        printer.setSink(sinks.get(0), policy);
+
+        List<Thread> threads = startPrinting(4, 50_000);
+        for (int i = 0; i < 20; i++) {
+            Thread.sleep(1);
+            RecordingSink next = new RecordingSink();
+            printer.setSink(next, policy);
+            sinks.add(next);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        printer.flush();
+
+        StringBuilder output = new StringBuilder();
+        for (int i = 0; i < sinks.size(); i++) {
+            assertEquals("sink " + i + " closed", i < sinks.size() - 1, sinks.get(i).closed);
+            output.append(sinks.get(i));
+        }
+        assertEveryThreadInOrder(output.toString(), 4, 50_000);
+        assertFalse(printer.checkError());
+    }
+
+    @Test
+    public void disablingWritesOutQueuedPrintsAndClosesTheSink() {
+        RecordingSink sink = new RecordingSink();
+        printer.setSink(sink, FlushPolicy.bytes(Long.MAX_VALUE));
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            printer.println("line " + i);
+            expected.append("line ").append(i).append(NEWLINE);
+        }
+
+        printer.disableHighThroughput();
+
+        assertFalse(printer.isHighThroughput());
+        assertTrue(sink.closed);
+        assertEquals(expected.toString(), sink.toString());
+    }
+
+    @Test
+    public void batchesOfMoreThanMaxSegmentsAreWrittenWhole() {
+        RecordingSink sink = new RecordingSink();
+        printer.setSink(sink, FlushPolicy.bytes(Long.MAX_VALUE));
+        String padding = "x".repeat(2000);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 3 * GatheringBuffer.MAX_SEGMENTS; i++) {
+            String text = String.format("%05d", i) + padding;
+            printer.println(text);
+            expected.append(text).append(NEWLINE);
+        }
+
+        printer.flush();
+
+        assertEquals(expected.toString(), sink.toString());
+        assertTrue(sink.writes > 1);
+        assertTrue(sink.maxBuffersPerWrite <= GatheringBuffer.MAX_SEGMENTS);
+        assertFalse(printer.checkError());
+    }
+
+    private List<Thread> startPrinting(int threadCount, int linesPerThread) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < linesPerThread; i++) {
+                    printer.println("t" + id + ":" + i);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        return threads;
+    }
+
+    /**
+     * Checks that every line printed by each thread arrived whole, once, and in order.
+     */
+    private static void assertEveryThreadInOrder(String output, int threadCount, int linesPerThread) {
+        int[] next = new int[threadCount];
+        for (String line : output.split(NEWLINE)) {
+            int colon = line.indexOf(':');
+            assertTrue(line, line.startsWith("t") && colon > 0);
+            int thread = Integer.parseInt(line.substring(1, colon));
+            assertEquals("thread " + thread, next[thread]++, Integer.parseInt(line.substring(colon + 1)));
+        }
+        for (int t = 0; t < threadCount; t++) {
+            assertEquals("thread " + t, linesPerThread, next[t]);
+        }
+        assertTrue(output.endsWith(NEWLINE));
+    }
+
+    private static final class RecordingSink implements PrintSink {
+        private final InMemorySink delegate = new InMemorySink();
+        private volatile boolean closed;
+        private volatile int writes;
+        private volatile int maxBuffersPerWrite;
+
+        @Override
+        public void write(ByteBuffer[] buffers, int offset, int length) throws IOException {
+            if (closed) {
+                throw new IOException("sink closed");
+            }
+            writes++;
+            maxBuffersPerWrite = Math.max(maxBuffersPerWrite, length);
+            delegate.write(buffers, offset, length);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.singleton.benchmarks;
+
+import com.singleton.SingletonComponents.SingletonThreadSafePrinter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cost of reaching a singleton, for each way of creating one.
+ * <p>
+ * The {@code firstAccess} benchmarks start a fresh JVM per fork and time one call, so they
+ * measure what a short-lived batch job pays: loading and initializing the classes involved plus
+ * creating the instance. The {@code access} benchmarks time the call once everything is warm.
+ * </p>
+ * <p>
+ * Usage: {@code java -cp <test classpath> com.singleton.benchmarks.SingletonAccessBenchmark}.
+ * </p>
+ *
+ * @author Kartik Sethi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SingletonAccessBenchmark {
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1, batchSize = 1)
+    @Fork(20)
+    public Object firstAccessPrinter() {
+        return SingletonThreadSafePrinter.instance();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1, batchSize = 1)
+    @Fork(20)
+    public Object firstAccessDoubleCheckedLocking() {
+        return DoubleCheckedLocking.instance();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1, batchSize = 1)
+    @Fork(20)
+    public Object firstAccessHolder() {
+        return HolderIdiom.instance();
+    }
+
+    @Benchmark
+    public Object accessPrinter() {
+        return SingletonThreadSafePrinter.instance();
+    }
+
+    @Benchmark
+    public Object accessDoubleCheckedLocking() {
+        return DoubleCheckedLocking.instance();
+    }
+
+    @Benchmark
+    public Object accessHolder() {
+        return HolderIdiom.instance();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SingletonAccessBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * The idiom the printer and the logger used before: a volatile field and a lock.
+     */
+    static final class DoubleCheckedLocking {
+        private static final ReentrantLock lock = new ReentrantLock();
+        private static volatile DoubleCheckedLocking INSTANCE;
+
+        static DoubleCheckedLocking instance() {
+            if (INSTANCE == null) {
+                lock.lock();
+                try {
+                    if (INSTANCE == null) {
+                        INSTANCE = new DoubleCheckedLocking();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return INSTANCE;
+        }
+    }
+
+    static final class HolderIdiom {
+        static HolderIdiom instance() {
+            return Holder.INSTANCE;
+        }
+
+        private static final class Holder {
+            private static final HolderIdiom INSTANCE = new HolderIdiom();
+        }
+    }
+}
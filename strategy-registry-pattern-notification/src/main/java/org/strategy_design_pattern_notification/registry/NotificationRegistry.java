@@ -4,8 +4,6 @@ import static org.strategy_design_pattern_notification.constants.enums.Notificat
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.locks.ReentrantLock;
 
 import org.strategy_design_pattern_notification.constants.enums.NotificationTypes;
 import org.strategy_design_pattern_notification.models.NotificationRequest;
@@ -22,35 +20,32 @@ import org.strategy_design_pattern_notification.serviceImpl.SMSNotificationStrat
  * resolution of strategies at runtime for sending notifications (e.g., Email, SMS, Push).</p>
  */
 public final class NotificationRegistry {
-    private static volatile NotificationRegistry INSTANCE;
-    private static final ReentrantLock lock = new ReentrantLock();
-
     /**
      * Internal map to store the relationship between {@link NotificationTypes}
      * and their corresponding {@link NotificationStrategy} implementations.
      */
-    private static final Map<NotificationTypes, NotificationStrategy<? extends NotificationRequest>> notificationRegistryMap = new HashMap<>();
+    private final Map<NotificationTypes, NotificationStrategy<? extends NotificationRequest>> notificationRegistryMap = new HashMap<>();
 
     private NotificationRegistry() {
+        notificationRegistryMap.put(EMAIL, new EmailNotificationStrategyImpl());
+        notificationRegistryMap.put(SMS, new SMSNotificationStrategyImpl());
+        notificationRegistryMap.put(PUSH, new PushNotificationStrategyImpl());
     }
 
     /**
      * Returns the singleton instance of NotificationRegistry.
      *
+     * <p>The instance is created on first use by the initialization-on-demand holder idiom, so the
+     * strategies are registered exactly once and later calls take no lock.</p>
+     *
      * @return the singleton NotificationRegistry instance
      */
     public static NotificationRegistry instance() {
-        if (Objects.isNull(INSTANCE)) {
-            lock.lock();
-            if (Objects.isNull(INSTANCE)) {
-                INSTANCE = new NotificationRegistry();
-                notificationRegistryMap.put(EMAIL, new EmailNotificationStrategyImpl());
-                notificationRegistryMap.put(SMS, new SMSNotificationStrategyImpl());
-                notificationRegistryMap.put(PUSH, new PushNotificationStrategyImpl());
-            }
-            lock.unlock();
-        }
-        return INSTANCE;
+        return Holder.INSTANCE;
+    }
+
+    private static final class Holder {
+        private static final NotificationRegistry INSTANCE = new NotificationRegistry();
     }
 
     /**